@@ -0,0 +1,24 @@
+package com.scaler.cartservice.cache;
+
+import com.scaler.cartservice.model.Cart;
+
+import java.util.List;
+
+public interface CartCache {
+    Cart getCart(Long userId);
+
+    void putCart(Long userId, Cart cart);
+
+    /**
+     * Called after one line of {@code cart} was added, changed or removed. Returns false without writing when
+     * the cart is not cached, in which case the caller stores the whole cart.
+     */
+    boolean putItem(Long userId, Cart cart, Long productId);
+
+    void evict(Long userId);
+
+    /**
+     * Redis keys holding the cart, all in the slot of {@code "{" + userId + "}"}.
+     */
+    List<String> keys(Long userId);
+}
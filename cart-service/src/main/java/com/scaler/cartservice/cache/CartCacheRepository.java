@@ -2,13 +2,19 @@ package com.scaler.cartservice.cache;
 
 import com.scaler.cartservice.model.Cart;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
+import java.util.List;
 
+/**
+ * Caches the whole cart as one JSON value, rewritten on every change.
+ */
 @Component
-public class CartCacheRepository {
+@ConditionalOnProperty(name = "cache.cart.layout", havingValue = "json")
+public class CartCacheRepository implements CartCache {
     private final RedisTemplate<String, Cart> redisTemplate;
     private final Duration ttl;
 
@@ -18,19 +24,33 @@ public class CartCacheRepository {
         this.ttl = Duration.ofSeconds(ttlSeconds);
     }
 
+    @Override
     public Cart getCart(Long userId) {
         return redisTemplate.opsForValue().get(buildKey(userId));
     }
 
+    @Override
     public void putCart(Long userId, Cart cart) {
         redisTemplate.opsForValue().set(buildKey(userId), cart, ttl);
     }
 
+    @Override
+    public boolean putItem(Long userId, Cart cart, Long productId) {
+        putCart(userId, cart);
+        return true;
+    }
+
+    @Override
     public void evict(Long userId) {
         redisTemplate.delete(buildKey(userId));
     }
 
+    @Override
+    public List<String> keys(Long userId) {
+        return List.of(buildKey(userId));
+    }
+
     private String buildKey(Long userId) {
-        return "cart:" + userId;
+        return "cart:{" + userId + "}";
     }
 }
\ No newline at end of file
@@ -0,0 +1,164 @@
+package com.scaler.cartservice.cache;
+
+import com.scaler.cartservice.model.Cart;
+import com.scaler.cartservice.model.CartItem;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+
+/**
+ * Caches a cart as two Redis hashes: one with the totals and one with a field per line
+ * ({@code productId -> quantity|unitPriceMinor|itemId|currency|productName}). Amounts are kept in the minor
+ * units of their currency. Lua scripts rewrite a single line and adjust the totals by its difference, so a
+ * change costs the same whatever the size of the cart.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.cart.layout", havingValue = "hash", matchIfMissing = true)
+public class RedisHashCartCache implements CartCache {
+    private final StringRedisTemplate redisTemplate;
+    private final String ttlSeconds;
+    private final DefaultRedisScript<List> getScript = script("redis/cart-get.lua", List.class);
+    private final DefaultRedisScript<Long> putScript = script("redis/cart-put.lua", Long.class);
+    private final DefaultRedisScript<Long> setItemScript = script("redis/cart-set-item.lua", Long.class);
+
+    public RedisHashCartCache(StringRedisTemplate redisTemplate,
+                              @Value("${cache.cart.ttl-seconds}") long ttlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.ttlSeconds = String.valueOf(ttlSeconds);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Cart getCart(Long userId) {
+        List<Object> result = redisTemplate.execute(getScript, keys(userId));
+        if (result == null || result.isEmpty()) {
+            return null;
+        }
+
+        List<String> totals = (List<String>) result.get(0);
+        List<String> lines = (List<String>) result.get(1);
+        Cart cart = new Cart();
+        cart.setUserId(userId);
+        long totalMinor = 0;
+        for (int i = 0; i < totals.size(); i += 2) {
+            String value = totals.get(i + 1);
+            switch (totals.get(i)) {
+                case "totalItems" -> cart.setTotalItems(Integer.valueOf(value));
+                case "totalMinor" -> totalMinor = Long.parseLong(value);
+                case "currency" -> cart.setCurrency(value);
+                case "updatedAt" -> cart.setUpdatedAt(Instant.ofEpochMilli(Long.parseLong(value)));
+                default -> {
+                }
+            }
+        }
+        cart.setTotalAmount(fromMinor(totalMinor, cart.getCurrency()));
+        for (int i = 0; i < lines.size(); i += 2) {
+            cart.getItems().add(decode(cart, Long.valueOf(lines.get(i)), lines.get(i + 1)));
+        }
+        cart.getItems().sort((a, b) -> a.getProductId().compareTo(b.getProductId()));
+        return cart;
+    }
+
+    @Override
+    public void putCart(Long userId, Cart cart) {
+        List<String> args = new ArrayList<>(3 + cart.getItems().size() * 2);
+        args.add(ttlSeconds);
+        args.add(String.valueOf(updatedAt(cart)));
+        args.add(cart.getCurrency() != null ? cart.getCurrency() : "");
+        for (CartItem item : cart.getItems()) {
+            args.add(String.valueOf(item.getProductId()));
+            args.add(encode(item));
+        }
+        redisTemplate.execute(putScript, keys(userId), args.toArray());
+    }
+
+    @Override
+    public boolean putItem(Long userId, Cart cart, Long productId) {
+        CartItem item = cart.getItems().stream()
+                .filter(existing -> existing.getProductId().equals(productId))
+                .findFirst()
+                .orElse(null);
+        Long totalItems = redisTemplate.execute(setItemScript, keys(userId),
+                String.valueOf(productId),
+                item != null ? encode(item) : "",
+                item != null && item.getCurrency() != null ? item.getCurrency() : "",
+                String.valueOf(updatedAt(cart)),
+                ttlSeconds);
+        return totalItems != null && totalItems >= 0;
+    }
+
+    @Override
+    public void evict(Long userId) {
+        redisTemplate.delete(keys(userId));
+    }
+
+    private static String encode(CartItem item) {
+        return item.getQuantity() + "|" + toMinor(item.getUnitPrice(), item.getCurrency()) + "|"
+                + (item.getId() != null ? item.getId() : "") + "|"
+                + (item.getCurrency() != null ? item.getCurrency() : "") + "|"
+                + (item.getProductName() != null ? item.getProductName() : "");
+    }
+
+    private static CartItem decode(Cart cart, Long productId, String line) {
+        String[] parts = line.split("\\|", 5);
+        CartItem item = new CartItem();
+        item.setCart(cart);
+        item.setProductId(productId);
+        item.setQuantity(Integer.valueOf(parts[0]));
+        item.setId(parts[2].isEmpty() ? null : Long.valueOf(parts[2]));
+        item.setCurrency(parts[3].isEmpty() ? null : parts[3]);
+        item.setProductName(parts[4].isEmpty() ? null : parts[4]);
+        item.setUnitPrice(fromMinor(Long.parseLong(parts[1]), item.getCurrency()));
+        item.setLineTotal(item.getUnitPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+        return item;
+    }
+
+    private static long toMinor(BigDecimal amount, String currency) {
+        return amount.setScale(fractionDigits(currency), RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static BigDecimal fromMinor(long amount, String currency) {
+        return BigDecimal.valueOf(amount, fractionDigits(currency));
+    }
+
+    // Currencies without minor units (or unknown codes) report -1; those fall back to cents.
+    private static int fractionDigits(String currency) {
+        if (currency == null) {
+            return 2;
+        }
+        try {
+            int digits = Currency.getInstance(currency).getDefaultFractionDigits();
+            return digits >= 0 ? digits : 2;
+        } catch (IllegalArgumentException ex) {
+            return 2;
+        }
+    }
+
+    private static long updatedAt(Cart cart) {
+        return (cart.getUpdatedAt() != null ? cart.getUpdatedAt() : Instant.now()).toEpochMilli();
+    }
+
+    // The hash tag keeps both keys in one cluster slot, as the scripts need. The "v2" prefix keeps entries in
+    // the earlier cents-only line format from being read.
+    @Override
+    public List<String> keys(Long userId) {
+        return List.of("cart:v2:{" + userId + "}:totals", "cart:v2:{" + userId + "}:items");
+    }
+
+    private static <T> DefaultRedisScript<T> script(String path, Class<T> resultType) {
+        DefaultRedisScript<T> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource(path));
+        script.setResultType(resultType);
+        return script;
+    }
+}
@@ -1,26 +1,140 @@
 package com.scaler.cartservice.client;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.retry.support.RetryTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
 @Component
 public class ProductCatalogClient {
+    private static final int MAX_IDS_PER_REQUEST = 100;
+
     private final RestTemplate restTemplate;
     private final RetryTemplate retryTemplate;
+    private final ObjectReader exportReader;
     private final String productServiceBaseUrl;
+    private final String internalSecret;
+    private final Map<Long, CachedProduct> etagCache;
 
     public ProductCatalogClient(RestTemplate restTemplate,
                                 RetryTemplate retryTemplate,
-                                @Value("${clients.product-service.base-url}") String productServiceBaseUrl) {
+                                ObjectMapper objectMapper,
+                                @Value("${clients.product-service.base-url}") String productServiceBaseUrl,
+                                @Value("${clients.product-service.etag-cache-size}") int etagCacheSize,
+                                @Value("${security.internal.secret:}") String internalSecret) {
         this.restTemplate = restTemplate;
         this.retryTemplate = retryTemplate;
+        this.exportReader = objectMapper.readerFor(ProductSnapshot.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
         this.productServiceBaseUrl = productServiceBaseUrl;
+        this.internalSecret = internalSecret;
+        this.etagCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedProduct> eldest) {
+                return size() > etagCacheSize;
+            }
+        });
     }
 
+    /**
+     * Revalidates the last seen copy with {@code If-None-Match}, so unchanged products come back as
+     * an empty 304 instead of a full body.
+     */
     public ProductSnapshot getProduct(Long productId) {
-        return retryTemplate.execute(context ->
-                restTemplate.getForObject(productServiceBaseUrl + "/api/v1/products/" + productId, ProductSnapshot.class));
+        CachedProduct cached = etagCache.get(productId);
+        HttpHeaders headers = internalHeaders();
+        if (cached != null) {
+            headers.setIfNoneMatch(cached.etag);
+        }
+        ResponseEntity<ProductSnapshot> response = retryTemplate.execute(context ->
+                restTemplate.exchange(productServiceBaseUrl + "/api/v1/products/" + productId,
+                        HttpMethod.GET, new HttpEntity<>(headers), ProductSnapshot.class));
+        if (cached != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            return cached.product;
+        }
+
+        ProductSnapshot product = response.getBody();
+        String etag = response.getHeaders().getETag();
+        if (product != null && etag != null) {
+            etagCache.put(productId, new CachedProduct(etag, product));
+        } else {
+            etagCache.remove(productId);
+        }
+        return product;
+    }
+
+    public List<ProductSnapshot> getProducts(List<Long> productIds) {
+        List<ProductSnapshot> products = new ArrayList<>();
+        for (int from = 0; from < productIds.size(); from += MAX_IDS_PER_REQUEST) {
+            String ids = productIds.subList(from, Math.min(from + MAX_IDS_PER_REQUEST, productIds.size())).stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(","));
+            ProductSnapshot[] batch = retryTemplate.execute(context ->
+                    restTemplate.getForObject(productServiceBaseUrl + "/api/v1/products?ids=" + ids, ProductSnapshot[].class));
+            if (batch != null) {
+                products.addAll(Arrays.asList(batch));
+            }
+        }
+        return products;
+    }
+
+    /**
+     * Streams the catalog export, one product per line, optionally limited to products changed since
+     * {@code updatedSince}. Not retried: a broken stream is picked up again by the next sync.
+     */
+    public void exportProducts(Instant updatedSince, Consumer<ProductSnapshot> consumer) {
+        String url = productServiceBaseUrl + "/api/v1/products/export"
+                + (updatedSince != null ? "?updatedSince=" + updatedSince : "");
+        restTemplate.execute(url, HttpMethod.GET, null, response -> {
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(response.getBody(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isBlank()) {
+                        consumer.accept(exportReader.readValue(line));
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    private HttpHeaders internalHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        if (internalSecret != null && !internalSecret.isBlank()) {
+            headers.set("X-Internal-Secret", internalSecret);
+        }
+        return headers;
+    }
+
+    private static final class CachedProduct {
+        private final String etag;
+        private final ProductSnapshot product;
+
+        private CachedProduct(String etag, ProductSnapshot product) {
+            this.etag = etag;
+            this.product = product;
+        }
     }
-}
\ No newline at end of file
+}
@@ -4,6 +4,7 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 
 @Getter
 @Setter
@@ -14,4 +15,6 @@ public class ProductSnapshot {
     private String currency;
     private String status;
     private Integer stockQuantity;
+    private Instant updatedAt;
+    private Long revision;
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.scaler.cartservice.client;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class TokenStatusResponse {
+    private boolean active;
+}
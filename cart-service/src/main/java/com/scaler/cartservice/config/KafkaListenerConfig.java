@@ -0,0 +1,34 @@
+package com.scaler.cartservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scaler.cartservice.client.UserAuthClient;
+import com.scaler.ecommerce.common.kafka.KafkaPartitionFinder;
+import com.scaler.ecommerce.common.security.RevocationDenylist;
+import com.scaler.ecommerce.common.security.TokenRevocationListener;
+import com.scaler.ecommerce.common.security.UserEventListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.ConsumerFactory;
+
+@Configuration
+public class KafkaListenerConfig {
+    @Bean
+    public KafkaPartitionFinder kafkaPartitionFinder(ConsumerFactory<?, ?> consumerFactory) {
+        return new KafkaPartitionFinder(consumerFactory);
+    }
+
+    @Bean
+    public UserEventListener userEventListener(ObjectMapper objectMapper, UserAuthClient userAuthClient) {
+        return new UserEventListener(objectMapper, userAuthClient::evictSessions, userAuthClient::evictUser);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "security.auth.mode", havingValue = "local")
+    public TokenRevocationListener tokenRevocationListener(ObjectMapper objectMapper,
+                                                           RevocationDenylist revocationDenylist,
+                                                           MeterRegistry meterRegistry) {
+        return new TokenRevocationListener(objectMapper, revocationDenylist, meterRegistry);
+    }
+}
@@ -1,24 +1,22 @@
 package com.scaler.cartservice.config;
 
 import com.scaler.cartservice.model.Cart;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.JacksonJsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import tools.jackson.databind.json.JsonMapper;
 
 @Configuration
 public class RedisConfig {
     @Bean
-    public RedisTemplate<String, Cart> cartRedisTemplate(RedisConnectionFactory connectionFactory, ObjectMapper objectMapper) {
+    public RedisTemplate<String, Cart> cartRedisTemplate(RedisConnectionFactory connectionFactory, JsonMapper jsonMapper) {
         RedisTemplate<String, Cart> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
         template.setKeySerializer(new StringRedisSerializer());
-        Jackson2JsonRedisSerializer<Cart> valueSerializer = new Jackson2JsonRedisSerializer<>(Cart.class);
-        valueSerializer.setObjectMapper(objectMapper);
-        template.setValueSerializer(valueSerializer);
+        template.setValueSerializer(new JacksonJsonRedisSerializer<>(jsonMapper, Cart.class));
         template.afterPropertiesSet();
         return template;
     }
@@ -0,0 +1,108 @@
+package com.scaler.cartservice.kafka;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scaler.cartservice.replica.ProductReplica;
+import com.scaler.cartservice.replica.ReplicatedProduct;
+import com.scaler.ecommerce.common.events.ProductDeletedEvent;
+import com.scaler.ecommerce.common.events.ProductUpdatedEvent;
+import com.scaler.ecommerce.common.events.StockChangedEvent;
+import com.scaler.ecommerce.common.kafka.ReplayProgress;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.PartitionOffset;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.kafka.event.ListenerContainerIdleEvent;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Applies catalog change events to the {@link ProductReplica}. Every instance keeps its own replica, so each
+ * one assigns itself all partitions and reads them from the beginning; nothing published while the startup
+ * export runs can be missed, and versions keep replayed events from overwriting newer copies. The catalog
+ * keeps the topic compacted by product id, so the replay is bounded by the number of products. The replica
+ * counts as caught up once the listener goes idle or reaches the end of every partition it has read.
+ */
+@Component
+public class ProductEventListener {
+    private static final Logger log = LoggerFactory.getLogger(ProductEventListener.class);
+    private static final String LISTENER_ID = "product-events";
+    private final ObjectMapper objectMapper;
+    private final ProductReplica productReplica;
+    private final ReplayProgress progress = new ReplayProgress();
+
+    public ProductEventListener(ObjectMapper objectMapper, ProductReplica productReplica) {
+        this.objectMapper = objectMapper;
+        this.productReplica = productReplica;
+    }
+
+    @KafkaListener(id = LISTENER_ID, groupId = "${product-replica.group-id}",
+            properties = "auto.offset.reset=earliest",
+            topicPartitions = @TopicPartition(topic = "${kafka.topics.product-events}",
+                    partitions = "#{@kafkaPartitionFinder.partitions('${kafka.topics.product-events}')}",
+                    partitionOffsets = @PartitionOffset(partition = "*", initialOffset = "0")))
+    public void handleProductEvent(ConsumerRecord<String, String> record, Consumer<?, ?> consumer) {
+        handleProductEvent(record.value());
+        recordProgress(record, consumer);
+    }
+
+    @EventListener
+    public void onIdle(ListenerContainerIdleEvent event) {
+        if (event.getListenerId().startsWith(LISTENER_ID) && progress.idle(event.getTopicPartitions())) {
+            markCaughtUp();
+        }
+    }
+
+    public void handleProductEvent(String message) {
+        try {
+            JsonNode root = objectMapper.readTree(message);
+            String type = root.path("type").asText();
+            JsonNode payload = root.path("payload");
+
+            if ("product.updated".equals(type)) {
+                productReplica.put(ReplicatedProduct.from(read(payload, ProductUpdatedEvent.class)));
+            } else if ("product.deleted".equals(type)) {
+                ProductDeletedEvent event = read(payload, ProductDeletedEvent.class);
+                productReplica.put(ReplicatedProduct.deleted(event.getProductId(), event.getVersion()));
+            } else if ("stock.changed".equals(type)) {
+                StockChangedEvent event = read(payload, StockChangedEvent.class);
+                productReplica.putStock(event.getProductId(), event.getStockQuantity(), event.getVersion());
+            } else {
+                return;
+            }
+            productReplica.recordLag(objectMapper.treeToValue(root.path("occurredAt"), Instant.class));
+        } catch (Exception e) {
+            log.warn("Failed to handle product event", e);
+        }
+    }
+
+    private void recordProgress(ConsumerRecord<String, String> record, Consumer<?, ?> consumer) {
+        if (!productReplica.isCaughtUp()) {
+            progress.record(record, consumer);
+            if (progress.isCaughtUp()) {
+                markCaughtUp();
+            }
+        }
+    }
+
+    private void markCaughtUp() {
+        if (!productReplica.isCaughtUp()) {
+            productReplica.markCaughtUp();
+            log.info("Product event replay caught up");
+        }
+    }
+
+    // Newer schema versions may add fields; ignore them rather than drop the event.
+    private <T> T read(JsonNode payload, Class<T> type) throws IOException {
+        return objectMapper.readerFor(type)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .readValue(payload);
+    }
+}
@@ -0,0 +1,77 @@
+package com.scaler.cartservice.replica;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local read model of catalog products, bootstrapped from the catalog export by {@link ProductReplicaSync}
+ * and kept current from the product event topic. Writes only ever replace a product with a newer version.
+ * Lag is only reported once the event topic has been replayed, as replayed events are old by design.
+ */
+@Component
+public class ProductReplica {
+    private final Map<Long, ReplicatedProduct> products = new ConcurrentHashMap<>();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private volatile boolean caughtUp;
+    private final Counter hits;
+    private final Counter misses;
+
+    public ProductReplica(MeterRegistry meterRegistry) {
+        Gauge.builder("product.replica.size", products, Map::size)
+                .register(meterRegistry);
+        TimeGauge.builder("product.replica.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Time between the catalog publishing the last applied change and the cart applying it")
+                .register(meterRegistry);
+        this.hits = Counter.builder("product.replica.lookups").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("product.replica.lookups").tag("result", "miss").register(meterRegistry);
+    }
+
+    /**
+     * Returns the replicated product, a tombstone if it was deleted, or null when it has never been seen.
+     */
+    public ReplicatedProduct get(Long productId) {
+        ReplicatedProduct product = products.get(productId);
+        (product != null ? hits : misses).increment();
+        return product;
+    }
+
+    public void put(ReplicatedProduct product) {
+        products.merge(product.getId(), product,
+                (current, candidate) -> candidate.getVersion() >= current.getVersion() ? candidate : current);
+    }
+
+    /**
+     * Applies a stock change to a product already in the replica; stock of unknown products is ignored
+     * until their full snapshot arrives.
+     */
+    public void putStock(Long productId, int stockQuantity, long version) {
+        products.computeIfPresent(productId, (id, current) ->
+                version >= current.getVersion() && !current.isDeleted()
+                        ? current.withStock(stockQuantity, version)
+                        : current);
+    }
+
+    public boolean isCaughtUp() {
+        return caughtUp;
+    }
+
+    public void markCaughtUp() {
+        caughtUp = true;
+    }
+
+    public void recordLag(Instant publishedAt) {
+        if (caughtUp && publishedAt != null) {
+            lagMillis.set(Math.max(0, Duration.between(publishedAt, Instant.now()).toMillis()));
+        }
+    }
+}
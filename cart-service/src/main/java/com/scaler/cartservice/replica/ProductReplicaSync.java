@@ -0,0 +1,59 @@
+package com.scaler.cartservice.replica;
+
+import com.scaler.cartservice.client.ProductCatalogClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads the full catalog export into the {@link ProductReplica} at startup, then periodically re-reads the
+ * products changed since the last sync to repair anything the event stream missed.
+ */
+@Component
+public class ProductReplicaSync {
+    private static final Logger log = LoggerFactory.getLogger(ProductReplicaSync.class);
+
+    private final ProductCatalogClient productCatalogClient;
+    private final ProductReplica productReplica;
+    private final Duration overlap;
+    private Instant lastSyncedAt;
+
+    public ProductReplicaSync(ProductCatalogClient productCatalogClient,
+                              ProductReplica productReplica,
+                              @Value("${product-replica.resync-overlap-seconds}") long overlapSeconds) {
+        this.productCatalogClient = productCatalogClient;
+        this.productReplica = productReplica;
+        this.overlap = Duration.ofSeconds(overlapSeconds);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        sync();
+    }
+
+    @Scheduled(fixedDelayString = "${product-replica.resync-interval-ms}",
+            initialDelayString = "${product-replica.resync-interval-ms}")
+    public synchronized void sync() {
+        Instant startedAt = Instant.now();
+        Instant updatedSince = lastSyncedAt != null ? lastSyncedAt.minus(overlap) : null;
+        AtomicInteger synced = new AtomicInteger();
+        try {
+            productCatalogClient.exportProducts(updatedSince, product -> {
+                productReplica.put(ReplicatedProduct.from(product));
+                synced.incrementAndGet();
+            });
+            lastSyncedAt = startedAt;
+            log.info("Product replica synced {} products", synced.get());
+        } catch (RuntimeException ex) {
+            log.warn("Product replica sync failed after {} products", synced.get(), ex);
+        }
+    }
+}
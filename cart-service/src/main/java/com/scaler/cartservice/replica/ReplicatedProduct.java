@@ -0,0 +1,73 @@
+package com.scaler.cartservice.replica;
+
+import com.scaler.cartservice.client.ProductSnapshot;
+import com.scaler.ecommerce.common.events.ProductUpdatedEvent;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * Immutable copy of the catalog fields the cart needs. {@code version} orders copies of the same product;
+ * a deleted product is kept as a tombstone so older events cannot bring it back.
+ */
+@Getter
+public class ReplicatedProduct {
+    private static final String DELETED = "DELETED";
+
+    private final Long id;
+    private final String name;
+    private final BigDecimal price;
+    private final String currency;
+    private final String status;
+    private final Integer stockQuantity;
+    private final long version;
+
+    private ReplicatedProduct(Long id, String name, BigDecimal price, String currency, String status,
+                              Integer stockQuantity, long version) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+        this.currency = currency;
+        this.status = status;
+        this.stockQuantity = stockQuantity;
+        this.version = version;
+    }
+
+    public static ReplicatedProduct from(ProductUpdatedEvent event) {
+        return new ReplicatedProduct(event.getProductId(), event.getName(), event.getPrice(), event.getCurrency(),
+                event.getStatus(), event.getStockQuantity(), event.getVersion());
+    }
+
+    /**
+     * Copy of a product read over HTTP; versioned by the same row revision as the events, or 0 when that is
+     * unknown so that any event replaces it.
+     */
+    public static ReplicatedProduct from(ProductSnapshot product) {
+        return new ReplicatedProduct(product.getId(), product.getName(), product.getPrice(), product.getCurrency(),
+                product.getStatus(), product.getStockQuantity(),
+                product.getRevision() != null ? product.getRevision() : 0);
+    }
+
+    public static ReplicatedProduct deleted(Long id, long version) {
+        return new ReplicatedProduct(id, null, null, null, DELETED, null, version);
+    }
+
+    public boolean isDeleted() {
+        return DELETED.equals(status);
+    }
+
+    ReplicatedProduct withStock(int stockQuantity, long version) {
+        return new ReplicatedProduct(id, name, price, currency, status, stockQuantity, version);
+    }
+
+    public ProductSnapshot toSnapshot() {
+        ProductSnapshot snapshot = new ProductSnapshot();
+        snapshot.setId(id);
+        snapshot.setName(name);
+        snapshot.setPrice(price);
+        snapshot.setCurrency(currency);
+        snapshot.setStatus(status);
+        snapshot.setStockQuantity(stockQuantity);
+        return snapshot;
+    }
+}
@@ -1,7 +1,16 @@
 package com.scaler.cartservice.repo;
 
 import com.scaler.cartservice.model.Cart;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
 
 public interface CartRepository extends JpaRepository<Cart, Long> {
-}
\ No newline at end of file
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Cart c where c.userId = :userId")
+    Optional<Cart> findByIdForUpdate(@Param("userId") Long userId);
+}
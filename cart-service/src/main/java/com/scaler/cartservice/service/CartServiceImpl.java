@@ -8,7 +8,7 @@ import com.scaler.cartservice.exception.OrderCreationException;
 import com.scaler.cartservice.exception.ProductUnavailableException;
 import com.scaler.cartservice.model.Cart;
 import com.scaler.cartservice.model.CartItem;
-import com.scaler.cartservice.cache.CartCacheRepository;
+import com.scaler.cartservice.cache.CartCache;
 import com.scaler.cartservice.client.OrderClient;
 import com.scaler.cartservice.client.OrderCreateRequest;
 import com.scaler.cartservice.client.OrderCreateResponse;
@@ -16,6 +16,8 @@ import com.scaler.cartservice.client.OrderItemRequest;
 import com.scaler.cartservice.client.ProductCatalogClient;
 import com.scaler.cartservice.client.ProductSnapshot;
 import com.scaler.cartservice.kafka.CartEventPublisher;
+import com.scaler.cartservice.replica.ProductReplica;
+import com.scaler.cartservice.replica.ReplicatedProduct;
 import com.scaler.cartservice.repo.CartRepository;
 import com.scaler.ecommerce.common.events.CartUpdatedEvent;
 import com.scaler.ecommerce.common.events.OrderItemEvent;
@@ -25,32 +27,39 @@ import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
 public class CartServiceImpl implements CartService {
     private final CartRepository cartRepository;
-    private final CartCacheRepository cartCacheRepository;
+    private final CartCache cartCache;
     private final ProductCatalogClient productCatalogClient;
     private final OrderClient orderClient;
     private final CartEventPublisher cartEventPublisher;
+    private final ProductReplica productReplica;
+    private final CartWriteBehind writeBehind;
 
     public CartServiceImpl(CartRepository cartRepository,
-                           CartCacheRepository cartCacheRepository,
+                           CartCache cartCache,
                            ProductCatalogClient productCatalogClient,
                            OrderClient orderClient,
-                           CartEventPublisher cartEventPublisher) {
+                           CartEventPublisher cartEventPublisher,
+                           ProductReplica productReplica,
+                           Optional<CartWriteBehind> writeBehind) {
         this.cartRepository = cartRepository;
-        this.cartCacheRepository = cartCacheRepository;
+        this.cartCache = cartCache;
         this.productCatalogClient = productCatalogClient;
         this.orderClient = orderClient;
         this.cartEventPublisher = cartEventPublisher;
+        this.productReplica = productReplica;
+        this.writeBehind = writeBehind.orElse(null);
     }
 
     @Override
     public Cart getCart(Long userId) {
-        Cart cached = cartCacheRepository.getCart(userId);
+        Cart cached = cartCache.getCart(userId);
         if (cached != null) {
             return cached;
         }
@@ -65,7 +74,7 @@ public class CartServiceImpl implements CartService {
             return emptyCart;
         });
 
-        cartCacheRepository.putCart(userId, cart);
+        cartCache.putCart(userId, cart);
         return cart;
     }
 
@@ -75,7 +84,7 @@ public class CartServiceImpl implements CartService {
             throw new InvalidCartItemException("Quantity must be positive");
         }
 
-        ProductSnapshot product = productCatalogClient.getProduct(request.getProductId());
+        ProductSnapshot product = loadProduct(request.getProductId());
         if (product == null || product.getId() == null) {
             throw new ProductUnavailableException("Product not found");
         }
@@ -86,11 +95,7 @@ public class CartServiceImpl implements CartService {
             throw new ProductUnavailableException("Insufficient stock");
         }
 
-        Cart cart = cartRepository.findById(userId).orElseGet(() -> {
-            Cart newCart = new Cart();
-            newCart.setUserId(userId);
-            return newCart;
-        });
+        Cart cart = findCart(userId).orElseGet(() -> newCart(userId));
 
         CartItem item = cart.getItems().stream()
                 .filter(existing -> existing.getProductId().equals(request.getProductId()))
@@ -120,15 +125,14 @@ public class CartServiceImpl implements CartService {
         }
 
         recalculate(cart);
-        Cart saved = cartRepository.save(cart);
-        cartCacheRepository.putCart(userId, saved);
+        Cart saved = save(userId, cart, request.getProductId());
         publishCartUpdated(saved);
         return saved;
     }
 
     @Override
     public Cart updateItem(Long userId, Long productId, Integer quantity) {
-        Cart cart = cartRepository.findById(userId)
+        Cart cart = findCart(userId)
                 .orElseThrow(() -> new CartNotFoundException("Cart not found"));
 
         CartItem item = cart.getItems().stream()
@@ -144,33 +148,39 @@ public class CartServiceImpl implements CartService {
         }
 
         recalculate(cart);
-        Cart saved = cartRepository.save(cart);
-        cartCacheRepository.putCart(userId, saved);
+        Cart saved = save(userId, cart, productId);
         publishCartUpdated(saved);
         return saved;
     }
 
     @Override
     public Cart removeItem(Long userId, Long productId) {
-        Cart cart = cartRepository.findById(userId)
+        Cart cart = findCart(userId)
                 .orElseThrow(() -> new CartNotFoundException("Cart not found"));
 
         cart.getItems().removeIf(item -> item.getProductId().equals(productId));
         recalculate(cart);
-        Cart saved = cartRepository.save(cart);
-        cartCacheRepository.putCart(userId, saved);
+        Cart saved = save(userId, cart, productId);
         publishCartUpdated(saved);
         return saved;
     }
 
     @Override
     public void clearCart(Long userId) {
+        if (writeBehind != null) {
+            // The row is deleted by a flush, so the clear cannot interleave with one writing the cart back.
+            writeBehind.clear(userId);
+            return;
+        }
         cartRepository.deleteById(userId);
-        cartCacheRepository.evict(userId);
+        cartCache.evict(userId);
     }
 
     @Override
     public CheckoutResult checkout(Long userId, CheckoutRequestDto request, String idempotencyKey, String accessToken) {
+        if (writeBehind != null) {
+            writeBehind.flush(userId);
+        }
         Cart cart = cartRepository.findById(userId)
                 .orElseThrow(() -> new CartNotFoundException("Cart not found"));
 
@@ -203,6 +213,56 @@ public class CartServiceImpl implements CartService {
         return result;
     }
 
+    /**
+     * Loads a cart for a change: from MySQL in write-through mode, from the cache in write-behind mode, where
+     * MySQL is only read to warm the cache.
+     */
+    private Optional<Cart> findCart(Long userId) {
+        if (writeBehind == null) {
+            return cartRepository.findById(userId);
+        }
+        Cart cached = cartCache.getCart(userId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<Cart> stored = cartRepository.findById(userId);
+        stored.ifPresent(cart -> cartCache.putCart(userId, cart));
+        return stored;
+    }
+
+    private Cart newCart(Long userId) {
+        Cart cart = new Cart();
+        cart.setUserId(userId);
+        if (writeBehind != null) {
+            cart.setTotalItems(0);
+            cart.setTotalAmount(BigDecimal.ZERO);
+            cartCache.putCart(userId, cart);
+        }
+        return cart;
+    }
+
+    /**
+     * Stores a change to one line. Write-behind only updates the cached line and queues the cart for the next
+     * flush; write-through saves to MySQL first. If the cached cart expired in between, the whole cart is
+     * cached again rather than the changed line alone.
+     */
+    private Cart save(Long userId, Cart cart, Long productId) {
+        if (writeBehind != null) {
+            cache(userId, cart, productId);
+            writeBehind.markDirty(userId);
+            return cart;
+        }
+        Cart saved = cartRepository.save(cart);
+        cache(userId, saved, productId);
+        return saved;
+    }
+
+    private void cache(Long userId, Cart cart, Long productId) {
+        if (!cartCache.putItem(userId, cart, productId)) {
+            cartCache.putCart(userId, cart);
+        }
+    }
+
     private void recalculate(Cart cart) {
         int totalItems = 0;
         BigDecimal totalAmount = BigDecimal.ZERO;
@@ -218,6 +278,22 @@ public class CartServiceImpl implements CartService {
         cart.setUpdatedAt(Instant.now());
     }
 
+    /**
+     * Reads the product from the local replica and only calls the catalog for products the replica has not
+     * seen yet. A deleted product resolves to null.
+     */
+    private ProductSnapshot loadProduct(Long productId) {
+        ReplicatedProduct replicated = productReplica.get(productId);
+        if (replicated != null) {
+            return replicated.isDeleted() ? null : replicated.toSnapshot();
+        }
+        ProductSnapshot product = productCatalogClient.getProduct(productId);
+        if (product != null && product.getId() != null) {
+            productReplica.put(ReplicatedProduct.from(product));
+        }
+        return product;
+    }
+
     private void publishCartUpdated(Cart cart) {
         CartUpdatedEvent event = new CartUpdatedEvent();
         event.setUserId(cart.getUserId());
@@ -0,0 +1,318 @@
+package com.scaler.cartservice.service;
+
+import com.scaler.cartservice.cache.CartCache;
+import com.scaler.cartservice.model.Cart;
+import com.scaler.cartservice.model.CartItem;
+import com.scaler.cartservice.repo.CartRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind persistence for carts: Redis holds the current cart and every change appends the user id to
+ * a Redis stream. A scheduled flush reads the stream through a consumer group, writes each distinct cart once
+ * per batch to MySQL, each in its own transaction, and only then acknowledges that cart's entries. Entries of
+ * a crashed instance stay pending and are claimed by another instance once idle, so no acknowledged change is
+ * ever unflushed. A cart that still fails after {@code max-attempts} deliveries is moved to a dead-letter
+ * stream instead of holding up the rest.
+ * <p>
+ * While a cart has unwritten changes its cache keys do not expire: every change increments a per-cart
+ * counter and removes the expiry, and a flush restores it only if the counter did not move during the write.
+ * <p>
+ * Clears go through the stream too, so they are ordered with flushes: a tombstone is set before the cache is
+ * evicted, and the flush that finds the tombstone and no cached cart deletes the stored row.
+ */
+@Component
+@ConditionalOnProperty(name = "cart.persistence.mode", havingValue = "write-behind")
+public class CartWriteBehind {
+    private static final Logger log = LoggerFactory.getLogger(CartWriteBehind.class);
+    private static final String USER_ID = "userId";
+
+    private final StringRedisTemplate redisTemplate;
+    private final CartCache cartCache;
+    private final CartRepository cartRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String streamKey;
+    private final String group;
+    private final String consumer;
+    private final int batchSize;
+    private final Duration claimIdle;
+    private final String deadLetterKey;
+    private final int maxAttempts;
+    private final String ttlSeconds;
+    private final Duration ttl;
+    private final Counter changes;
+    private final Counter writes;
+    private final Counter deadLetters;
+    private final DefaultRedisScript<Long> pinScript = script("redis/cart-pin.lua");
+    private final DefaultRedisScript<Long> unpinScript = script("redis/cart-unpin.lua");
+    private volatile boolean groupCreated;
+
+    public CartWriteBehind(StringRedisTemplate redisTemplate,
+                           CartCache cartCache,
+                           CartRepository cartRepository,
+                           TransactionTemplate transactionTemplate,
+                           MeterRegistry meterRegistry,
+                           @Value("${cart.write-behind.stream-key}") String streamKey,
+                           @Value("${cart.write-behind.group}") String group,
+                           @Value("${cart.write-behind.consumer}") String consumer,
+                           @Value("${cart.write-behind.batch-size}") int batchSize,
+                           @Value("${cart.write-behind.claim-idle-ms}") long claimIdleMillis,
+                           @Value("${cart.write-behind.dead-letter-key}") String deadLetterKey,
+                           @Value("${cart.write-behind.max-attempts}") int maxAttempts,
+                           @Value("${cache.cart.ttl-seconds}") long ttlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.cartCache = cartCache;
+        this.cartRepository = cartRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.streamKey = streamKey;
+        this.group = group;
+        this.consumer = consumer;
+        this.batchSize = batchSize;
+        this.claimIdle = Duration.ofMillis(claimIdleMillis);
+        this.deadLetterKey = deadLetterKey;
+        this.maxAttempts = maxAttempts;
+        this.ttlSeconds = String.valueOf(ttlSeconds);
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.changes = Counter.builder("cart.write-behind.changes").register(meterRegistry);
+        this.writes = Counter.builder("cart.write-behind.writes").register(meterRegistry);
+        this.deadLetters = Counter.builder("cart.write-behind.dead-letters").register(meterRegistry);
+    }
+
+    /**
+     * Records that the cached cart changed. Must be called after the change is written to the cache.
+     */
+    public void markDirty(Long userId) {
+        redisTemplate.execute(pinScript, pinKeys(userId));
+        redisTemplate.opsForStream().add(streamKey, Map.of(USER_ID, String.valueOf(userId)));
+        changes.increment();
+    }
+
+    /**
+     * Writes the cached cart to MySQL now. Used before checkout, which reads the stored cart.
+     */
+    public void flush(Long userId) {
+        String pinned = transactionTemplate.execute(status -> write(userId));
+        unpin(userId, pinned);
+    }
+
+    /**
+     * Clears a cart: marks it cleared, evicts its cache and queues it, so the next flush deletes the stored row.
+     * The tombstone expires after the cache ttl, which is before the cache of any cart written after the clear.
+     */
+    public void clear(Long userId) {
+        redisTemplate.opsForValue().set(clearedKey(userId), "1", ttl);
+        cartCache.evict(userId);
+        redisTemplate.delete(counterKey(userId));
+        redisTemplate.opsForStream().add(streamKey, Map.of(USER_ID, String.valueOf(userId)));
+    }
+
+    @Scheduled(fixedDelayString = "${cart.write-behind.flush-interval-ms}")
+    public void flushDirty() {
+        ensureGroup();
+        claimAbandoned();
+        // Entries delivered to this consumer but not yet acknowledged come first, then new ones.
+        List<MapRecord<String, Object, Object>> records = new ArrayList<>(read(ReadOffset.from("0")));
+        if (records.size() < batchSize) {
+            records.addAll(read(ReadOffset.lastConsumed()));
+        }
+        if (records.isEmpty()) {
+            return;
+        }
+
+        Map<Long, List<RecordId>> entries = new LinkedHashMap<>();
+        records.forEach(record -> entries
+                .computeIfAbsent(Long.valueOf(String.valueOf(record.getValue().get(USER_ID))), id -> new ArrayList<>())
+                .add(record.getId()));
+        for (Map.Entry<Long, List<RecordId>> entry : entries.entrySet()) {
+            RecordId[] ids = entry.getValue().toArray(RecordId[]::new);
+            try {
+                flush(entry.getKey());
+            } catch (RuntimeException ex) {
+                long attempts = attempts(entry.getValue());
+                if (attempts < maxAttempts) {
+                    log.warn("Cart write-behind flush of cart {} failed on attempt {}, will retry",
+                            entry.getKey(), attempts, ex);
+                    continue;
+                }
+                deadLetter(entry.getKey(), attempts, ex);
+            }
+            redisTemplate.opsForStream().acknowledge(streamKey, group, ids);
+            redisTemplate.opsForStream().delete(streamKey, ids);
+        }
+    }
+
+    private void ensureGroup() {
+        if (groupCreated) {
+            return;
+        }
+        try {
+            redisTemplate.opsForStream().createGroup(streamKey, ReadOffset.from("0"), group);
+        } catch (RedisSystemException ex) {
+            log.debug("Cart write-behind group {} already exists", group);
+        }
+        groupCreated = true;
+    }
+
+    private List<MapRecord<String, Object, Object>> read(ReadOffset offset) {
+        List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream().read(
+                Consumer.from(group, consumer),
+                StreamReadOptions.empty().count(batchSize),
+                StreamOffset.create(streamKey, offset));
+        return records != null ? records : List.of();
+    }
+
+    private void claimAbandoned() {
+        RecordId[] abandoned = redisTemplate.opsForStream().pending(streamKey, group, Range.unbounded(), batchSize)
+                .stream()
+                .filter(message -> !consumer.equals(message.getConsumerName()))
+                .filter(message -> message.getElapsedTimeSinceLastDelivery().compareTo(claimIdle) >= 0)
+                .map(PendingMessage::getId)
+                .toArray(RecordId[]::new);
+        if (abandoned.length > 0) {
+            redisTemplate.opsForStream().claim(streamKey, group, consumer, claimIdle, abandoned);
+            log.info("Claimed {} abandoned cart write-behind entries", abandoned.length);
+        }
+    }
+
+    /**
+     * Deliveries of the most often delivered of {@code ids}, as counted by the consumer group. Each id is looked
+     * up on its own, since the entries of one cart can be anywhere in a long pending list.
+     */
+    private long attempts(List<RecordId> ids) {
+        long attempts = 0;
+        for (RecordId id : ids) {
+            for (PendingMessage message : redisTemplate.opsForStream()
+                    .pending(streamKey, group, Range.closed(id.getValue(), id.getValue()), 1)) {
+                attempts = Math.max(attempts, message.getTotalDeliveryCount());
+            }
+        }
+        return attempts;
+    }
+
+    /**
+     * Parks a cart that keeps failing. Its cache stays pinned, so the cart can be written once the cause is
+     * fixed, by replaying the dead-letter stream or by the user's next change.
+     */
+    private void deadLetter(Long userId, long attempts, RuntimeException ex) {
+        log.error("Cart write-behind gave up on cart {} after {} attempts; moved to {}",
+                userId, attempts, deadLetterKey, ex);
+        redisTemplate.opsForStream().add(deadLetterKey, Map.of(
+                USER_ID, String.valueOf(userId),
+                "error", String.valueOf(ex.getMessage())));
+        deadLetters.increment();
+    }
+
+    /**
+     * Restores the cache expiry if no change was made since {@code pinned} was read.
+     */
+    private void unpin(Long userId, String pinned) {
+        if (pinned != null) {
+            redisTemplate.execute(unpinScript, pinKeys(userId), pinned, ttlSeconds);
+        }
+    }
+
+    private List<String> pinKeys(Long userId) {
+        List<String> keys = new ArrayList<>();
+        keys.add(counterKey(userId));
+        keys.addAll(cartCache.keys(userId));
+        return keys;
+    }
+
+    private static String counterKey(Long userId) {
+        return "cart:{" + userId + "}:changes";
+    }
+
+    private static String clearedKey(Long userId) {
+        return "cart:{" + userId + "}:cleared";
+    }
+
+    /**
+     * Returns the change counter read before the cache, or null when there was nothing to write.
+     */
+    private String write(Long userId) {
+        // Clearing sets the tombstone before evicting the cache, so a cart missing here was either cleared or is
+        // written here and deleted by the flush of the clear's own entry.
+        Optional<Cart> stored = cartRepository.findByIdForUpdate(userId);
+        String pinned = redisTemplate.opsForValue().get(counterKey(userId));
+        Cart cached = cartCache.getCart(userId);
+        if (cached == null) {
+            if (Boolean.TRUE.equals(redisTemplate.hasKey(clearedKey(userId)))) {
+                stored.ifPresent(cartRepository::delete);
+            }
+            return null;
+        }
+        Cart cart = stored.orElseGet(() -> {
+            Cart newCart = new Cart();
+            newCart.setUserId(userId);
+            return newCart;
+        });
+        merge(cart, cached);
+        cartRepository.save(cart);
+        writes.increment();
+        return pinned;
+    }
+
+    /**
+     * Copies the cached state onto the stored cart, updating lines in place so unchanged lines are not rewritten.
+     */
+    private static void merge(Cart target, Cart source) {
+        Map<Long, CartItem> lines = source.getItems().stream()
+                .collect(Collectors.toMap(CartItem::getProductId, Function.identity()));
+        target.getItems().removeIf(item -> !lines.containsKey(item.getProductId()));
+        Map<Long, CartItem> existing = target.getItems().stream()
+                .collect(Collectors.toMap(CartItem::getProductId, Function.identity()));
+        for (CartItem line : source.getItems()) {
+            CartItem item = existing.get(line.getProductId());
+            if (item == null) {
+                item = new CartItem();
+                item.setCart(target);
+                item.setProductId(line.getProductId());
+                target.getItems().add(item);
+            }
+            item.setProductName(line.getProductName());
+            item.setQuantity(line.getQuantity());
+            item.setUnitPrice(line.getUnitPrice());
+            item.setLineTotal(line.getLineTotal());
+            item.setCurrency(line.getCurrency());
+        }
+        target.setTotalItems(source.getTotalItems());
+        target.setTotalAmount(source.getTotalAmount());
+        target.setCurrency(source.getCurrency());
+        target.setUpdatedAt(source.getUpdatedAt());
+    }
+
+    private static DefaultRedisScript<Long> script(String path) {
+        DefaultRedisScript<Long> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource(path));
+        script.setResultType(Long.class);
+        return script;
+    }
+}
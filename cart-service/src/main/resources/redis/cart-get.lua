@@ -0,0 +1,7 @@
+-- KEYS[1] cart hash (totals), KEYS[2] cart items hash
+-- Returns nil when the cart is not cached, otherwise {totals, items} as flat field/value lists.
+local cart = redis.call('HGETALL', KEYS[1])
+if #cart == 0 then
+    return nil
+end
+return {cart, redis.call('HGETALL', KEYS[2])}
@@ -0,0 +1,6 @@
+-- KEYS[1] change counter, KEYS[2..] cart cache keys
+-- Counts a change not yet written to MySQL and removes the cart's expiry until it is.
+for i = 2, #KEYS do
+    redis.call('PERSIST', KEYS[i])
+end
+return redis.call('INCR', KEYS[1])
@@ -0,0 +1,19 @@
+-- KEYS[1] cart hash (totals), KEYS[2] cart items hash
+-- ARGV[1] ttl seconds, ARGV[2] updatedAt millis, ARGV[3] currency or '', ARGV[4..] productId, line pairs
+-- A line is "quantity|unitPriceMinor|itemId|currency|productName", amounts in the currency's minor units.
+redis.call('DEL', KEYS[1], KEYS[2])
+local totalItems = 0
+local totalMinor = 0
+for i = 4, #ARGV, 2 do
+    local quantity, price = string.match(ARGV[i + 1], '^(%d+)|(%d+)|')
+    redis.call('HSET', KEYS[2], ARGV[i], ARGV[i + 1])
+    totalItems = totalItems + tonumber(quantity)
+    totalMinor = totalMinor + tonumber(quantity) * tonumber(price)
+end
+redis.call('HSET', KEYS[1], 'totalItems', totalItems, 'totalMinor', totalMinor, 'updatedAt', ARGV[2])
+if ARGV[3] ~= '' then
+    redis.call('HSET', KEYS[1], 'currency', ARGV[3])
+end
+redis.call('EXPIRE', KEYS[1], ARGV[1])
+redis.call('EXPIRE', KEYS[2], ARGV[1])
+return totalItems
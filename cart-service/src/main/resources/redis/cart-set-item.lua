@@ -0,0 +1,38 @@
+-- KEYS[1] cart hash (totals), KEYS[2] cart items hash
+-- ARGV[1] productId, ARGV[2] line, or '' to remove it, ARGV[3] currency, ARGV[4] updatedAt millis,
+-- ARGV[5] ttl seconds
+-- A line is "quantity|unitPriceMinor|itemId|currency|productName", amounts in the currency's minor units.
+-- Rewrites one line and adjusts the totals by its difference. Returns -1 without writing when the cart
+-- is not cached, so a partial cart is never created.
+if redis.call('EXISTS', KEYS[1]) == 0 then
+    return -1
+end
+local oldQuantity = 0
+local oldMinor = 0
+local old = redis.call('HGET', KEYS[2], ARGV[1])
+if old then
+    local quantity, price = string.match(old, '^(%d+)|(%d+)|')
+    oldQuantity = tonumber(quantity)
+    oldMinor = oldQuantity * tonumber(price)
+end
+local quantity = 0
+local minor = 0
+if ARGV[2] ~= '' then
+    local lineQuantity, price = string.match(ARGV[2], '^(%d+)|(%d+)|')
+    quantity = tonumber(lineQuantity)
+    minor = quantity * tonumber(price)
+    redis.call('HSET', KEYS[2], ARGV[1], ARGV[2])
+else
+    redis.call('HDEL', KEYS[2], ARGV[1])
+end
+local totalItems = redis.call('HINCRBY', KEYS[1], 'totalItems', quantity - oldQuantity)
+redis.call('HINCRBY', KEYS[1], 'totalMinor', minor - oldMinor)
+if totalItems == 0 then
+    redis.call('HDEL', KEYS[1], 'currency')
+else
+    redis.call('HSETNX', KEYS[1], 'currency', ARGV[3])
+end
+redis.call('HSET', KEYS[1], 'updatedAt', ARGV[4])
+redis.call('EXPIRE', KEYS[1], ARGV[5])
+redis.call('EXPIRE', KEYS[2], ARGV[5])
+return totalItems
@@ -0,0 +1,12 @@
+-- KEYS[1] change counter, KEYS[2..] cart cache keys
+-- ARGV[1] counter value read before the cart was written, ARGV[2] ttl seconds
+-- Restores the expiry once a write covered every change. A change made during the write moved the counter,
+-- so the cart stays pinned until the flush that writes it.
+if redis.call('GET', KEYS[1]) ~= ARGV[1] then
+    return 0
+end
+redis.call('DEL', KEYS[1])
+for i = 2, #KEYS do
+    redis.call('EXPIRE', KEYS[i], ARGV[2])
+end
+return 1
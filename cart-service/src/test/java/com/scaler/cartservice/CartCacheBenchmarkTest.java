@@ -0,0 +1,168 @@
+package com.scaler.cartservice;
+
+import com.scaler.cartservice.cache.CartCache;
+import com.scaler.cartservice.cache.CartCacheRepository;
+import com.scaler.cartservice.cache.RedisHashCartCache;
+import com.scaler.cartservice.config.RedisConfig;
+import com.scaler.cartservice.model.Cart;
+import com.scaler.cartservice.model.CartItem;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Latency of a one-line cart change and of a cart read, JSON blob vs per-line hash, for carts of 1, 50 and
+ * 200 lines. Needs a running Redis and is disabled by default; run with
+ * {@code mvn test -Dtest=CartCacheBenchmarkTest -Dbenchmarks=true}. Redis defaults to localhost:6379 and can
+ * be changed with {@code -Dbenchmark.redis.host=} and {@code -Dbenchmark.redis.port=}. Prints the p50 and p99
+ * of each layout and cart size.
+ * <p>
+ * No p99 figures have been recorded yet: the hash layout was chosen on the per-change payload size (one line
+ * instead of the whole cart), not on measured latency. Run this against the target Redis before relying on
+ * {@code cache.cart.layout=hash} for large carts.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class CartCacheBenchmarkTest {
+    private static final int[] LINES = {1, 50, 200};
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 2000;
+    private static final long USER_ID = -1L;
+
+    private LettuceConnectionFactory connectionFactory;
+    private CartCache jsonCache;
+    private CartCache hashCache;
+
+    @BeforeAll
+    void connect() {
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(
+                System.getProperty("benchmark.redis.host", "localhost"),
+                Integer.getInteger("benchmark.redis.port", 6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        jsonCache = new CartCacheRepository(new RedisConfig().cartRedisTemplate(connectionFactory,
+                new JsonMapper()), 600);
+        StringRedisTemplate stringRedisTemplate = new StringRedisTemplate(connectionFactory);
+        hashCache = new RedisHashCartCache(stringRedisTemplate, 600);
+    }
+
+    @AfterAll
+    void disconnect() {
+        jsonCache.evict(USER_ID);
+        hashCache.evict(USER_ID);
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void hashCartKeepsTotalsInStep() {
+        Cart cart = cart(3);
+        hashCache.putCart(USER_ID, cart);
+        cart.getItems().get(1).setQuantity(5);
+        hashCache.putItem(USER_ID, cart, cart.getItems().get(1).getProductId());
+        cart.getItems().remove(0);
+        hashCache.putItem(USER_ID, cart, 1L);
+
+        Cart cached = hashCache.getCart(USER_ID);
+        assertEquals(2, cached.getItems().size());
+        assertEquals(6, cached.getTotalItems());
+        assertEquals(new BigDecimal("60.00"), cached.getTotalAmount());
+    }
+
+    @Test
+    void hashCartKeepsItemIdsAndTheCurrencyScale() {
+        Cart cart = cart(2);
+        cart.setCurrency("JPY");
+        for (CartItem item : cart.getItems()) {
+            item.setId(100 + item.getProductId());
+            item.setUnitPrice(new BigDecimal("1500"));
+            item.setLineTotal(new BigDecimal("1500"));
+            item.setCurrency("JPY");
+        }
+        hashCache.putCart(USER_ID, cart);
+        cart.getItems().get(1).setQuantity(2);
+        hashCache.putItem(USER_ID, cart, 2L);
+
+        Cart cached = hashCache.getCart(USER_ID);
+        assertEquals(101L, cached.getItems().get(0).getId());
+        assertEquals(102L, cached.getItems().get(1).getId());
+        assertEquals(new BigDecimal("1500"), cached.getItems().get(1).getUnitPrice());
+        assertEquals(new BigDecimal("4500"), cached.getTotalAmount());
+        hashCache.evict(USER_ID);
+    }
+
+    @Test
+    void reportLatency() {
+        for (int lines : LINES) {
+            report("json", lines, jsonCache);
+            report("hash", lines, hashCache);
+        }
+    }
+
+    private void report(String layout, int lines, CartCache cache) {
+        Cart cart = cart(lines);
+        cache.putCart(USER_ID, cart);
+        CartItem item = cart.getItems().get(lines / 2);
+
+        long[] updates = new long[ITERATIONS];
+        long[] reads = new long[ITERATIONS];
+        for (int i = -WARMUP; i < ITERATIONS; i++) {
+            item.setQuantity(1 + Math.floorMod(i, 5));
+            long startedAt = System.nanoTime();
+            cache.putItem(USER_ID, cart, item.getProductId());
+            long updatedAt = System.nanoTime();
+            cache.getCart(USER_ID);
+            long readAt = System.nanoTime();
+            if (i >= 0) {
+                updates[i] = updatedAt - startedAt;
+                reads[i] = readAt - updatedAt;
+            }
+        }
+        System.out.printf("%s %3d lines  update p50 %7.3f ms p99 %7.3f ms  read p50 %7.3f ms p99 %7.3f ms%n",
+                layout, lines, percentile(updates, 50), percentile(updates, 99),
+                percentile(reads, 50), percentile(reads, 99));
+        cache.evict(USER_ID);
+    }
+
+    private static double percentile(long[] nanos, int percentile) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return sorted[(int) Math.ceil(percentile / 100.0 * sorted.length) - 1] / 1_000_000.0;
+    }
+
+    private static Cart cart(int lines) {
+        Cart cart = new Cart();
+        cart.setUserId(USER_ID);
+        cart.setCurrency("INR");
+        cart.setUpdatedAt(Instant.now());
+        int totalItems = 0;
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        for (long productId = 1; productId <= lines; productId++) {
+            CartItem item = new CartItem();
+            item.setCart(cart);
+            item.setProductId(productId);
+            item.setProductName("Product " + productId);
+            item.setQuantity(1);
+            item.setUnitPrice(new BigDecimal("10.00"));
+            item.setLineTotal(new BigDecimal("10.00"));
+            item.setCurrency("INR");
+            cart.getItems().add(item);
+            totalItems += item.getQuantity();
+            totalAmount = totalAmount.add(item.getLineTotal());
+        }
+        cart.setTotalItems(totalItems);
+        cart.setTotalAmount(totalAmount);
+        return cart;
+    }
+}
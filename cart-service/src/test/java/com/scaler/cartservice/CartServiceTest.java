@@ -0,0 +1,96 @@
+package com.scaler.cartservice;
+
+import com.scaler.cartservice.cache.CartCache;
+import com.scaler.cartservice.client.OrderClient;
+import com.scaler.cartservice.client.ProductCatalogClient;
+import com.scaler.cartservice.kafka.CartEventPublisher;
+import com.scaler.cartservice.model.Cart;
+import com.scaler.cartservice.model.CartItem;
+import com.scaler.cartservice.replica.ProductReplica;
+import com.scaler.cartservice.repo.CartRepository;
+import com.scaler.cartservice.service.CartServiceImpl;
+import com.scaler.cartservice.service.CartWriteBehind;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CartServiceTest {
+    @Mock
+    private CartRepository cartRepository;
+
+    @Mock
+    private CartCache cartCache;
+
+    @Mock
+    private ProductCatalogClient productCatalogClient;
+
+    @Mock
+    private OrderClient orderClient;
+
+    @Mock
+    private CartEventPublisher cartEventPublisher;
+
+    @Mock
+    private CartWriteBehind writeBehind;
+
+    private CartServiceImpl cartService;
+
+    @BeforeEach
+    void setup() {
+        cartService = new CartServiceImpl(cartRepository, cartCache, productCatalogClient, orderClient,
+                cartEventPublisher, new ProductReplica(new SimpleMeterRegistry()), Optional.of(writeBehind));
+    }
+
+    @Test
+    void aLineChangeOnAnExpiredCacheStoresTheWholeCart() {
+        Cart cart = cart();
+        when(cartCache.getCart(1L)).thenReturn(cart);
+        when(cartCache.putItem(1L, cart, 10L)).thenReturn(false);
+
+        cartService.updateItem(1L, 10L, 3);
+
+        InOrder order = inOrder(cartCache, writeBehind);
+        order.verify(cartCache).putCart(1L, cart);
+        order.verify(writeBehind).markDirty(1L);
+    }
+
+    @Test
+    void aLineChangeOnACachedCartWritesOnlyTheLine() {
+        Cart cart = cart();
+        when(cartCache.getCart(1L)).thenReturn(cart);
+        when(cartCache.putItem(1L, cart, 10L)).thenReturn(true);
+
+        cartService.updateItem(1L, 10L, 3);
+
+        verify(cartCache, never()).putCart(1L, cart);
+        verify(writeBehind).markDirty(1L);
+    }
+
+    private static Cart cart() {
+        Cart cart = new Cart();
+        cart.setUserId(1L);
+        cart.setCurrency("USD");
+        CartItem item = new CartItem();
+        item.setCart(cart);
+        item.setProductId(10L);
+        item.setQuantity(1);
+        item.setUnitPrice(new BigDecimal("10.00"));
+        item.setLineTotal(new BigDecimal("10.00"));
+        item.setCurrency("USD");
+        cart.getItems().add(item);
+        return cart;
+    }
+}
@@ -0,0 +1,194 @@
+package com.scaler.cartservice;
+
+import com.scaler.cartservice.cache.CartCache;
+import com.scaler.cartservice.model.Cart;
+import com.scaler.cartservice.repo.CartRepository;
+import com.scaler.cartservice.service.CartWriteBehind;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CartWriteBehindTest {
+    private static final String STREAM = "cart:dirty";
+    private static final String DEAD = "cart:dirty:dead";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private StreamOperations<String, Object, Object> streams;
+
+    @Mock
+    private ValueOperations<String, String> values;
+
+    @Mock
+    private CartCache cartCache;
+
+    @Mock
+    private CartRepository cartRepository;
+
+    private CartWriteBehind writeBehind;
+
+    @BeforeEach
+    void setup() {
+        when(redisTemplate.opsForStream()).thenReturn(streams);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        when(streams.pending(eq(STREAM), eq("cart-writer"), any(Range.class), anyLong()))
+                .thenReturn(new PendingMessages("cart-writer", List.of()));
+        when(cartCache.keys(any())).thenAnswer(invocation -> List.of("cart:{" + invocation.getArgument(0) + "}"));
+        writeBehind = new CartWriteBehind(redisTemplate, cartCache, cartRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), new SimpleMeterRegistry(),
+                STREAM, "cart-writer", "consumer-1", 500, 60000, DEAD, 3, 1800);
+    }
+
+    @Test
+    void aFailingCartDoesNotHoldBackTheOthers() {
+        stream(record("1-0", 1L), record("2-0", 2L));
+        when(cartRepository.findByIdForUpdate(1L)).thenThrow(new IllegalStateException("deadlock"));
+        when(cartRepository.findByIdForUpdate(2L)).thenReturn(Optional.empty());
+        when(cartCache.getCart(2L)).thenReturn(cart(2L));
+        pending(RecordId.of("1-0"), 1);
+
+        writeBehind.flushDirty();
+
+        verify(streams).acknowledge(STREAM, "cart-writer", RecordId.of("2-0"));
+        verify(streams, never()).acknowledge(STREAM, "cart-writer", RecordId.of("1-0"));
+        verify(streams, never()).add(eq(DEAD), any(Map.class));
+    }
+
+    @Test
+    void aCartIsDeadLetteredAfterTheLastAttempt() {
+        stream(record("1-0", 1L));
+        when(cartRepository.findByIdForUpdate(1L)).thenThrow(new IllegalStateException("constraint"));
+        pending(RecordId.of("1-0"), 3);
+
+        writeBehind.flushDirty();
+
+        verify(streams).add(DEAD, Map.of("userId", "1", "error", "constraint"));
+        verify(streams).acknowledge(STREAM, "cart-writer", RecordId.of("1-0"));
+    }
+
+    @Test
+    void attemptsAreReadForTheRetriedEntriesOnly() {
+        stream(record("1-0", 1L), record("2-0", 2L));
+        when(cartRepository.findByIdForUpdate(anyLong())).thenThrow(new IllegalStateException("constraint"));
+        pending(RecordId.of("1-0"), 1);
+        pending(RecordId.of("2-0"), 3);
+
+        writeBehind.flushDirty();
+
+        verify(streams).add(DEAD, Map.of("userId", "2", "error", "constraint"));
+        verify(streams, never()).acknowledge(STREAM, "cart-writer", RecordId.of("1-0"));
+    }
+
+    @Test
+    void aClearIsAppliedByTheFlushOfItsEntry() {
+        Cart stored = cart(1L);
+        when(cartRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(stored));
+        when(redisTemplate.hasKey("cart:{1}:cleared")).thenReturn(true);
+
+        writeBehind.clear(1L);
+
+        verify(values).set(eq("cart:{1}:cleared"), eq("1"), any(Duration.class));
+        verify(cartCache).evict(1L);
+        verify(streams).add(STREAM, Map.of("userId", "1"));
+        verify(cartRepository, never()).delete(any(Cart.class));
+
+        writeBehind.flush(1L);
+
+        verify(cartRepository).delete(stored);
+    }
+
+    @Test
+    void aCartUsedAgainAfterAClearIsWrittenNotDeleted() {
+        when(cartRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(cart(1L)));
+        when(redisTemplate.hasKey("cart:{1}:cleared")).thenReturn(true);
+        when(cartCache.getCart(1L)).thenReturn(cart(1L));
+
+        writeBehind.flush(1L);
+
+        verify(cartRepository).save(any(Cart.class));
+        verify(cartRepository, never()).delete(any(Cart.class));
+    }
+
+    @Test
+    void changesPinTheCacheUntilAFlushCoversThem() {
+        writeBehind.markDirty(1L);
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("cart:{1}:changes", "cart:{1}")));
+
+        when(cartRepository.findByIdForUpdate(1L)).thenReturn(Optional.empty());
+        when(values.get("cart:{1}:changes")).thenReturn("4");
+        when(cartCache.getCart(1L)).thenReturn(cart(1L));
+        writeBehind.flush(1L);
+
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("cart:{1}:changes", "cart:{1}")),
+                eq("4"), eq("1800"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stream(MapRecord<String, Object, Object>... records) {
+        when(streams.read(any(Consumer.class), any(StreamReadOptions.class), any(StreamOffset.class)))
+                .thenAnswer(invocation -> {
+                    StreamOffset<String> offset = invocation.getArgument(2);
+                    return ReadOffset.lastConsumed().equals(offset.getOffset()) ? List.of(records) : List.of();
+                });
+    }
+
+    private void pending(RecordId id, long deliveries) {
+        when(streams.pending(STREAM, "cart-writer", Range.closed(id.getValue(), id.getValue()), 1))
+                .thenReturn(new PendingMessages("cart-writer", List.of(new PendingMessage(id,
+                        Consumer.from("cart-writer", "consumer-1"), Duration.ZERO, deliveries))));
+    }
+
+    private static MapRecord<String, Object, Object> record(String id, Long userId) {
+        return StreamRecords.<String, Object, Object>mapBacked(Map.of("userId", String.valueOf(userId)))
+                .withStreamKey(STREAM)
+                .withId(RecordId.of(id));
+    }
+
+    private static Cart cart(Long userId) {
+        Cart cart = new Cart();
+        cart.setUserId(userId);
+        cart.setTotalItems(0);
+        cart.setTotalAmount(BigDecimal.ZERO);
+        return cart;
+    }
+}
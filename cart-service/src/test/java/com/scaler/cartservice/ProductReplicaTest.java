@@ -0,0 +1,130 @@
+package com.scaler.cartservice;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scaler.cartservice.client.ProductSnapshot;
+import com.scaler.cartservice.kafka.ProductEventListener;
+import com.scaler.cartservice.replica.ProductReplica;
+import com.scaler.cartservice.replica.ReplicatedProduct;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductReplicaTest {
+    private static final TopicPartition PARTITION = new TopicPartition("product.events", 0);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ProductReplica replica = new ProductReplica(meterRegistry);
+    private final ProductEventListener listener =
+            new ProductEventListener(new ObjectMapper().findAndRegisterModules(), replica);
+
+    @Test
+    void exportedCopiesAndEventsAreOrderedByTheSameRevision() {
+        listener.handleProductEvent(updated(1L, 5, 10));
+        replica.put(ReplicatedProduct.from(snapshot(1L, 4, 12)));
+        assertEquals(10, replica.get(1L).getStockQuantity());
+
+        replica.put(ReplicatedProduct.from(snapshot(1L, 6, 12)));
+        assertEquals(12, replica.get(1L).getStockQuantity());
+        assertEquals(6, replica.get(1L).getVersion());
+    }
+
+    @Test
+    void olderStockChangesAreIgnored() {
+        replica.put(ReplicatedProduct.from(snapshot(1L, 5, 10)));
+
+        listener.handleProductEvent(stockChanged(1L, 4, 3));
+        assertEquals(10, replica.get(1L).getStockQuantity());
+
+        listener.handleProductEvent(stockChanged(1L, 6, 3));
+        assertEquals(3, replica.get(1L).getStockQuantity());
+    }
+
+    @Test
+    void stockOfUnknownProductsIsIgnored() {
+        listener.handleProductEvent(stockChanged(1L, 1, 3));
+
+        assertNull(replica.get(1L));
+    }
+
+    @Test
+    void replayedEventsCannotResurrectADeletedProduct() {
+        listener.handleProductEvent(updated(1L, 5, 10));
+        listener.handleProductEvent(event("product.deleted", "{\"productId\":1,\"version\":6}"));
+
+        listener.handleProductEvent(updated(1L, 5, 10));
+        listener.handleProductEvent(stockChanged(1L, 7, 3));
+
+        assertTrue(replica.get(1L).isDeleted());
+    }
+
+    @Test
+    void lagIsOnlyReportedForEventsAppliedAfterTheReplay() {
+        Consumer<?, ?> consumer = mock(Consumer.class);
+        when(consumer.currentLag(PARTITION)).thenReturn(OptionalLong.of(1));
+        when(consumer.position(PARTITION)).thenReturn(2L);
+
+        listener.handleProductEvent(record(0, event("product.deleted", Instant.now().minusSeconds(3600),
+                "{\"productId\":2,\"version\":1}")), consumer);
+        assertFalse(replica.isCaughtUp());
+        assertEquals(0, lagMillis());
+
+        when(consumer.currentLag(PARTITION)).thenReturn(OptionalLong.of(0));
+        listener.handleProductEvent(record(1, updated(1L, 2, 10)), consumer);
+        assertTrue(replica.isCaughtUp());
+
+        listener.handleProductEvent(event("product.deleted", Instant.now().minusSeconds(5),
+                "{\"productId\":2,\"version\":2}"));
+        assertTrue(lagMillis() >= 5000);
+    }
+
+    private double lagMillis() {
+        return meterRegistry.get("product.replica.lag").timeGauge().value(TimeUnit.MILLISECONDS);
+    }
+
+    private static ConsumerRecord<String, String> record(long offset, String message) {
+        return new ConsumerRecord<>(PARTITION.topic(), PARTITION.partition(), offset, "1", message);
+    }
+
+    private static ProductSnapshot snapshot(Long id, long revision, int stock) {
+        ProductSnapshot snapshot = new ProductSnapshot();
+        snapshot.setId(id);
+        snapshot.setName("Product " + id);
+        snapshot.setPrice(new BigDecimal("10.00"));
+        snapshot.setCurrency("USD");
+        snapshot.setStatus("ACTIVE");
+        snapshot.setStockQuantity(stock);
+        snapshot.setRevision(revision);
+        return snapshot;
+    }
+
+    private static String updated(Long id, long version, int stock) {
+        return event("product.updated", "{\"productId\":" + id + ",\"name\":\"Product " + id + "\",\"price\":10.00,"
+                + "\"currency\":\"USD\",\"status\":\"ACTIVE\",\"stockQuantity\":" + stock + ",\"version\":" + version + "}");
+    }
+
+    private static String stockChanged(Long id, long version, int stock) {
+        return event("stock.changed", "{\"productId\":" + id + ",\"stockQuantity\":" + stock + ",\"version\":" + version + "}");
+    }
+
+    private static String event(String type, String payload) {
+        return event(type, Instant.now(), payload);
+    }
+
+    private static String event(String type, Instant occurredAt, String payload) {
+        return "{\"type\":\"" + type + "\",\"occurredAt\":\"" + occurredAt + "\",\"payload\":" + payload + "}";
+    }
+}
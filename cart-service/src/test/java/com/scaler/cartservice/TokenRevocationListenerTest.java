@@ -0,0 +1,86 @@
+package com.scaler.cartservice;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.scaler.ecommerce.common.security.RevocationDenylist;
+import com.scaler.ecommerce.common.security.TokenRevocationListener;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.event.ListenerContainerIdleEvent;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationListenerTest {
+    private static final TopicPartition PARTITION = new TopicPartition("token.revocations", 0);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RevocationDenylist denylist;
+    private TokenRevocationListener listener;
+
+    @BeforeEach
+    void setUp() {
+        denylist = new RevocationDenylist(100, 0.01);
+        listener = new TokenRevocationListener(new ObjectMapper().registerModule(new JavaTimeModule()), denylist,
+                meterRegistry);
+    }
+
+    @Test
+    void anUnassignedListenerNeverLoadsTheDenylist() {
+        listener.onIdle(idle(List.of()));
+
+        assertFalse(denylist.isReady());
+        assertFalse(denylist.isFresh(Duration.ofSeconds(30)));
+    }
+
+    @Test
+    void idleWithPartitionsAssignedMarksTheDenylistFresh() {
+        listener.onIdle(idle(List.of(PARTITION)));
+
+        assertTrue(denylist.isFresh(Duration.ofSeconds(30)));
+        assertEquals(0, meterRegistry.get("security.revocations.lag").gauge().value());
+    }
+
+    @Test
+    void recordsBehindTheEndLeaveTheDenylistStaleAndReportLag() throws InterruptedException {
+        listener.onIdle(idle(List.of(PARTITION)));
+        Thread.sleep(20);
+        Consumer<?, ?> consumer = mock(Consumer.class);
+        when(consumer.currentLag(PARTITION)).thenReturn(OptionalLong.of(5));
+        when(consumer.position(PARTITION)).thenReturn(10L);
+
+        listener.handleRevocation(revocation(7, "jti-1"), consumer);
+
+        assertTrue(denylist.isRevoked("jti-1"));
+        assertEquals(7, meterRegistry.get("security.revocations.lag").gauge().value());
+        assertFalse(denylist.isFresh(Duration.ofMillis(10)));
+
+        when(consumer.currentLag(PARTITION)).thenReturn(OptionalLong.of(0));
+        listener.handleRevocation(revocation(9, "jti-2"), consumer);
+
+        assertTrue(denylist.isFresh(Duration.ofMillis(10)));
+    }
+
+    private static ListenerContainerIdleEvent idle(List<TopicPartition> partitions) {
+        return new ListenerContainerIdleEvent(new Object(), new Object(), 5000, "token-revocations-0", partitions,
+                mock(Consumer.class), false);
+    }
+
+    private static ConsumerRecord<String, String> revocation(long offset, String jwtId) {
+        String message = "{\"type\":\"token.revoked\",\"payload\":{\"jwtId\":\"" + jwtId + "\",\"expiresAt\":\""
+                + Instant.now().plusSeconds(600) + "\"}}";
+        return new ConsumerRecord<>(PARTITION.topic(), PARTITION.partition(), offset, null, message);
+    }
+}
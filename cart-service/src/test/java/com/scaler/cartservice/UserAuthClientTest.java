@@ -0,0 +1,71 @@
+package com.scaler.cartservice;
+
+import com.scaler.cartservice.client.TokenValidationResponse;
+import com.scaler.cartservice.client.UserAuthClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Instant;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserAuthClientTest {
+    private RestTemplate restTemplate;
+    private UserAuthClient client;
+
+    @BeforeEach
+    void setUp() {
+        restTemplate = mock(RestTemplate.class);
+        client = new UserAuthClient(restTemplate, new RetryTemplate(), "http://user-service", "", 100, 300);
+    }
+
+    @Test
+    void validTokensAreCached() {
+        when(restTemplate.postForEntity(anyString(), any(HttpEntity.class), eq(TokenValidationResponse.class)))
+                .thenReturn(ResponseEntity.ok(valid()));
+
+        assertEquals(1L, client.validate("token").getUserId());
+        assertEquals(1L, client.validate("token").getUserId());
+
+        verify(restTemplate, times(1)).postForEntity(anyString(), any(HttpEntity.class),
+                eq(TokenValidationResponse.class));
+    }
+
+    @Test
+    void aValidationInFlightDuringAnEvictionIsNotCached() {
+        when(restTemplate.postForEntity(anyString(), any(HttpEntity.class), eq(TokenValidationResponse.class)))
+                .thenAnswer(invocation -> {
+                    client.evictUser(1L);
+                    return ResponseEntity.ok(valid());
+                });
+
+        client.validate("token");
+        client.validate("token");
+
+        verify(restTemplate, times(2)).postForEntity(anyString(), any(HttpEntity.class),
+                eq(TokenValidationResponse.class));
+    }
+
+    private static TokenValidationResponse valid() {
+        TokenValidationResponse response = new TokenValidationResponse();
+        response.setValid(true);
+        response.setUserId(1L);
+        response.setEmail("user@example.com");
+        response.setRoles(Set.of("CUSTOMER"));
+        response.setJwtId("jti-1");
+        response.setExpiresAt(Instant.now().plusSeconds(600));
+        return response;
+    }
+}
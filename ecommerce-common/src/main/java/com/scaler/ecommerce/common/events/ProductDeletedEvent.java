@@ -0,0 +1,14 @@
+package com.scaler.ecommerce.common.events;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ProductDeletedEvent {
+    public static final int SCHEMA_VERSION = 1;
+
+    private int schemaVersion = SCHEMA_VERSION;
+    private Long productId;
+    private long version;
+}
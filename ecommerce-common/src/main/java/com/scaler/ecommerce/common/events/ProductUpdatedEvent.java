@@ -0,0 +1,27 @@
+package com.scaler.ecommerce.common.events;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * Current state of a created or changed product. {@code version} increases with every change of the product,
+ * so consumers can drop events older than what they already hold.
+ */
+@Getter
+@Setter
+public class ProductUpdatedEvent {
+    public static final int SCHEMA_VERSION = 1;
+
+    private int schemaVersion = SCHEMA_VERSION;
+    private Long productId;
+    private long version;
+    private String sku;
+    private String name;
+    private BigDecimal price;
+    private String currency;
+    private String status;
+    private Long categoryId;
+    private Integer stockQuantity;
+}
@@ -0,0 +1,20 @@
+package com.scaler.ecommerce.common.events;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Access tokens that stopped being valid before their expiry: logout, refresh, password reset. Services that
+ * cache token validations drop these jwtIds.
+ */
+@Getter
+@Setter
+public class SessionRevokedEvent {
+    public static final int SCHEMA_VERSION = 1;
+
+    private int schemaVersion = SCHEMA_VERSION;
+    private Long userId;
+    private List<String> jwtIds;
+}
@@ -0,0 +1,19 @@
+package com.scaler.ecommerce.common.events;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Stock available for a product after a change. Carries the absolute quantity rather than a delta, so
+ * applying an event twice is harmless.
+ */
+@Getter
+@Setter
+public class StockChangedEvent {
+    public static final int SCHEMA_VERSION = 1;
+
+    private int schemaVersion = SCHEMA_VERSION;
+    private Long productId;
+    private long version;
+    private int stockQuantity;
+}
@@ -0,0 +1,21 @@
+package com.scaler.ecommerce.common.events;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Entry of the token revocation denylist. {@code expiresAt} is when the revoked access token would have
+ * expired anyway; after that the entry can be dropped.
+ */
+@Getter
+@Setter
+public class TokenRevokedEvent {
+    public static final int SCHEMA_VERSION = 1;
+
+    private int schemaVersion = SCHEMA_VERSION;
+    private String jwtId;
+    private Long userId;
+    private Instant expiresAt;
+}
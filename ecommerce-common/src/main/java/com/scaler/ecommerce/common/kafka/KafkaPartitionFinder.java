@@ -0,0 +1,25 @@
+package com.scaler.ecommerce.common.kafka;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.springframework.kafka.core.ConsumerFactory;
+
+/**
+ * Lists a topic's partitions for listeners that assign themselves every partition instead of joining a
+ * consumer group. Services register it as the {@code kafkaPartitionFinder} bean, which the listeners'
+ * annotations reference.
+ */
+public class KafkaPartitionFinder {
+    private final ConsumerFactory<?, ?> consumerFactory;
+
+    public KafkaPartitionFinder(ConsumerFactory<?, ?> consumerFactory) {
+        this.consumerFactory = consumerFactory;
+    }
+
+    public String[] partitions(String topic) {
+        try (Consumer<?, ?> consumer = consumerFactory.createConsumer()) {
+            return consumer.partitionsFor(topic).stream()
+                    .map(partition -> String.valueOf(partition.partition()))
+                    .toArray(String[]::new);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.scaler.ecommerce.common.kafka;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks how far a listener replaying its partitions from the beginning is behind their end. The replay is
+ * caught up once every partition it has read reached the end, or the listener went idle with partitions
+ * assigned.
+ */
+public class ReplayProgress {
+    private final Map<Integer, Long> lags = new ConcurrentHashMap<>();
+
+    // The consumer's position is past the whole fetched batch, so records of the batch not yet handled are
+    // added back to its lag.
+    public void record(ConsumerRecord<?, ?> record, Consumer<?, ?> consumer) {
+        TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+        consumer.currentLag(partition).ifPresent(lag ->
+                lags.put(record.partition(), lag + consumer.position(partition) - record.offset() - 1));
+    }
+
+    /**
+     * Marks the partitions of an idle listener as caught up; returns false if none were assigned.
+     */
+    public boolean idle(Collection<TopicPartition> partitions) {
+        if (partitions == null || partitions.isEmpty()) {
+            return false;
+        }
+        partitions.forEach(partition -> lags.put(partition.partition(), 0L));
+        return true;
+    }
+
+    public boolean isCaughtUp() {
+        return !lags.isEmpty() && totalLag() == 0;
+    }
+
+    public long totalLag() {
+        return lags.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
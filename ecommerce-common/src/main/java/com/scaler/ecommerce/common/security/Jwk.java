@@ -0,0 +1,26 @@
+package com.scaler.ecommerce.common.security;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Public key in JWK form (RFC 7517). RSA keys use {@code n} and {@code e}, EC keys {@code crv}, {@code x} and
+ * {@code y}; all values are Base64url encoded.
+ */
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class Jwk {
+    private String kty;
+    private String kid;
+    private String use;
+    private String alg;
+    private String n;
+    private String e;
+    private String crv;
+    private String x;
+    private String y;
+}
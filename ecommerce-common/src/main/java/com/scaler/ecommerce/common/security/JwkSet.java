@@ -0,0 +1,15 @@
+package com.scaler.ecommerce.common.security;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class JwkSet {
+    private List<Jwk> keys = new ArrayList<>();
+}
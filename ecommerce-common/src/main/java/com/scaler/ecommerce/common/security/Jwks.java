@@ -0,0 +1,87 @@
+package com.scaler.ecommerce.common.security;
+
+import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Converts public keys to and from JWKs. Supports RSA keys and EC keys on P-256, i.e. RS256 and ES256.
+ */
+public class Jwks {
+    private static final String P_256 = "P-256";
+    private static final int P_256_COORDINATE_BYTES = 32;
+
+    private Jwks() {
+    }
+
+    public static Jwk toJwk(String kid, String algorithm, PublicKey publicKey) {
+        Jwk jwk = new Jwk();
+        jwk.setKid(kid);
+        jwk.setUse("sig");
+        jwk.setAlg(algorithm);
+        if (publicKey instanceof RSAPublicKey rsa) {
+            jwk.setKty("RSA");
+            jwk.setN(encode(unsigned(rsa.getModulus())));
+            jwk.setE(encode(unsigned(rsa.getPublicExponent())));
+        } else if (publicKey instanceof ECPublicKey ec) {
+            jwk.setKty("EC");
+            jwk.setCrv(P_256);
+            jwk.setX(encode(coordinate(ec.getW().getAffineX())));
+            jwk.setY(encode(coordinate(ec.getW().getAffineY())));
+        } else {
+            throw new IllegalArgumentException("Unsupported key type " + publicKey.getAlgorithm());
+        }
+        return jwk;
+    }
+
+    public static PublicKey toPublicKey(Jwk jwk) {
+        try {
+            if ("RSA".equals(jwk.getKty())) {
+                return KeyFactory.getInstance("RSA").generatePublic(
+                        new RSAPublicKeySpec(decode(jwk.getN()), decode(jwk.getE())));
+            }
+            if ("EC".equals(jwk.getKty()) && P_256.equals(jwk.getCrv())) {
+                AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+                parameters.init(new ECGenParameterSpec("secp256r1"));
+                ECPoint point = new ECPoint(decode(jwk.getX()), decode(jwk.getY()));
+                return KeyFactory.getInstance("EC").generatePublic(
+                        new ECPublicKeySpec(point, parameters.getParameterSpec(ECParameterSpec.class)));
+            }
+        } catch (GeneralSecurityException | IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Invalid JWK " + jwk.getKid(), e);
+        }
+        throw new IllegalArgumentException("Unsupported JWK type " + jwk.getKty());
+    }
+
+    private static byte[] unsigned(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        return bytes.length > 1 && bytes[0] == 0 ? Arrays.copyOfRange(bytes, 1, bytes.length) : bytes;
+    }
+
+    // EC coordinates are fixed width, left padded with zeros.
+    private static byte[] coordinate(BigInteger value) {
+        byte[] bytes = unsigned(value);
+        byte[] padded = new byte[P_256_COORDINATE_BYTES];
+        System.arraycopy(bytes, 0, padded, P_256_COORDINATE_BYTES - bytes.length, bytes.length);
+        return padded;
+    }
+
+    private static String encode(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static BigInteger decode(String value) {
+        return new BigInteger(1, Base64.getUrlDecoder().decode(value));
+    }
+}
@@ -0,0 +1,110 @@
+package com.scaler.ecommerce.common.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.Key;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resolves token signing keys from a JWKS endpoint. Keys are cached and the set is fetched again when a token
+ * names an unknown key id, e.g. right after a rotation, or when the cached set is older than {@code maxAge}.
+ * Fetches are at least {@code minRefreshInterval} apart, so tokens with made-up key ids cannot flood the
+ * endpoint; if a fetch fails the cached keys stay in use.
+ */
+public class JwksKeyResolver extends SigningKeyResolverAdapter {
+    private static final System.Logger log = System.getLogger(JwksKeyResolver.class.getName());
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final URI jwksUri;
+    private final Duration minRefreshInterval;
+    private final Duration maxAge;
+    private volatile Map<String, SigningKey> keys = Map.of();
+    private volatile Instant fetchedAt = Instant.EPOCH;
+
+    public JwksKeyResolver(URI jwksUri, Duration minRefreshInterval, Duration maxAge) {
+        this.httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        this.jwksUri = jwksUri;
+        this.minRefreshInterval = minRefreshInterval;
+        this.maxAge = maxAge;
+    }
+
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        String kid = header.getKeyId();
+        if (kid == null) {
+            throw new UnsupportedJwtException("Token has no key id");
+        }
+        if (fetchedAt.plus(maxAge).isBefore(Instant.now())) {
+            refresh();
+        }
+        SigningKey key = keys.get(kid);
+        if (key == null) {
+            refresh();
+            key = keys.get(kid);
+        }
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown signing key " + kid);
+        }
+        if (!key.algorithm.equals(header.getAlgorithm())) {
+            throw new UnsupportedJwtException("Algorithm does not match signing key " + kid);
+        }
+        return key.publicKey;
+    }
+
+    private synchronized void refresh() {
+        Instant now = Instant.now();
+        if (fetchedAt.plus(minRefreshInterval).isAfter(now)) {
+            return;
+        }
+        fetchedAt = now;
+        try {
+            HttpResponse<String> response = httpClient.send(
+                    HttpRequest.newBuilder(jwksUri).timeout(Duration.ofSeconds(2)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                log.log(System.Logger.Level.WARNING, "JWKS fetch from {0} returned {1}", jwksUri, response.statusCode());
+                return;
+            }
+            Map<String, SigningKey> fetched = new HashMap<>();
+            for (Jwk jwk : objectMapper.readValue(response.body(), JwkSet.class).getKeys()) {
+                if (jwk.getKid() == null || jwk.getAlg() == null) {
+                    continue;
+                }
+                try {
+                    fetched.put(jwk.getKid(), new SigningKey(jwk.getAlg(), Jwks.toPublicKey(jwk)));
+                } catch (IllegalArgumentException e) {
+                    log.log(System.Logger.Level.WARNING, "Skipping JWK " + jwk.getKid(), e);
+                }
+            }
+            keys = Map.copyOf(fetched);
+        } catch (IOException | RuntimeException e) {
+            log.log(System.Logger.Level.WARNING, "JWKS fetch from " + jwksUri + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class SigningKey {
+        private final String algorithm;
+        private final PublicKey publicKey;
+
+        private SigningKey(String algorithm, PublicKey publicKey) {
+            this.algorithm = algorithm;
+            this.publicKey = publicKey;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.scaler.ecommerce.common.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolver;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Verifies access tokens issued by user-service without calling it: checks the signature and expiry and reads
+ * the user from the claims. Signing keys come from {@code keyResolver}, normally a {@link JwksKeyResolver}.
+ * Revocation is not checked here; callers check the token's jwtId separately.
+ */
+public class JwtVerifier {
+    private final JwtParser parser;
+
+    public JwtVerifier(SigningKeyResolver keyResolver, Duration allowedClockSkew) {
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(keyResolver)
+                .setAllowedClockSkewSeconds(allowedClockSkew.toSeconds())
+                .build();
+    }
+
+    /**
+     * Returns the verified token, or null if the token is malformed, badly signed or expired.
+     */
+    public VerifiedToken verify(String token) {
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+
+        Object userId = claims.get("userId");
+        if (claims.getId() == null || claims.getSubject() == null || claims.getExpiration() == null
+                || !(userId instanceof Number)) {
+            return null;
+        }
+
+        AuthenticatedUser user = new AuthenticatedUser();
+        user.setUserId(((Number) userId).longValue());
+        user.setEmail(claims.getSubject());
+        user.setRoles(roles(claims.get("roles")));
+
+        VerifiedToken verified = new VerifiedToken();
+        verified.setJwtId(claims.getId());
+        verified.setExpiresAt(claims.getExpiration().toInstant());
+        verified.setUser(user);
+        return verified;
+    }
+
+    private static Set<String> roles(Object claim) {
+        if (!(claim instanceof Collection<?> values)) {
+            return Set.of();
+        }
+        return values.stream().map(String::valueOf).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,95 @@
+package com.scaler.ecommerce.common.security;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked jwtIds, replicated from user-service. A Bloom filter answers the common case, a token that was not
+ * revoked, without touching the exact set; only filter hits are confirmed against the set. Entries expire when
+ * their tokens do. Expired entries are dropped and the filter rebuilt, at most once per purge interval and only
+ * while entries keep arriving; until then an expired entry just fails the expiry check.
+ */
+public class RevocationDenylist {
+    private static final Duration PURGE_INTERVAL = Duration.ofMinutes(1);
+
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private final int minimumCapacity;
+    private final double falsePositiveRate;
+    private volatile BloomFilter filter;
+    private volatile Instant caughtUpAt;
+    private int filterCapacity;
+    private Instant nextPurgeAt = Instant.now().plus(PURGE_INTERVAL);
+
+    public RevocationDenylist(int minimumCapacity, double falsePositiveRate) {
+        this.minimumCapacity = minimumCapacity;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filterCapacity = minimumCapacity;
+        this.filter = new BloomFilter(minimumCapacity, falsePositiveRate);
+    }
+
+    public boolean isRevoked(String jwtId) {
+        if (!filter.mightContain(jwtId)) {
+            return false;
+        }
+        Instant expiresAt = revoked.get(jwtId);
+        return expiresAt != null && expiresAt.isAfter(Instant.now());
+    }
+
+    public synchronized void add(String jwtId, Instant expiresAt) {
+        Instant now = Instant.now();
+        if (!expiresAt.isAfter(now)) {
+            return;
+        }
+        revoked.merge(jwtId, expiresAt, (current, added) -> current.isAfter(added) ? current : added);
+        filter.add(jwtId);
+        if (now.isAfter(nextPurgeAt) || revoked.size() > filterCapacity) {
+            purge(now);
+        }
+    }
+
+    /**
+     * Whether the denylist has caught up with every revocation published before this instance started.
+     */
+    public boolean isReady() {
+        return caughtUpAt != null;
+    }
+
+    /**
+     * Whether the denylist was last known to hold every published revocation no longer than {@code maxStaleness}
+     * ago. A stalled or unassigned consumer stops reporting, so the denylist turns stale instead of silently
+     * missing revocations.
+     */
+    public boolean isFresh(Duration maxStaleness) {
+        Instant at = caughtUpAt;
+        return at != null && at.isAfter(Instant.now().minus(maxStaleness));
+    }
+
+    /**
+     * Time since the denylist last caught up, or null if it never has.
+     */
+    public Duration staleness() {
+        Instant at = caughtUpAt;
+        return at != null ? Duration.between(at, Instant.now()) : null;
+    }
+
+    public void markCaughtUp() {
+        caughtUpAt = Instant.now();
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    // Entries cannot be removed from a Bloom filter, so it is rebuilt from the remaining entries.
+    private void purge(Instant now) {
+        revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        int capacity = Math.max(minimumCapacity, revoked.size() * 2);
+        BloomFilter rebuilt = new BloomFilter(capacity, falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::add);
+        filter = rebuilt;
+        filterCapacity = capacity;
+        nextPurgeAt = now.plus(PURGE_INTERVAL);
+    }
+}
@@ -0,0 +1,91 @@
+package com.scaler.ecommerce.common.security;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scaler.ecommerce.common.events.TokenRevokedEvent;
+import com.scaler.ecommerce.common.kafka.ReplayProgress;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.PartitionOffset;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.kafka.event.ListenerContainerIdleEvent;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads the token revocation denylist. Every instance assigns itself all partitions and replays them from the
+ * beginning, which yields the live revocations, and then follows new ones. The denylist is caught up whenever
+ * the listener goes idle with its partitions assigned or has applied the last record of every partition; a
+ * consumer that stops doing either leaves the denylist stale.
+ */
+public class TokenRevocationListener {
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationListener.class);
+    private static final String LISTENER_ID = "token-revocations";
+    private final ObjectMapper objectMapper;
+    private final RevocationDenylist revocationDenylist;
+    private final ReplayProgress progress = new ReplayProgress();
+
+    public TokenRevocationListener(ObjectMapper objectMapper, RevocationDenylist revocationDenylist,
+                                   MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.revocationDenylist = revocationDenylist;
+        Gauge.builder("security.revocations.lag", progress, ReplayProgress::totalLag)
+                .description("Revocation records published but not yet applied to the denylist")
+                .register(meterRegistry);
+        TimeGauge.builder("security.revocations.staleness", revocationDenylist, TimeUnit.MILLISECONDS,
+                        TokenRevocationListener::stalenessMillis)
+                .description("Time since the denylist last held every published revocation")
+                .register(meterRegistry);
+        Gauge.builder("security.revocations.size", revocationDenylist, RevocationDenylist::size)
+                .register(meterRegistry);
+    }
+
+    @KafkaListener(id = LISTENER_ID, groupId = "${security.revocations.group-id}",
+            properties = "auto.offset.reset=earliest",
+            topicPartitions = @TopicPartition(topic = "${kafka.topics.token-revocations}",
+                    partitions = "#{@kafkaPartitionFinder.partitions('${kafka.topics.token-revocations}')}",
+                    partitionOffsets = @PartitionOffset(partition = "*", initialOffset = "0")))
+    public void handleRevocation(ConsumerRecord<String, String> record, Consumer<?, ?> consumer) {
+        try {
+            JsonNode root = objectMapper.readTree(record.value());
+            if ("token.revoked".equals(root.path("type").asText())) {
+                TokenRevokedEvent event = objectMapper.readerFor(TokenRevokedEvent.class)
+                        .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                        .readValue(root.path("payload"));
+                revocationDenylist.add(event.getJwtId(), event.getExpiresAt());
+            }
+        } catch (Exception e) {
+            log.warn("Failed to handle token revocation", e);
+        }
+        progress.record(record, consumer);
+        if (revocationDenylist.isReady() && progress.isCaughtUp()) {
+            revocationDenylist.markCaughtUp();
+        }
+    }
+
+    @EventListener
+    public void onIdle(ListenerContainerIdleEvent event) {
+        if (!event.getListenerId().startsWith(LISTENER_ID) || !progress.idle(event.getTopicPartitions())) {
+            return;
+        }
+        boolean loaded = revocationDenylist.isReady();
+        revocationDenylist.markCaughtUp();
+        if (!loaded) {
+            log.info("Token revocation denylist loaded with {} entries", revocationDenylist.size());
+        }
+    }
+
+    private static double stalenessMillis(RevocationDenylist denylist) {
+        Duration staleness = denylist.staleness();
+        return staleness != null ? staleness.toMillis() : Double.NaN;
+    }
+}
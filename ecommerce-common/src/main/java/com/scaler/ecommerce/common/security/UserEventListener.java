@@ -0,0 +1,61 @@
+package com.scaler.ecommerce.common.security;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scaler.ecommerce.common.events.SessionRevokedEvent;
+import com.scaler.ecommerce.common.events.UserDisabledEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.PartitionOffset;
+import org.springframework.kafka.annotation.TopicPartition;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Drops a service's cached authentication state when user-service revokes a session or disables a user.
+ * Every instance has its own cache, so each one assigns itself all partitions. The cache starts empty, so
+ * older events have nothing to drop and the listener starts at the end of each partition.
+ */
+public class UserEventListener {
+    private static final Logger log = LoggerFactory.getLogger(UserEventListener.class);
+    private final ObjectMapper objectMapper;
+    private final Consumer<Collection<String>> sessionsRevoked;
+    private final Consumer<Long> userDisabled;
+
+    public UserEventListener(ObjectMapper objectMapper, Consumer<Collection<String>> sessionsRevoked,
+                             Consumer<Long> userDisabled) {
+        this.objectMapper = objectMapper;
+        this.sessionsRevoked = sessionsRevoked;
+        this.userDisabled = userDisabled;
+    }
+
+    @KafkaListener(groupId = "${security.user-events.group-id}",
+            topicPartitions = @TopicPartition(topic = "${kafka.topics.user-events}",
+                    partitions = "#{@kafkaPartitionFinder.partitions('${kafka.topics.user-events}')}",
+                    partitionOffsets = @PartitionOffset(partition = "*", initialOffset = "0", seekPosition = "END")))
+    public void handleUserEvent(String message) {
+        try {
+            JsonNode root = objectMapper.readTree(message);
+            String type = root.path("type").asText();
+            JsonNode payload = root.path("payload");
+
+            if ("session.revoked".equals(type)) {
+                sessionsRevoked.accept(read(payload, SessionRevokedEvent.class).getJwtIds());
+            } else if ("user.disabled".equals(type)) {
+                userDisabled.accept(read(payload, UserDisabledEvent.class).getUserId());
+            }
+        } catch (Exception e) {
+            log.warn("Failed to handle user event", e);
+        }
+    }
+
+    private <T> T read(JsonNode payload, Class<T> type) throws IOException {
+        return objectMapper.readerFor(type)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .readValue(payload);
+    }
+}
@@ -0,0 +1,80 @@
+package com.scaler.ecommerce.common.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of validated tokens. An entry lives until the token expires or {@code maximumTtl} passes,
+ * whichever comes first, and is dropped early when its session is revoked or its user disabled.
+ */
+public class ValidatedTokenCache {
+    private final Cache<String, VerifiedToken> cache;
+    private final AtomicLong evictions = new AtomicLong();
+
+    public ValidatedTokenCache(long maximumSize, Duration maximumTtl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        Duration untilExpiry = Duration.between(Instant.now(), token.getExpiresAt());
+                        return Math.max(0, Math.min(untilExpiry.toNanos(), maximumTtl.toNanos()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(key, token, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    public VerifiedToken get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Read before starting a validation and pass to {@link #put}, so a result that was in flight while a
+     * session or user was evicted is not cached.
+     */
+    public long generation() {
+        return evictions.get();
+    }
+
+    public void put(String key, VerifiedToken token, long generation) {
+        if (token.getJwtId() == null || token.getExpiresAt() == null || evictions.get() != generation) {
+            return;
+        }
+        cache.put(key, token);
+        // An eviction that started before the put may have scanned past the new entry.
+        if (evictions.get() != generation) {
+            cache.asMap().remove(key, token);
+        }
+    }
+
+    // Revocations are rare, so a scan of the bounded cache is cheaper than keeping reverse indexes.
+    public void evictSessions(Collection<String> jwtIds) {
+        Set<String> revoked = Set.copyOf(jwtIds);
+        evictions.incrementAndGet();
+        cache.asMap().values().removeIf(token -> revoked.contains(token.getJwtId()));
+    }
+
+    public void evictUser(Long userId) {
+        evictions.incrementAndGet();
+        cache.asMap().values().removeIf(token -> userId.equals(token.getUser().getUserId()));
+    }
+}
@@ -0,0 +1,14 @@
+package com.scaler.ecommerce.common.security;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+public class VerifiedToken {
+    private String jwtId;
+    private Instant expiresAt;
+    private AuthenticatedUser user;
+}
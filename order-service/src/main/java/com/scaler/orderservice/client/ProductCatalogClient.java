@@ -1,26 +1,139 @@
 package com.scaler.orderservice.client;
 
+import com.scaler.orderservice.exception.ProductUnavailableException;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.retry.support.RetryTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 @Component
 public class ProductCatalogClient {
+    private static final int MAX_IDS_PER_REQUEST = 100;
+
     private final RestTemplate restTemplate;
     private final RetryTemplate retryTemplate;
     private final String productServiceBaseUrl;
+    private final String internalSecret;
 
     public ProductCatalogClient(RestTemplate restTemplate,
                                 RetryTemplate retryTemplate,
-                                @Value("${clients.product-service.base-url}") String productServiceBaseUrl) {
+                                @Value("${clients.product-service.base-url}") String productServiceBaseUrl,
+                                @Value("${security.internal.secret:}") String internalSecret) {
         this.restTemplate = restTemplate;
         this.retryTemplate = retryTemplate;
         this.productServiceBaseUrl = productServiceBaseUrl;
+        this.internalSecret = internalSecret;
     }
 
     public ProductSnapshot getProduct(Long productId) {
         return retryTemplate.execute(context ->
-                restTemplate.getForObject(productServiceBaseUrl + "/api/v1/products/" + productId, ProductSnapshot.class));
+                restTemplate.exchange(productServiceBaseUrl + "/api/v1/products/" + productId, HttpMethod.GET,
+                        new HttpEntity<>(internalHeaders()), ProductSnapshot.class).getBody());
+    }
+
+    public List<ProductSnapshot> getProducts(List<Long> productIds) {
+        List<ProductSnapshot> products = new ArrayList<>();
+        for (int from = 0; from < productIds.size(); from += MAX_IDS_PER_REQUEST) {
+            String ids = productIds.subList(from, Math.min(from + MAX_IDS_PER_REQUEST, productIds.size())).stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(","));
+            ProductSnapshot[] batch = retryTemplate.execute(context ->
+                    restTemplate.getForObject(productServiceBaseUrl + "/api/v1/products?ids=" + ids, ProductSnapshot[].class));
+            if (batch != null) {
+                products.addAll(Arrays.asList(batch));
+            }
+        }
+        return products;
+    }
+
+    /**
+     * Holds {@code quantities} for all products at once under {@code reference}, or none of them. Retrying
+     * with the same reference is safe: the catalog returns the existing reservation.
+     */
+    public void reserveStock(String reference, Map<Long, Integer> quantities) {
+        StockReservationRequest request = new StockReservationRequest();
+        request.setReference(reference);
+        request.setItems(quantities.entrySet().stream().map(entry -> {
+            StockReservationItem item = new StockReservationItem();
+            item.setProductId(entry.getKey());
+            item.setQuantity(entry.getValue());
+            return item;
+        }).collect(Collectors.toList()));
+
+        boolean reserved = retryTemplate.execute(context -> {
+            try {
+                restTemplate.postForEntity(productServiceBaseUrl + "/api/v1/inventory/reservations",
+                        new HttpEntity<>(request, internalHeaders()), Void.class);
+                return true;
+            } catch (HttpClientErrorException.Conflict ex) {
+                return false;
+            }
+        });
+        if (!reserved) {
+            throw new ProductUnavailableException("Insufficient stock");
+        }
+    }
+
+    /**
+     * Turns the reservation into a sale. A reservation that expired or was released in the meantime has
+     * returned its stock, so this throws {@link ProductUnavailableException}.
+     */
+    public void commitReservation(String reference) {
+        boolean committed = retryTemplate.execute(context -> {
+            try {
+                restTemplate.postForEntity(
+                        productServiceBaseUrl + "/api/v1/inventory/reservations/" + reference + "/commit",
+                        new HttpEntity<>(internalHeaders()), Void.class);
+                return true;
+            } catch (HttpClientErrorException.Conflict | HttpClientErrorException.NotFound ex) {
+                return false;
+            }
+        });
+        if (!committed) {
+            throw new ProductUnavailableException("Reserved stock is no longer available");
+        }
+    }
+
+    /**
+     * Keeps the reservation of a pending order held for another full TTL.
+     */
+    public void extendReservation(String reference) {
+        retryTemplate.execute(context -> restTemplate.postForEntity(
+                productServiceBaseUrl + "/api/v1/inventory/reservations/" + reference + "/extend",
+                new HttpEntity<>(internalHeaders()), Void.class));
+    }
+
+    /**
+     * Returns held stock. A reservation that no longer exists or was already released counts as released.
+     */
+    public void releaseReservation(String reference) {
+        retryTemplate.execute(context -> {
+            try {
+                restTemplate.postForEntity(
+                        productServiceBaseUrl + "/api/v1/inventory/reservations/" + reference + "/release",
+                        new HttpEntity<>(internalHeaders()), Void.class);
+            } catch (HttpClientErrorException.NotFound ex) {
+                // Never reserved or already cleaned up; nothing to return.
+            }
+            return null;
+        });
+    }
+
+    private HttpHeaders internalHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        if (internalSecret != null && !internalSecret.isBlank()) {
+            headers.set("X-Internal-Secret", internalSecret);
+        }
+        return headers;
     }
-}
\ No newline at end of file
+}
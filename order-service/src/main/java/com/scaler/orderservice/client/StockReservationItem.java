@@ -0,0 +1,11 @@
+package com.scaler.orderservice.client;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class StockReservationItem {
+    private Long productId;
+    private Integer quantity;
+}
@@ -0,0 +1,13 @@
+package com.scaler.orderservice.client;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class StockReservationRequest {
+    private String reference;
+    private List<StockReservationItem> items;
+}
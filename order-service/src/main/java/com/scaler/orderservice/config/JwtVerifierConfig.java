@@ -0,0 +1,33 @@
+package com.scaler.orderservice.config;
+
+import com.scaler.ecommerce.common.security.JwksKeyResolver;
+import com.scaler.ecommerce.common.security.JwtVerifier;
+import com.scaler.ecommerce.common.security.RevocationDenylist;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.URI;
+import java.time.Duration;
+
+@Configuration
+public class JwtVerifierConfig {
+    @Bean
+    @ConditionalOnProperty(name = "security.auth.mode", havingValue = "local")
+    public JwtVerifier jwtVerifier(@Value("${security.auth.jwks-url}") String jwksUrl,
+                                   @Value("${security.auth.jwks-min-refresh-seconds}") long minRefreshSeconds,
+                                   @Value("${security.auth.jwks-max-age-seconds}") long maxAgeSeconds,
+                                   @Value("${security.auth.clock-skew-seconds}") long clockSkewSeconds) {
+        JwksKeyResolver keyResolver = new JwksKeyResolver(URI.create(jwksUrl),
+                Duration.ofSeconds(minRefreshSeconds), Duration.ofSeconds(maxAgeSeconds));
+        return new JwtVerifier(keyResolver, Duration.ofSeconds(clockSkewSeconds));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "security.auth.mode", havingValue = "local")
+    public RevocationDenylist revocationDenylist(@Value("${security.revocations.expected-entries}") int expectedEntries,
+                                                 @Value("${security.revocations.false-positive-rate}") double falsePositiveRate) {
+        return new RevocationDenylist(expectedEntries, falsePositiveRate);
+    }
+}
@@ -1,12 +1,16 @@
 package com.scaler.orderservice.filter;
 
 import com.scaler.ecommerce.common.security.AuthenticatedUser;
+import com.scaler.ecommerce.common.security.JwtVerifier;
 import com.scaler.ecommerce.common.security.RequestContext;
+import com.scaler.ecommerce.common.security.RevocationDenylist;
+import com.scaler.ecommerce.common.security.VerifiedToken;
 import com.scaler.orderservice.client.UserAuthClient;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -16,14 +20,25 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Component
 public class AuthFilter extends OncePerRequestFilter {
     private final UserAuthClient userAuthClient;
+    private final JwtVerifier jwtVerifier;
+    private final RevocationDenylist revocationDenylist;
+    private final Duration revocationsMaxStaleness;
 
-    public AuthFilter(UserAuthClient userAuthClient) {
+    public AuthFilter(UserAuthClient userAuthClient,
+                      Optional<JwtVerifier> jwtVerifier,
+                      Optional<RevocationDenylist> revocationDenylist,
+                      @Value("${security.revocations.max-staleness-seconds}") long revocationsMaxStalenessSeconds) {
         this.userAuthClient = userAuthClient;
+        this.jwtVerifier = jwtVerifier.orElse(null);
+        this.revocationDenylist = revocationDenylist.orElse(null);
+        this.revocationsMaxStaleness = Duration.ofSeconds(revocationsMaxStalenessSeconds);
     }
 
     @Override
@@ -42,7 +57,7 @@ public class AuthFilter extends OncePerRequestFilter {
         }
 
         String token = header.substring("Bearer ".length());
-        AuthenticatedUser user = userAuthClient.validate(token);
+        AuthenticatedUser user = authenticate(token);
         if (user == null) {
             response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid token");
             return;
@@ -61,6 +76,29 @@ public class AuthFilter extends OncePerRequestFilter {
         }
     }
 
+    /**
+     * In local mode the signature and expiry are checked here and revocation against the replicated denylist;
+     * otherwise user-service validates the whole token.
+     */
+    private AuthenticatedUser authenticate(String token) {
+        if (jwtVerifier == null) {
+            return userAuthClient.validate(token);
+        }
+        VerifiedToken verified = jwtVerifier.verify(token);
+        if (verified == null || isRevoked(verified)) {
+            return null;
+        }
+        return verified.getUser();
+    }
+
+    private boolean isRevoked(VerifiedToken token) {
+        if (revocationDenylist != null && revocationDenylist.isFresh(revocationsMaxStaleness)) {
+            return revocationDenylist.isRevoked(token.getJwtId());
+        }
+        // Until the denylist has caught up after startup, or while its consumer is stalled, ask user-service.
+        return !userAuthClient.isSessionActive(token);
+    }
+
     private boolean isPublicPath(HttpServletRequest request) {
         String path = request.getRequestURI();
         if (path == null) {
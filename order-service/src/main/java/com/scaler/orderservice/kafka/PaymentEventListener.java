@@ -21,22 +21,32 @@ public class PaymentEventListener {
         this.orderService = orderService;
     }
 
+    /**
+     * Unreadable messages are logged and skipped; failures while applying an event propagate so the
+     * container retries it, since a paid order must not be left without its stock committed.
+     */
     @KafkaListener(topics = "${kafka.topics.payment-events}", groupId = "order-service")
     public void handlePaymentEvent(String message) {
+        PaymentCompletedEvent completed = null;
+        PaymentFailedEvent failed = null;
         try {
             JsonNode root = objectMapper.readTree(message);
             String type = root.path("type").asText();
             JsonNode payload = root.path("payload");
-
             if ("payment.completed".equals(type)) {
-                PaymentCompletedEvent event = objectMapper.treeToValue(payload, PaymentCompletedEvent.class);
-                orderService.handlePaymentCompleted(event.getOrderId(), event.getUserId(), event.getReceiptNumber());
+                completed = objectMapper.treeToValue(payload, PaymentCompletedEvent.class);
             } else if ("payment.failed".equals(type)) {
-                PaymentFailedEvent event = objectMapper.treeToValue(payload, PaymentFailedEvent.class);
-                orderService.handlePaymentFailed(event.getOrderId(), event.getUserId(), event.getFailureReason());
+                failed = objectMapper.treeToValue(payload, PaymentFailedEvent.class);
             }
         } catch (Exception e) {
-            log.warn("Failed to handle payment event", e);
+            log.warn("Failed to read payment event", e);
+            return;
+        }
+
+        if (completed != null) {
+            orderService.handlePaymentCompleted(completed.getOrderId(), completed.getUserId(), completed.getReceiptNumber());
+        } else if (failed != null) {
+            orderService.handlePaymentFailed(failed.getOrderId(), failed.getUserId(), failed.getFailureReason());
         }
     }
 }
\ No newline at end of file
@@ -59,6 +59,9 @@ public class Order {
     @Embedded
     private DeliveryAddress deliveryAddress;
 
+    @Column(name = "inventory_reservation", length = 100)
+    private String inventoryReservation;
+
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<OrderItem> items = new ArrayList<>();
 
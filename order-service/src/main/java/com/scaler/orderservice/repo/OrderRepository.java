@@ -1,11 +1,14 @@
 package com.scaler.orderservice.repo;
 
 import com.scaler.orderservice.model.Order;
+import com.scaler.orderservice.model.enums.OrderStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
@@ -14,4 +17,7 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 
     @EntityGraph(attributePaths = "items")
     Optional<Order> findById(Long id);
+
+    List<Order> findByStatusAndInventoryReservationNotNullAndCreatedAtAfterAndIdGreaterThanOrderById(
+            OrderStatus status, Instant createdAfter, Long afterId, Pageable pageable);
 }
\ No newline at end of file
@@ -28,128 +28,85 @@ import com.scaler.orderservice.kafka.OrderEventPublisher;
 import com.scaler.orderservice.repo.IdempotencyKeyRepository;
 import com.scaler.orderservice.repo.OrderRepository;
 import com.scaler.orderservice.repo.OrderStatusHistoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class OrderServiceImpl implements OrderService {
+    private static final Logger log = LoggerFactory.getLogger(OrderServiceImpl.class);
+
     private final OrderRepository orderRepository;
     private final OrderStatusHistoryRepository orderStatusHistoryRepository;
     private final IdempotencyKeyRepository idempotencyKeyRepository;
     private final ProductCatalogClient productCatalogClient;
     private final OrderEventPublisher orderEventPublisher;
     private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
 
     public OrderServiceImpl(OrderRepository orderRepository,
                             OrderStatusHistoryRepository orderStatusHistoryRepository,
                             IdempotencyKeyRepository idempotencyKeyRepository,
                             ProductCatalogClient productCatalogClient,
                             OrderEventPublisher orderEventPublisher,
-                            ObjectMapper objectMapper) {
+                            ObjectMapper objectMapper,
+                            TransactionTemplate transactionTemplate) {
         this.orderRepository = orderRepository;
         this.orderStatusHistoryRepository = orderStatusHistoryRepository;
         this.idempotencyKeyRepository = idempotencyKeyRepository;
         this.productCatalogClient = productCatalogClient;
         this.orderEventPublisher = orderEventPublisher;
         this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
     }
 
+    /**
+     * Reserves stock over HTTP before any database transaction is opened, so a slow catalog never holds
+     * a connection or row locks here. The order is then written in one short transaction; if that fails
+     * the reservation is released right away instead of waiting for it to expire.
+     */
     @Override
-    @Transactional
     public Order createOrder(CreateOrderRequestDto request, Long userId, String idempotencyKey) {
         if (request.getItems() == null || request.getItems().isEmpty()) {
             throw new InvalidOrderException("Order must contain items");
         }
 
         String requestHash = hashRequest(request, userId);
-        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
-            IdempotencyKey existing = idempotencyKeyRepository.findByKey(idempotencyKey).orElse(null);
+        String key = idempotencyKey != null && !idempotencyKey.isBlank() ? idempotencyKey : null;
+        if (key != null) {
+            Order existing = transactionTemplate.execute(status -> findIdempotentOrder(key, requestHash));
             if (existing != null) {
-                if (!existing.getRequestHash().equals(requestHash)) {
-                    throw new IdempotencyConflictException("Idempotency key already used with different payload");
-                }
-                if (existing.getOrderId() != null) {
-                    return orderRepository.findById(existing.getOrderId())
-                            .orElseThrow(() -> new OrderNotFoundException("Order not found"));
-                }
-            } else {
-                IdempotencyKey record = new IdempotencyKey();
-                record.setKey(idempotencyKey);
-                record.setUserId(userId);
-                record.setRequestHash(requestHash);
-                record.setCreatedAt(Instant.now());
-                idempotencyKeyRepository.save(record);
+                return existing;
             }
         }
 
-        Order order = new Order();
-        order.setUserId(userId);
-        AuthenticatedUser currentUser = RequestContext.getCurrentUser();
-        if (currentUser != null) {
-            order.setCustomerEmail(currentUser.getEmail());
-        }
-        order.setStatus(OrderStatus.PENDING_PAYMENT);
-        order.setPaymentMethod(request.getPaymentMethod());
-        order.setDeliveryAddress(toDeliveryAddress(request));
-
-        List<OrderItem> items = new java.util.ArrayList<>();
-        String currency = null;
-        for (OrderItemRequestDto itemRequest : request.getItems()) {
-            ProductSnapshot product = productCatalogClient.getProduct(itemRequest.getProductId());
-            if (product == null || product.getId() == null) {
-                throw new ProductUnavailableException("Product not found");
-            }
-            if (!"ACTIVE".equalsIgnoreCase(product.getStatus())) {
-                throw new ProductUnavailableException("Product inactive");
-            }
-            if (product.getStockQuantity() != null && product.getStockQuantity() < itemRequest.getQuantity()) {
-                throw new ProductUnavailableException("Insufficient stock");
-            }
-
-            if (currency == null) {
-                currency = product.getCurrency();
-            } else if (product.getCurrency() != null && !currency.equalsIgnoreCase(product.getCurrency())) {
-                throw new InvalidOrderException("Mixed currency orders are not supported");
-            }
-
-            OrderItem item = buildOrderItem(order, itemRequest, product);
-            items.add(item);
-        }
-        order.getItems().addAll(items);
-
-        BigDecimal total = items.stream()
-                .map(OrderItem::getLineTotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        order.setTotalAmount(total);
-        order.setCurrency(currency != null ? currency : "USD");
-
-        Order saved = orderRepository.save(order);
-        if (saved.getTrackingNumber() == null) {
-            saved.setTrackingNumber("TRK-" + saved.getId() + "-" + UUID.randomUUID().toString().substring(0, 8));
-            saved = orderRepository.save(saved);
-        }
-
-        saveStatusHistory(saved, saved.getStatus(), "Order created");
-
-        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
-            IdempotencyKey record = idempotencyKeyRepository.findByKey(idempotencyKey).orElse(null);
-            if (record != null) {
-                record.setOrderId(saved.getId());
-                idempotencyKeyRepository.save(record);
+        Order order = buildOrder(request, userId);
+        String reference = reserveStock(request);
+        order.setInventoryReservation(reference);
+        try {
+            return transactionTemplate.execute(status -> saveOrder(order, userId, key, requestHash));
+        } catch (RuntimeException e) {
+            try {
+                productCatalogClient.releaseReservation(reference);
+            } catch (RuntimeException releaseFailure) {
+                log.warn("Failed to release inventory reservation {} after a failed order", reference, releaseFailure);
             }
+            throw e;
         }
-
-        publishOrderCreated(saved);
-        return saved;
     }
 
     @Override
@@ -184,6 +141,9 @@ public class OrderServiceImpl implements OrderService {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new OrderNotFoundException("Order not found"));
 
+        if (request.getStatus() == OrderStatus.CANCELLED && order.getStatus() == OrderStatus.PENDING_PAYMENT) {
+            releaseReservation(order);
+        }
         order.setStatus(request.getStatus());
         Order saved = orderRepository.save(order);
         saveStatusHistory(saved, request.getStatus(), request.getDescription());
@@ -199,16 +159,57 @@ public class OrderServiceImpl implements OrderService {
         return saved;
     }
 
+    /**
+     * Commits the reservation over HTTP outside any database transaction, as {@link #createOrder} reserves it;
+     * the order is then confirmed, or cancelled for a refund, in one short transaction. A redelivered event
+     * commits again, which the catalog treats as a no-op, and finds the order already confirmed.
+     */
     @Override
-    @Transactional
     public void handlePaymentCompleted(Long orderId, Long userId, String receiptNumber) {
+        Order order = transactionTemplate.execute(status -> findOrder(orderId, userId));
+        if (order.getStatus() == OrderStatus.CONFIRMED) {
+            return;
+        }
+        boolean committed = commitReservation(order);
+        transactionTemplate.executeWithoutResult(status -> {
+            Order current = findOrder(orderId, userId);
+            if (current.getStatus() == OrderStatus.CONFIRMED) {
+                return;
+            }
+            if (committed) {
+                confirmPaidOrder(current, receiptNumber);
+            } else {
+                cancelPaidOrder(current, receiptNumber);
+            }
+        });
+    }
+
+    private Order findOrder(Long orderId, Long userId) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new OrderNotFoundException("Order not found"));
 
         if (!order.getUserId().equals(userId)) {
             throw new AccessDeniedException("Order does not belong to user");
         }
+        return order;
+    }
 
+    /**
+     * Returns false when the reserved stock can no longer be sold to this order.
+     */
+    private boolean commitReservation(Order order) {
+        if (order.getInventoryReservation() == null) {
+            return true;
+        }
+        try {
+            productCatalogClient.commitReservation(order.getInventoryReservation());
+            return true;
+        } catch (ProductUnavailableException e) {
+            return false;
+        }
+    }
+
+    private void confirmPaidOrder(Order order, String receiptNumber) {
         order.setStatus(OrderStatus.CONFIRMED);
         Order saved = orderRepository.save(order);
         saveStatusHistory(saved, OrderStatus.CONFIRMED, "Payment confirmed: " + receiptNumber);
@@ -222,6 +223,27 @@ public class OrderServiceImpl implements OrderService {
         orderEventPublisher.publishStatusUpdated(getCorrelationId(), event);
     }
 
+    /**
+     * Compensates a payment that arrived after the order's reservation expired or was released: the order is
+     * cancelled and the customer notified, with the receipt recorded for the refund.
+     */
+    private void cancelPaidOrder(Order order, String receiptNumber) {
+        log.warn("Stock for paid order {} could not be committed; cancelling it for a refund of receipt {}",
+                order.getId(), receiptNumber);
+        order.setStatus(OrderStatus.CANCELLED);
+        Order saved = orderRepository.save(order);
+        saveStatusHistory(saved, OrderStatus.CANCELLED,
+                "Stock no longer available after payment; refund required for receipt " + receiptNumber);
+
+        OrderStatusUpdatedEvent event = new OrderStatusUpdatedEvent();
+        event.setOrderId(saved.getId());
+        event.setUserId(saved.getUserId());
+        event.setEmail(saved.getCustomerEmail());
+        event.setStatus(saved.getStatus().name());
+        event.setDescription("Order cancelled: items no longer available, payment will be refunded");
+        orderEventPublisher.publishStatusUpdated(getCorrelationId(), event);
+    }
+
     @Override
     @Transactional
     public void handlePaymentFailed(Long orderId, Long userId, String reason) {
@@ -232,6 +254,7 @@ public class OrderServiceImpl implements OrderService {
             throw new AccessDeniedException("Order does not belong to user");
         }
 
+        releaseReservation(order);
         order.setStatus(OrderStatus.PAYMENT_FAILED);
         Order saved = orderRepository.save(order);
         saveStatusHistory(saved, OrderStatus.PAYMENT_FAILED, reason);
@@ -245,6 +268,123 @@ public class OrderServiceImpl implements OrderService {
         orderEventPublisher.publishStatusUpdated(getCorrelationId(), event);
     }
 
+    private Order findIdempotentOrder(String idempotencyKey, String requestHash) {
+        IdempotencyKey existing = idempotencyKeyRepository.findByKey(idempotencyKey).orElse(null);
+        if (existing == null) {
+            return null;
+        }
+        if (!existing.getRequestHash().equals(requestHash)) {
+            throw new IdempotencyConflictException("Idempotency key already used with different payload");
+        }
+        if (existing.getOrderId() == null) {
+            return null;
+        }
+        return orderRepository.findById(existing.getOrderId())
+                .orElseThrow(() -> new OrderNotFoundException("Order not found"));
+    }
+
+    private Order buildOrder(CreateOrderRequestDto request, Long userId) {
+        Order order = new Order();
+        order.setUserId(userId);
+        AuthenticatedUser currentUser = RequestContext.getCurrentUser();
+        if (currentUser != null) {
+            order.setCustomerEmail(currentUser.getEmail());
+        }
+        order.setStatus(OrderStatus.PENDING_PAYMENT);
+        order.setPaymentMethod(request.getPaymentMethod());
+        order.setDeliveryAddress(toDeliveryAddress(request));
+
+        List<Long> productIds = request.getItems().stream()
+                .map(OrderItemRequestDto::getProductId)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Long, ProductSnapshot> products = productCatalogClient.getProducts(productIds).stream()
+                .collect(Collectors.toMap(ProductSnapshot::getId, Function.identity(), (first, second) -> first));
+
+        List<OrderItem> items = new java.util.ArrayList<>();
+        String currency = null;
+        for (OrderItemRequestDto itemRequest : request.getItems()) {
+            ProductSnapshot product = products.get(itemRequest.getProductId());
+            if (product == null || product.getId() == null) {
+                throw new ProductUnavailableException("Product not found");
+            }
+            if (!"ACTIVE".equalsIgnoreCase(product.getStatus())) {
+                throw new ProductUnavailableException("Product inactive");
+            }
+            if (currency == null) {
+                currency = product.getCurrency();
+            } else if (product.getCurrency() != null && !currency.equalsIgnoreCase(product.getCurrency())) {
+                throw new InvalidOrderException("Mixed currency orders are not supported");
+            }
+
+            OrderItem item = buildOrderItem(order, itemRequest, product);
+            items.add(item);
+        }
+        order.getItems().addAll(items);
+
+        BigDecimal total = items.stream()
+                .map(OrderItem::getLineTotal)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        order.setTotalAmount(total);
+        order.setCurrency(currency != null ? currency : "USD");
+        return order;
+    }
+
+    private Order saveOrder(Order order, Long userId, String idempotencyKey, String requestHash) {
+        IdempotencyKey record = null;
+        if (idempotencyKey != null) {
+            record = idempotencyKeyRepository.findByKey(idempotencyKey).orElse(null);
+            if (record == null) {
+                record = new IdempotencyKey();
+                record.setKey(idempotencyKey);
+                record.setUserId(userId);
+                record.setRequestHash(requestHash);
+                record.setCreatedAt(Instant.now());
+            }
+        }
+
+        Order saved = orderRepository.save(order);
+        if (saved.getTrackingNumber() == null) {
+            saved.setTrackingNumber("TRK-" + saved.getId() + "-" + UUID.randomUUID().toString().substring(0, 8));
+            saved = orderRepository.save(saved);
+        }
+
+        saveStatusHistory(saved, saved.getStatus(), "Order created");
+
+        if (record != null) {
+            record.setOrderId(saved.getId());
+            idempotencyKeyRepository.save(record);
+        }
+
+        publishOrderCreated(saved);
+        return saved;
+    }
+
+    /**
+     * Reserves the ordered quantities in the catalog, all-or-nothing.
+     */
+    private String reserveStock(CreateOrderRequestDto request) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (OrderItemRequestDto item : request.getItems()) {
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+        String reference = "order-" + UUID.randomUUID();
+        productCatalogClient.reserveStock(reference, quantities);
+        return reference;
+    }
+
+    private void releaseReservation(Order order) {
+        if (order.getInventoryReservation() == null) {
+            return;
+        }
+        try {
+            productCatalogClient.releaseReservation(order.getInventoryReservation());
+        } catch (RuntimeException e) {
+            log.warn("Failed to release inventory reservation {} for order {}; it will expire",
+                    order.getInventoryReservation(), order.getId(), e);
+        }
+    }
+
     private DeliveryAddress toDeliveryAddress(CreateOrderRequestDto request) {
         DeliveryAddress address = new DeliveryAddress();
         address.setLine1(request.getDeliveryAddress().getLine1());
@@ -0,0 +1,61 @@
+package com.scaler.orderservice.service;
+
+import com.scaler.orderservice.client.ProductCatalogClient;
+import com.scaler.orderservice.model.Order;
+import com.scaler.orderservice.model.enums.OrderStatus;
+import com.scaler.orderservice.repo.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Keeps the stock of orders awaiting payment reserved for up to {@code orders.pending-payment.hold-seconds}
+ * after they were placed. Older orders are left to expire in the catalog; if they are paid after all, the
+ * commit is rejected and the order is cancelled for a refund.
+ */
+@Component
+public class ReservationKeepAlive {
+    private static final Logger log = LoggerFactory.getLogger(ReservationKeepAlive.class);
+
+    private final OrderRepository orderRepository;
+    private final ProductCatalogClient productCatalogClient;
+    private final Duration hold;
+    private final int batchSize;
+
+    public ReservationKeepAlive(OrderRepository orderRepository,
+                                ProductCatalogClient productCatalogClient,
+                                @Value("${orders.pending-payment.hold-seconds}") long holdSeconds,
+                                @Value("${inventory.reservation.keep-alive-batch-size}") int batchSize) {
+        this.orderRepository = orderRepository;
+        this.productCatalogClient = productCatalogClient;
+        this.hold = Duration.ofSeconds(holdSeconds);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.reservation.keep-alive-interval-ms}")
+    public void extendPendingReservations() {
+        Instant createdAfter = Instant.now().minus(hold);
+        long afterId = 0L;
+        List<Order> orders;
+        do {
+            orders = orderRepository.findByStatusAndInventoryReservationNotNullAndCreatedAtAfterAndIdGreaterThanOrderById(
+                    OrderStatus.PENDING_PAYMENT, createdAfter, afterId, PageRequest.of(0, batchSize));
+            for (Order order : orders) {
+                try {
+                    productCatalogClient.extendReservation(order.getInventoryReservation());
+                } catch (RuntimeException ex) {
+                    log.warn("Failed to extend inventory reservation {} for order {}",
+                            order.getInventoryReservation(), order.getId(), ex);
+                }
+                afterId = order.getId();
+            }
+        } while (orders.size() == batchSize);
+    }
+}
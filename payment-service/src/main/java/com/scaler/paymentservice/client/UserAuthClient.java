@@ -1,42 +1,60 @@
 package com.scaler.paymentservice.client;
 
 import com.scaler.ecommerce.common.security.AuthenticatedUser;
+import com.scaler.ecommerce.common.security.ValidatedTokenCache;
+import com.scaler.ecommerce.common.security.VerifiedToken;
+import com.scaler.ecommerce.common.utils.HashUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.retry.support.RetryTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.util.Collection;
+
 @Component
 public class UserAuthClient {
     private final RestTemplate restTemplate;
     private final RetryTemplate retryTemplate;
     private final String userServiceBaseUrl;
     private final String internalSecret;
+    private final ValidatedTokenCache tokenCache;
 
     public UserAuthClient(RestTemplate restTemplate,
                           RetryTemplate retryTemplate,
                           @Value("${clients.user-service.base-url}") String userServiceBaseUrl,
-                          @Value("${security.internal.secret:}") String internalSecret) {
+                          @Value("${security.internal.secret:}") String internalSecret,
+                          @Value("${security.token-cache.max-size}") long tokenCacheMaxSize,
+                          @Value("${security.token-cache.max-ttl-seconds}") long tokenCacheMaxTtlSeconds) {
         this.restTemplate = restTemplate;
         this.retryTemplate = retryTemplate;
         this.userServiceBaseUrl = userServiceBaseUrl;
         this.internalSecret = internalSecret;
+        this.tokenCache = new ValidatedTokenCache(tokenCacheMaxSize, Duration.ofSeconds(tokenCacheMaxTtlSeconds));
     }
 
+    /**
+     * Validates a token with user-service. Valid results are cached under the token's hash until the token
+     * expires or its session is revoked; invalid ones are not cached, and neither is a result that was in
+     * flight when a revocation arrived.
+     */
     public AuthenticatedUser validate(String token) {
-        return retryTemplate.execute(context -> {
+        String cacheKey = HashUtils.sha256(token);
+        VerifiedToken cached = tokenCache.get(cacheKey);
+        if (cached != null) {
+            return cached.getUser();
+        }
+
+        long generation = tokenCache.generation();
+        VerifiedToken verified = retryTemplate.execute(context -> {
             TokenValidationRequest request = new TokenValidationRequest();
             request.setToken(token);
 
-            HttpHeaders headers = new HttpHeaders();
-            if (internalSecret != null && !internalSecret.isBlank()) {
-                headers.set("X-Internal-Secret", internalSecret);
-            }
-
-            HttpEntity<TokenValidationRequest> entity = new HttpEntity<>(request, headers);
+            HttpEntity<TokenValidationRequest> entity = new HttpEntity<>(request, internalHeaders());
             ResponseEntity<TokenValidationResponse> response =
                     restTemplate.postForEntity(userServiceBaseUrl + "/api/v1/users/tokens/validate",
                             entity, TokenValidationResponse.class);
@@ -50,7 +68,56 @@ public class UserAuthClient {
             user.setUserId(body.getUserId());
             user.setEmail(body.getEmail());
             user.setRoles(body.getRoles());
-            return user;
+
+            VerifiedToken result = new VerifiedToken();
+            result.setJwtId(body.getJwtId());
+            result.setExpiresAt(body.getExpiresAt());
+            result.setUser(user);
+            return result;
+        });
+        if (verified == null) {
+            return null;
+        }
+        tokenCache.put(cacheKey, verified, generation);
+        return verified.getUser();
+    }
+
+    /**
+     * Whether the session behind a locally verified token is still live, i.e. not revoked and its user active.
+     * A live session is cached under its jwtId like a validated token.
+     */
+    public boolean isSessionActive(VerifiedToken token) {
+        if (tokenCache.get(token.getJwtId()) != null) {
+            return true;
+        }
+        long generation = tokenCache.generation();
+        boolean active = retryTemplate.execute(context -> {
+            ResponseEntity<TokenStatusResponse> response = restTemplate.exchange(
+                    userServiceBaseUrl + "/api/v1/users/tokens/{jwtId}/status",
+                    HttpMethod.GET, new HttpEntity<>(internalHeaders()), TokenStatusResponse.class,
+                    token.getJwtId());
+            TokenStatusResponse body = response.getBody();
+            return body != null && body.isActive();
         });
+        if (active) {
+            tokenCache.put(token.getJwtId(), token, generation);
+        }
+        return active;
+    }
+
+    public void evictSessions(Collection<String> jwtIds) {
+        tokenCache.evictSessions(jwtIds);
+    }
+
+    public void evictUser(Long userId) {
+        tokenCache.evictUser(userId);
+    }
+
+    private HttpHeaders internalHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        if (internalSecret != null && !internalSecret.isBlank()) {
+            headers.set("X-Internal-Secret", internalSecret);
+        }
+        return headers;
     }
 }
\ No newline at end of file
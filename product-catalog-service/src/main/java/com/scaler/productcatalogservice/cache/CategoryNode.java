@@ -0,0 +1,48 @@
+package com.scaler.productcatalogservice.cache;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Getter
+public class CategoryNode {
+    private final Long id;
+    private final Long parentId;
+    private final String name;
+    private final String description;
+    private final String path;
+    private final int depth;
+    @Getter(lombok.AccessLevel.NONE)
+    private final AtomicLong productCount;
+    @Getter(lombok.AccessLevel.NONE)
+    private final List<CategoryNode> children = new ArrayList<>();
+
+    CategoryNode(Long id, Long parentId, String name, String description, String path, int depth, long productCount) {
+        this.id = id;
+        this.parentId = parentId;
+        this.name = name;
+        this.description = description;
+        this.path = path;
+        this.depth = depth;
+        this.productCount = new AtomicLong(productCount);
+    }
+
+    public long getProductCount() {
+        return productCount.get();
+    }
+
+    public List<CategoryNode> getChildren() {
+        return Collections.unmodifiableList(children);
+    }
+
+    void addChild(CategoryNode child) {
+        children.add(child);
+    }
+
+    void addProducts(long delta) {
+        productCount.addAndGet(delta);
+    }
+}
@@ -0,0 +1,26 @@
+package com.scaler.productcatalogservice.cache;
+
+import com.scaler.productcatalogservice.dto.CategoryResponseDto;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Immutable, versioned view of all categories. The version is derived from the content and changes with
+ * every category write, so clients holding the current version can be answered with a 304.
+ */
+@Getter
+public class CategorySnapshot {
+    private final long version;
+    private final String etag;
+    private final Instant lastModified;
+    private final List<CategoryResponseDto> categories;
+
+    CategorySnapshot(long version, Instant lastModified, List<CategoryResponseDto> categories) {
+        this.version = version;
+        this.etag = "\"categories-" + version + "\"";
+        this.lastModified = lastModified;
+        this.categories = categories;
+    }
+}
@@ -0,0 +1,203 @@
+package com.scaler.productcatalogservice.cache;
+
+import com.scaler.productcatalogservice.dto.CategoryResponseDto;
+import com.scaler.productcatalogservice.mapper.CategoryMapper;
+import com.scaler.productcatalogservice.model.Category;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory copy of the category hierarchy with subtree product counts, used for navigation and to
+ * resolve subtree filters without touching the database. The tree and its {@link CategorySnapshot} are
+ * replaced together, atomically, whenever categories change. Reads never rebuild it: only the startup and
+ * scheduled loads and the after-commit write path do.
+ */
+@Component
+public class CategoryTreeCache {
+    private static final Tree EMPTY = new Tree(Map.of(), List.of(), new CategorySnapshot(0, null, List.of()));
+
+    private final AtomicReference<Tree> tree = new AtomicReference<>(EMPTY);
+    private final AtomicBoolean countsChanged = new AtomicBoolean();
+    private final AtomicLong generation = new AtomicLong();
+
+    public boolean isLoaded() {
+        return tree.get() != EMPTY;
+    }
+
+    /**
+     * Bumped by every change to the tree, so a background reload can tell whether a write landed while it
+     * was reading the categories.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Rebuilds from {@code categories} unless the tree changed since {@code expectedGeneration} was read,
+     * in which case the categories may be older than the tree and are dropped.
+     */
+    public synchronized boolean refresh(List<Category> categories, long expectedGeneration) {
+        if (generation.get() != expectedGeneration) {
+            return false;
+        }
+        refresh(categories);
+        return true;
+    }
+
+    public synchronized void refresh(List<Category> categories) {
+        Map<Long, CategoryNode> nodes = new HashMap<>();
+        Instant lastModified = null;
+        for (Category category : categories) {
+            Long parentId = category.getParent() != null ? category.getParent().getId() : null;
+            nodes.put(category.getId(), new CategoryNode(category.getId(), parentId, category.getName(),
+                    category.getDescription(), category.getPath(), category.getDepth(), category.getProductCount()));
+            if (lastModified == null || (category.getUpdatedAt() != null && category.getUpdatedAt().isAfter(lastModified))) {
+                lastModified = category.getUpdatedAt();
+            }
+        }
+
+        List<CategoryNode> roots = new ArrayList<>();
+        List<CategoryNode> ordered = new ArrayList<>(nodes.values());
+        ordered.sort(Comparator.comparing(CategoryNode::getName, String.CASE_INSENSITIVE_ORDER));
+        for (CategoryNode node : ordered) {
+            CategoryNode parent = node.getParentId() != null ? nodes.get(node.getParentId()) : null;
+            if (parent != null) {
+                parent.addChild(node);
+            } else {
+                roots.add(node);
+            }
+        }
+        tree.set(new Tree(nodes, List.copyOf(roots), snapshotOf(nodes.values(), lastModified)));
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Rebuilds from {@code categories}, loaded inside the writing transaction, once that transaction
+     * commits, so a rolled back category never becomes visible.
+     */
+    public void refreshAfterCommit(List<Category> categories) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh(categories);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                refresh(categories);
+            }
+        });
+    }
+
+    /**
+     * Returns the current snapshot. Product count changes since the last snapshot are folded into a new
+     * version on first read rather than on every product write.
+     */
+    public CategorySnapshot snapshot() {
+        if (countsChanged.compareAndSet(true, false)) {
+            tree.updateAndGet(current -> new Tree(current.nodes, current.roots,
+                    snapshotOf(current.nodes.values(), Instant.now())));
+        }
+        return tree.get().snapshot;
+    }
+
+    public CategoryNode get(Long categoryId) {
+        return tree.get().nodes.get(categoryId);
+    }
+
+    public List<CategoryNode> roots() {
+        return tree.get().roots;
+    }
+
+    /**
+     * Ids of the category and all of its descendants, or just the given id when it is not in the tree.
+     */
+    public List<Long> subtreeIds(Long categoryId) {
+        List<Long> ids = new ArrayList<>();
+        CategoryNode root = get(categoryId);
+        if (root == null) {
+            ids.add(categoryId);
+            return ids;
+        }
+        Deque<CategoryNode> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            CategoryNode node = pending.pop();
+            ids.add(node.getId());
+            node.getChildren().forEach(pending::push);
+        }
+        return ids;
+    }
+
+    public void adjustProductCount(Long categoryId, long delta) {
+        Tree current = tree.get();
+        CategoryNode node = current.nodes.get(categoryId);
+        while (node != null) {
+            node.addProducts(delta);
+            node = node.getParentId() != null ? current.nodes.get(node.getParentId()) : null;
+        }
+        countsChanged.set(true);
+        generation.incrementAndGet();
+    }
+
+    public void adjustProductCountAfterCommit(Long categoryId, long delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            adjustProductCount(categoryId, delta);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                adjustProductCount(categoryId, delta);
+            }
+        });
+    }
+
+    private CategorySnapshot snapshotOf(Collection<CategoryNode> nodes, Instant lastModified) {
+        List<CategoryResponseDto> categories = new ArrayList<>(nodes.size());
+        for (CategoryNode node : nodes) {
+            categories.add(CategoryMapper.toResponse(node));
+        }
+        categories.sort(Comparator.comparing(CategoryResponseDto::getId));
+        return new CategorySnapshot(versionOf(categories), lastModified, List.copyOf(categories));
+    }
+
+    /**
+     * Hash of the snapshot content, so every instance holding the same categories and counts hands out the
+     * same version regardless of when it loaded them.
+     */
+    private static long versionOf(List<CategoryResponseDto> categories) {
+        long version = 17;
+        for (CategoryResponseDto category : categories) {
+            version = 31 * version + Objects.hash(category.getId(), category.getParentId(), category.getName(),
+                    category.getDescription(), category.getPath(), category.getDepth(), category.getProductCount());
+        }
+        return version & Long.MAX_VALUE;
+    }
+
+    private static final class Tree {
+        private final Map<Long, CategoryNode> nodes;
+        private final List<CategoryNode> roots;
+        private final CategorySnapshot snapshot;
+
+        private Tree(Map<Long, CategoryNode> nodes, List<CategoryNode> roots, CategorySnapshot snapshot) {
+            this.nodes = nodes;
+            this.roots = roots;
+            this.snapshot = snapshot;
+        }
+    }
+}
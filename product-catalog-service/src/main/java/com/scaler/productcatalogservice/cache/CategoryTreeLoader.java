@@ -0,0 +1,81 @@
+package com.scaler.productcatalogservice.cache;
+
+import com.scaler.productcatalogservice.model.Category;
+import com.scaler.productcatalogservice.repo.CategoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns paths to categories created before the hierarchy existed, recomputes the denormalized subtree
+ * product counts and builds the {@link CategoryTreeCache}, then keeps it in step with the database.
+ */
+@Component
+public class CategoryTreeLoader {
+    private static final Logger log = LoggerFactory.getLogger(CategoryTreeLoader.class);
+
+    private final CategoryRepository categoryRepository;
+    private final CategoryTreeCache categoryTreeCache;
+
+    public CategoryTreeLoader(CategoryRepository categoryRepository, CategoryTreeCache categoryTreeCache) {
+        this.categoryRepository = categoryRepository;
+        this.categoryTreeCache = categoryTreeCache;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void load() {
+        List<Category> categories = categoryRepository.findAll();
+        for (Category category : categories) {
+            if (category.getPath() == null) {
+                category.setPath("/" + category.getId() + "/");
+                category.setDepth(0);
+            }
+        }
+
+        Map<Long, Long> subtreeCounts = new HashMap<>();
+        Map<Long, Category> categoriesById = new HashMap<>();
+        categories.forEach(category -> categoriesById.put(category.getId(), category));
+        for (Object[] row : categoryRepository.countProductsByCategory()) {
+            Category category = categoriesById.get((Long) row[0]);
+            if (category == null) {
+                continue;
+            }
+            for (Long ancestorId : category.pathIds()) {
+                subtreeCounts.merge(ancestorId, (Long) row[1], Long::sum);
+            }
+        }
+        for (Category category : categories) {
+            long count = subtreeCounts.getOrDefault(category.getId(), 0L);
+            if (category.getProductCount() != count) {
+                category.setProductCount(count);
+            }
+        }
+
+        categoryTreeCache.refresh(categories);
+        log.info("Category tree built with {} categories", categories.size());
+    }
+
+    /**
+     * Reloads the tree so categories created on other instances show up, and in-memory product counts are
+     * reconciled with the database. A reload that overlaps a local write is dropped and retried on the next
+     * run, so it never replaces the fresher tree that write built.
+     */
+    @Scheduled(initialDelayString = "${categories.tree.refresh-interval-ms}",
+            fixedDelayString = "${categories.tree.refresh-interval-ms}")
+    @Transactional(readOnly = true)
+    public void refresh() {
+        long generation = categoryTreeCache.generation();
+        if (!categoryTreeCache.refresh(categoryRepository.findAll(), generation)) {
+            log.debug("Category tree reload skipped, the tree changed while it was read");
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.scaler.productcatalogservice.cache;
+
+import com.scaler.ecommerce.common.utils.HashUtils;
+import com.scaler.productcatalogservice.dto.ProductResponseDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Cache-Control policies for catalog reads plus the ETag helpers used for conditional GETs.
+ * ETags are strong and derived from {@code updatedAt}, so any write produces a new tag; page tags are
+ * derived from the page itself.
+ */
+@Component
+public class HttpCachePolicy {
+    private final CacheControl product;
+    private final CacheControl productList;
+    private final CacheControl category;
+
+    public HttpCachePolicy(@Value("${http.cache.product-max-age-seconds}") long productMaxAge,
+                           @Value("${http.cache.product-list-max-age-seconds}") long productListMaxAge,
+                           @Value("${http.cache.category-max-age-seconds}") long categoryMaxAge) {
+        this.product = CacheControl.maxAge(Duration.ofSeconds(productMaxAge)).cachePublic();
+        this.productList = CacheControl.maxAge(Duration.ofSeconds(productListMaxAge)).cachePublic();
+        this.category = CacheControl.maxAge(Duration.ofSeconds(categoryMaxAge)).cachePublic();
+    }
+
+    public CacheControl product() {
+        return product;
+    }
+
+    public CacheControl productList() {
+        return productList;
+    }
+
+    public CacheControl category() {
+        return category;
+    }
+
+    public static String etag(String kind, Object key, Instant updatedAt) {
+        return "\"" + kind + "-" + key + "-" + version(updatedAt) + "\"";
+    }
+
+    /**
+     * Tag of one page of products, hashed from the query that selected it, the total and the id and version
+     * of every product served, so paging, filtering, sorting, deletes and writes to a listed product all
+     * change it.
+     */
+    public static String pageEtag(String kind, String query, Page<ProductResponseDto> page) {
+        StringBuilder fingerprint = new StringBuilder(query).append('|').append(page.getTotalElements());
+        for (ProductResponseDto product : page.getContent()) {
+            fingerprint.append('|').append(product.getId()).append(':').append(product.getRevision())
+                    .append(':').append(version(product.getUpdatedAt()));
+        }
+        return "\"" + kind + "-" + HashUtils.sha256(fingerprint.toString()) + "\"";
+    }
+
+    public static boolean isConditional(HttpHeaders request) {
+        return !request.getIfNoneMatch().isEmpty() || request.getIfModifiedSince() >= 0;
+    }
+
+    /**
+     * Evaluates {@code If-None-Match} and, only when it is absent, {@code If-Modified-Since}.
+     */
+    public static boolean isNotModified(HttpHeaders request, String etag, Instant lastModified) {
+        if (!request.getIfNoneMatch().isEmpty()) {
+            return request.getIfNoneMatch().stream()
+                    .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                    .anyMatch(tag -> tag.equals("*") || tag.equals(etag));
+        }
+        long ifModifiedSince = request.getIfModifiedSince();
+        return ifModifiedSince >= 0 && lastModified != null && lastModified.getEpochSecond() * 1000 <= ifModifiedSince;
+    }
+
+    public static <T> ResponseEntity<T> ok(T body, String etag, Instant lastModified, CacheControl cacheControl) {
+        return withValidators(ResponseEntity.ok(), etag, lastModified, cacheControl).body(body);
+    }
+
+    public static <T> ResponseEntity<T> notModified(String etag, Instant lastModified, CacheControl cacheControl) {
+        return withValidators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), etag, lastModified, cacheControl).build();
+    }
+
+    private static <B extends ResponseEntity.HeadersBuilder<B>> B withValidators(B builder,
+                                                                                 String etag,
+                                                                                 Instant lastModified,
+                                                                                 CacheControl cacheControl) {
+        builder.eTag(etag).cacheControl(cacheControl);
+        if (lastModified != null) {
+            builder.lastModified(lastModified);
+        }
+        return builder;
+    }
+
+    private static String version(Instant updatedAt) {
+        return updatedAt != null ? updatedAt.getEpochSecond() + "." + updatedAt.getNano() : "0";
+    }
+}
@@ -0,0 +1,73 @@
+package com.scaler.productcatalogservice.cache;
+
+import com.scaler.productcatalogservice.dto.ProductResponseDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Component
+@ConditionalOnProperty(name = "cache.product.redis.enabled", havingValue = "true")
+public class ProductRedisCache {
+    public static final String INVALIDATION_CHANNEL = "product-cache-invalidation";
+
+    private final RedisTemplate<String, ProductResponseDto> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Duration ttl;
+
+    public ProductRedisCache(RedisTemplate<String, ProductResponseDto> redisTemplate,
+                             StringRedisTemplate stringRedisTemplate,
+                             @Value("${cache.product.redis.ttl-seconds}") long ttlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+    }
+
+    public ProductResponseDto get(Long productId) {
+        return redisTemplate.opsForValue().get(buildKey(productId));
+    }
+
+    public Map<Long, ProductResponseDto> getAll(Collection<Long> productIds) {
+        List<Long> ids = List.copyOf(productIds);
+        List<ProductResponseDto> values = redisTemplate.opsForValue()
+                .multiGet(ids.stream().map(this::buildKey).collect(Collectors.toList()));
+        Map<Long, ProductResponseDto> result = new HashMap<>();
+        if (values == null) {
+            return result;
+        }
+        for (int i = 0; i < ids.size(); i++) {
+            if (values.get(i) != null) {
+                result.put(ids.get(i), values.get(i));
+            }
+        }
+        return result;
+    }
+
+    public void put(Long productId, ProductResponseDto product) {
+        redisTemplate.opsForValue().set(buildKey(productId), product, ttl);
+    }
+
+    public void evict(Long productId) {
+        remove(productId);
+        stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, String.valueOf(productId));
+    }
+
+    /**
+     * Deletes the entry without notifying other instances.
+     */
+    public void remove(Long productId) {
+        redisTemplate.delete(buildKey(productId));
+    }
+
+    private String buildKey(Long productId) {
+        return "product:" + productId;
+    }
+}
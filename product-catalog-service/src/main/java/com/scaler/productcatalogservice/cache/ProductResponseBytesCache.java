@@ -0,0 +1,82 @@
+package com.scaler.productcatalogservice.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.scaler.productcatalogservice.dto.ProductResponseDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Pre-serialized product responses, bounded by total size in bytes. W-TinyLFU admission keeps the entries
+ * of the hottest products, which then skip mapping and JSON serialization entirely. Large responses are
+ * also kept gzip-encoded when enabled.
+ */
+@Component
+public class ProductResponseBytesCache {
+    private final Cache<Long, SerializedProduct> cache;
+    private final ObjectMapper objectMapper;
+    private final boolean gzipEnabled;
+    private final int gzipMinBytes;
+
+    public ProductResponseBytesCache(MeterRegistry meterRegistry,
+                                     ObjectMapper objectMapper,
+                                     @Value("${cache.product-bytes.max-size-bytes}") long maxSizeBytes,
+                                     @Value("${cache.product-bytes.ttl-seconds}") long ttlSeconds,
+                                     @Value("${cache.product-bytes.gzip-enabled}") boolean gzipEnabled,
+                                     @Value("${cache.product-bytes.gzip-min-bytes}") int gzipMinBytes) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSizeBytes)
+                .weigher((Long id, SerializedProduct product) -> product.weight())
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.objectMapper = objectMapper;
+        this.gzipEnabled = gzipEnabled;
+        this.gzipMinBytes = gzipMinBytes;
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "product-bytes");
+    }
+
+    public SerializedProduct get(Long productId, Function<Long, ProductResponseDto> loader) {
+        return cache.get(productId, id -> serialize(loader.apply(id)));
+    }
+
+    public SerializedProduct peek(Long productId) {
+        return cache.getIfPresent(productId);
+    }
+
+    public void invalidate(Long productId) {
+        cache.invalidate(productId);
+    }
+
+    private SerializedProduct serialize(ProductResponseDto product) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(product);
+            byte[] gzip = gzipEnabled && json.length >= gzipMinBytes ? gzip(json) : null;
+            return new SerializedProduct(product.getId(), product.getUpdatedAt(), json, gzip);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize product " + product.getId(), ex);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(json);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,194 @@
+package com.scaler.productcatalogservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.scaler.productcatalogservice.dto.ProductResponseDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through cache of mapped product responses. The first tier is a bounded in-heap W-TinyLFU cache;
+ * the optional second tier is Redis, which also fans out invalidations to the other instances.
+ * Serialized responses are kept in a {@link ProductResponseBytesCache} that is invalidated together.
+ * Loads are only written to Redis if no invalidation, local or broadcast by another instance, ran while
+ * they read the database, as the load may hold the state from before the change.
+ */
+@Component
+public class ProductResponseCache {
+    private static final Logger log = LoggerFactory.getLogger(ProductResponseCache.class);
+
+    private final Cache<Long, ProductResponseDto> localCache;
+    private final ProductRedisCache redisCache;
+    private final ProductResponseBytesCache bytesCache;
+    private final Timer loadTimer;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ProductResponseCache(MeterRegistry meterRegistry,
+                                @Value("${cache.product.max-size}") long maxSize,
+                                @Value("${cache.product.ttl-seconds}") long ttlSeconds,
+                                Optional<ProductRedisCache> redisCache,
+                                ProductResponseBytesCache bytesCache) {
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.redisCache = redisCache.orElse(null);
+        this.bytesCache = bytesCache;
+        this.loadTimer = Timer.builder("product.cache.load")
+                .description("Time to load a product response on a local cache miss")
+                .register(meterRegistry);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "products");
+        Gauge.builder("product.cache.hit.ratio", localCache, cache -> cache.stats().hitRate())
+                .register(meterRegistry);
+    }
+
+    public ProductResponseDto get(Long productId, Function<Long, ProductResponseDto> loader) {
+        return localCache.get(productId, id -> loadTimer.record(() -> loadThrough(id, loader)));
+    }
+
+    public ProductResponseDto peek(Long productId) {
+        return localCache.getIfPresent(productId);
+    }
+
+    public SerializedProduct getSerialized(Long productId, Function<Long, ProductResponseDto> loader) {
+        return bytesCache.get(productId, id -> get(id, loader));
+    }
+
+    public SerializedProduct peekSerialized(Long productId) {
+        return bytesCache.peek(productId);
+    }
+
+    /**
+     * Resolves many products at once. Local misses are looked up in Redis with one MGET and the
+     * remainder is handed to {@code loader} as a single batch. Unknown ids are omitted from the result.
+     */
+    public List<ProductResponseDto> getAll(List<Long> productIds,
+                                           Function<Set<Long>, Map<Long, ProductResponseDto>> loader) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(productIds);
+        Map<Long, ProductResponseDto> found = localCache.getAll(uniqueIds,
+                missing -> loadTimer.record(() -> loadAllThrough(new HashSet<>(missing), loader)));
+        return uniqueIds.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    public void evict(Long productId) {
+        invalidations.incrementAndGet();
+        localCache.invalidate(productId);
+        bytesCache.invalidate(productId);
+        if (redisCache != null) {
+            try {
+                redisCache.evict(productId);
+            } catch (RuntimeException e) {
+                log.warn("Failed to evict product {} from Redis", productId, e);
+            }
+        }
+    }
+
+    public void evictAfterCommit(Long productId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(productId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(productId);
+            }
+        });
+    }
+
+    public void invalidateLocal(Long productId) {
+        invalidations.incrementAndGet();
+        localCache.invalidate(productId);
+        bytesCache.invalidate(productId);
+    }
+
+    private ProductResponseDto loadThrough(Long productId, Function<Long, ProductResponseDto> loader) {
+        if (redisCache != null) {
+            try {
+                ProductResponseDto cached = redisCache.get(productId);
+                if (cached != null) {
+                    return cached;
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to read product {} from Redis", productId, e);
+            }
+        }
+
+        long generation = invalidations.get();
+        ProductResponseDto product = loader.apply(productId);
+        if (redisCache != null && product != null) {
+            try {
+                writeThrough(Map.of(productId, product), generation);
+            } catch (RuntimeException e) {
+                log.warn("Failed to write product {} to Redis", productId, e);
+            }
+        }
+        return product;
+    }
+
+    private Map<Long, ProductResponseDto> loadAllThrough(Set<Long> productIds,
+                                                         Function<Set<Long>, Map<Long, ProductResponseDto>> loader) {
+        Map<Long, ProductResponseDto> result = new HashMap<>();
+        Set<Long> remaining = new HashSet<>(productIds);
+        if (redisCache != null) {
+            try {
+                result.putAll(redisCache.getAll(remaining));
+                remaining.removeAll(result.keySet());
+            } catch (RuntimeException e) {
+                log.warn("Failed to read {} products from Redis", remaining.size(), e);
+            }
+        }
+        if (remaining.isEmpty()) {
+            return result;
+        }
+
+        long generation = invalidations.get();
+        Map<Long, ProductResponseDto> loaded = loader.apply(remaining);
+        result.putAll(loaded);
+        if (redisCache != null) {
+            try {
+                writeThrough(loaded, generation);
+            } catch (RuntimeException e) {
+                log.warn("Failed to write {} products to Redis", loaded.size(), e);
+            }
+        }
+        return result;
+    }
+
+    // Skips the write if an invalidation ran during the load, and removes it again if one ran during the write.
+    private void writeThrough(Map<Long, ProductResponseDto> loaded, long generation) {
+        if (generation != invalidations.get()) {
+            return;
+        }
+        loaded.forEach(redisCache::put);
+        if (generation != invalidations.get()) {
+            loaded.keySet().forEach(redisCache::remove);
+        }
+    }
+}
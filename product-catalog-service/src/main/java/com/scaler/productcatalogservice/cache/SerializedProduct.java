@@ -0,0 +1,32 @@
+package com.scaler.productcatalogservice.cache;
+
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * A product response serialized once, with an optional gzip-encoded copy. Its version is the product's
+ * {@code updatedAt}, which also determines the ETags.
+ */
+@Getter
+public class SerializedProduct {
+    private final Long productId;
+    private final Instant version;
+    private final String etag;
+    private final String gzipEtag;
+    private final byte[] json;
+    private final byte[] gzip;
+
+    SerializedProduct(Long productId, Instant version, byte[] json, byte[] gzip) {
+        this.productId = productId;
+        this.version = version;
+        this.etag = HttpCachePolicy.etag("product", productId, version);
+        this.gzipEtag = etag.substring(0, etag.length() - 1) + "-gzip\"";
+        this.json = json;
+        this.gzip = gzip;
+    }
+
+    int weight() {
+        return json.length + (gzip != null ? gzip.length : 0);
+    }
+}
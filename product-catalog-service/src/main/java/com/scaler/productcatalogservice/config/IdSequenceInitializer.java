@@ -0,0 +1,51 @@
+package com.scaler.productcatalogservice.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Moves the pooled id sequences past ids handed out by the former IDENTITY columns. Only MySQL needs
+ * this, where Hibernate emulates each sequence with a single-row table starting at 1.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class IdSequenceInitializer {
+    private static final Logger log = LoggerFactory.getLogger(IdSequenceInitializer.class);
+    private static final int ALLOCATION_SIZE = 100;
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "product_seq", "products",
+            "product_image_seq", "product_images",
+            "product_specification_seq", "product_specifications");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdSequenceInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void alignSequences() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (database == null || !database.toLowerCase(Locale.ROOT).contains("mysql")) {
+            return;
+        }
+
+        SEQUENCES.forEach((sequence, table) -> {
+            Long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+            long floor = maxId + ALLOCATION_SIZE + 1;
+            int updated = jdbcTemplate.update("update " + sequence + " set next_val = ? where next_val < ?", floor, floor);
+            if (updated > 0) {
+                log.info("Advanced id sequence {} to {}", sequence, floor);
+            }
+        });
+    }
+}
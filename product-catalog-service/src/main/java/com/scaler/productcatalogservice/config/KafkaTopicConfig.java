@@ -0,0 +1,26 @@
+package com.scaler.productcatalogservice.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.config.TopicConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+import java.time.Duration;
+
+@Configuration
+public class KafkaTopicConfig {
+    /**
+     * Compacted on the product id key so the topic holds about one event per product, which keeps the replay
+     * subscribers run at startup bounded by the catalog size rather than by its history.
+     */
+    @Bean
+    public NewTopic productEventsTopic(@Value("${kafka.topics.product-events}") String topic,
+                                       @Value("${product-events.segment-seconds}") long segmentSeconds) {
+        return TopicBuilder.name(topic)
+                .config(TopicConfig.CLEANUP_POLICY_CONFIG, TopicConfig.CLEANUP_POLICY_COMPACT)
+                .config(TopicConfig.SEGMENT_MS_CONFIG, String.valueOf(Duration.ofSeconds(segmentSeconds).toMillis()))
+                .build();
+    }
+}
@@ -0,0 +1,44 @@
+package com.scaler.productcatalogservice.config;
+
+import com.scaler.productcatalogservice.cache.ProductRedisCache;
+import com.scaler.productcatalogservice.cache.ProductResponseCache;
+import com.scaler.productcatalogservice.dto.ProductResponseDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.JacksonJsonRedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+
+@Configuration
+@ConditionalOnProperty(name = "cache.product.redis.enabled", havingValue = "true")
+public class RedisConfig {
+    @Bean
+    public RedisTemplate<String, ProductResponseDto> productRedisTemplate(RedisConnectionFactory connectionFactory,
+                                                                          JsonMapper jsonMapper) {
+        RedisTemplate<String, ProductResponseDto> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(new JacksonJsonRedisSerializer<>(jsonMapper, ProductResponseDto.class));
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    @Bean
+    public RedisMessageListenerContainer productCacheInvalidationListener(RedisConnectionFactory connectionFactory,
+                                                                          ProductResponseCache productResponseCache) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((message, pattern) -> {
+            String productId = new String(message.getBody(), StandardCharsets.UTF_8);
+            productResponseCache.invalidateLocal(Long.valueOf(productId));
+        }, new ChannelTopic(ProductRedisCache.INVALIDATION_CHANNEL));
+        return container;
+    }
+}
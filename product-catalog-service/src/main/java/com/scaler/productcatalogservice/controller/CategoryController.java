@@ -1,12 +1,17 @@
 package com.scaler.productcatalogservice.controller;
 
+import com.scaler.productcatalogservice.cache.CategorySnapshot;
+import com.scaler.productcatalogservice.cache.HttpCachePolicy;
 import com.scaler.productcatalogservice.dto.CategoryRequestDto;
 import com.scaler.productcatalogservice.dto.CategoryResponseDto;
+import com.scaler.productcatalogservice.dto.CategoryTreeNodeDto;
 import com.scaler.productcatalogservice.mapper.CategoryMapper;
 import com.scaler.productcatalogservice.service.AuthorizationGuard;
 import com.scaler.productcatalogservice.service.ProductService;
 import com.scaler.productcatalogservice.model.Category;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -16,9 +21,11 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/v1/categories")
 public class CategoryController {
     private final ProductService productService;
+    private final HttpCachePolicy httpCachePolicy;
 
-    public CategoryController(ProductService productService) {
+    public CategoryController(ProductService productService, HttpCachePolicy httpCachePolicy) {
         this.productService = productService;
+        this.httpCachePolicy = httpCachePolicy;
     }
 
     @PostMapping
@@ -28,15 +35,34 @@ public class CategoryController {
         return CategoryMapper.toResponse(category);
     }
 
+    /**
+     * Clients may send back the snapshot version either as {@code If-None-Match} or as {@code ?version=}
+     * and get a 304 while it is still current.
+     */
     @GetMapping
-    public List<CategoryResponseDto> listCategories() {
-        return productService.listCategories().stream()
-                .map(CategoryMapper::toResponse)
+    public ResponseEntity<List<CategoryResponseDto>> listCategories(@RequestHeader HttpHeaders requestHeaders,
+                                                                    @RequestParam(required = false) Long version) {
+        CategorySnapshot snapshot = productService.getCategorySnapshot();
+        if ((version != null && version == snapshot.getVersion())
+                || HttpCachePolicy.isNotModified(requestHeaders, snapshot.getEtag(), snapshot.getLastModified())) {
+            return HttpCachePolicy.notModified(snapshot.getEtag(), snapshot.getLastModified(), httpCachePolicy.category());
+        }
+        return HttpCachePolicy.ok(snapshot.getCategories(), snapshot.getEtag(), snapshot.getLastModified(),
+                httpCachePolicy.category());
+    }
+
+    @GetMapping("/tree")
+    public List<CategoryTreeNodeDto> getCategoryTree() {
+        return productService.getCategoryTree().stream()
+                .map(CategoryMapper::toTreeNode)
                 .collect(Collectors.toList());
     }
 
     @GetMapping("/{categoryId}")
-    public CategoryResponseDto getCategory(@PathVariable Long categoryId) {
-        return CategoryMapper.toResponse(productService.getCategory(categoryId));
+    public ResponseEntity<CategoryResponseDto> getCategory(@PathVariable Long categoryId) {
+        Category category = productService.getCategory(categoryId);
+        return HttpCachePolicy.ok(CategoryMapper.toResponse(category),
+                HttpCachePolicy.etag("category", categoryId, category.getUpdatedAt()),
+                category.getUpdatedAt(), httpCachePolicy.category());
     }
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.scaler.productcatalogservice.controller;
+
+import com.scaler.productcatalogservice.dto.ReservationResponseDto;
+import com.scaler.productcatalogservice.dto.ReserveStockRequestDto;
+import com.scaler.productcatalogservice.exception.AccessDeniedException;
+import com.scaler.productcatalogservice.mapper.InventoryMapper;
+import com.scaler.productcatalogservice.service.InventoryService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Service-to-service API for stock reservations, authenticated with the internal shared secret.
+ */
+@RestController
+@RequestMapping("/api/v1/inventory/reservations")
+public class InventoryController {
+    private final InventoryService inventoryService;
+    private final String internalSecret;
+
+    public InventoryController(InventoryService inventoryService,
+                               @Value("${security.internal.secret:}") String internalSecret) {
+        this.inventoryService = inventoryService;
+        this.internalSecret = internalSecret;
+    }
+
+    @PostMapping
+    public ReservationResponseDto reserve(@Valid @RequestBody ReserveStockRequestDto request,
+                                          @RequestHeader(value = "X-Internal-Secret", required = false) String secretHeader) {
+        requireInternal(secretHeader);
+        try {
+            return InventoryMapper.toResponse(inventoryService.reserve(request));
+        } catch (DataIntegrityViolationException ex) {
+            // A concurrent request with the same reference inserted first; its stock changes were rolled back.
+            return InventoryMapper.toResponse(inventoryService.getReservation(request.getReference()));
+        }
+    }
+
+    @PostMapping("/{reference}/commit")
+    public ReservationResponseDto commit(@PathVariable String reference,
+                                         @RequestHeader(value = "X-Internal-Secret", required = false) String secretHeader) {
+        requireInternal(secretHeader);
+        return InventoryMapper.toResponse(inventoryService.commit(reference));
+    }
+
+    @PostMapping("/{reference}/release")
+    public ReservationResponseDto release(@PathVariable String reference,
+                                          @RequestHeader(value = "X-Internal-Secret", required = false) String secretHeader) {
+        requireInternal(secretHeader);
+        return InventoryMapper.toResponse(inventoryService.release(reference));
+    }
+
+    @PostMapping("/{reference}/extend")
+    public ReservationResponseDto extend(@PathVariable String reference,
+                                         @RequestHeader(value = "X-Internal-Secret", required = false) String secretHeader) {
+        requireInternal(secretHeader);
+        return InventoryMapper.toResponse(inventoryService.extend(reference));
+    }
+
+    @GetMapping("/{reference}")
+    public ReservationResponseDto getReservation(@PathVariable String reference,
+                                                 @RequestHeader(value = "X-Internal-Secret", required = false) String secretHeader) {
+        requireInternal(secretHeader);
+        return InventoryMapper.toResponse(inventoryService.getReservation(reference));
+    }
+
+    /**
+     * Fails closed: without a configured secret no caller can be trusted with stock changes.
+     */
+    private void requireInternal(String secretHeader) {
+        if (internalSecret == null || internalSecret.isBlank()
+                || secretHeader == null || !internalSecret.equals(secretHeader)) {
+            throw new AccessDeniedException("Invalid internal secret");
+        }
+    }
+}
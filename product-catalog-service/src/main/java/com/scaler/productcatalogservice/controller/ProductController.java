@@ -1,34 +1,71 @@
 package com.scaler.productcatalogservice.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scaler.productcatalogservice.cache.HttpCachePolicy;
+import com.scaler.productcatalogservice.cache.ProductResponseCache;
+import com.scaler.productcatalogservice.cache.SerializedProduct;
 import com.scaler.productcatalogservice.dto.CreateProductRequestDto;
+import com.scaler.productcatalogservice.dto.FacetedPageResponseDto;
 import com.scaler.productcatalogservice.dto.ProductResponseDto;
+import com.scaler.productcatalogservice.dto.StockShardsRequestDto;
 import com.scaler.productcatalogservice.dto.UpdateProductRequestDto;
+import com.scaler.productcatalogservice.mapper.FacetMapper;
 import com.scaler.productcatalogservice.mapper.ProductMapper;
+import com.scaler.productcatalogservice.search.FacetType;
 import com.scaler.productcatalogservice.service.AuthorizationGuard;
 import com.scaler.productcatalogservice.service.ProductFilter;
 import com.scaler.productcatalogservice.service.ProductService;
 import com.scaler.productcatalogservice.model.enums.ProductStatus;
 import com.scaler.productcatalogservice.model.Product;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @RestController
+@Validated
 @RequestMapping("/api/v1/products")
 public class ProductController {
+    private static final String INTERNAL_SECRET_HEADER = "X-Internal-Secret";
+
     private final ProductService productService;
+    private final ProductResponseCache productResponseCache;
+    private final ObjectMapper objectMapper;
+    private final HttpCachePolicy httpCachePolicy;
+    private final String internalSecret;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService,
+                             ProductResponseCache productResponseCache,
+                             ObjectMapper objectMapper,
+                             HttpCachePolicy httpCachePolicy,
+                             @Value("${security.internal.secret:}") String internalSecret) {
         this.productService = productService;
+        this.productResponseCache = productResponseCache;
+        this.objectMapper = objectMapper;
+        this.httpCachePolicy = httpCachePolicy;
+        this.internalSecret = internalSecret;
     }
 
     @PostMapping
@@ -46,38 +83,172 @@ public class ProductController {
         return ProductMapper.toResponse(product);
     }
 
+    @PutMapping("/{productId}/stock-shards")
+    public ProductResponseDto configureStockShards(@PathVariable Long productId,
+                                                   @Valid @RequestBody StockShardsRequestDto request) {
+        AuthorizationGuard.requireRole("ADMIN");
+        Product product = productService.configureStockShards(productId, request.getShards());
+        return ProductMapper.toResponse(product);
+    }
+
     @DeleteMapping("/{productId}")
     public void deleteProduct(@PathVariable Long productId) {
         AuthorizationGuard.requireRole("ADMIN");
         productService.deleteProduct(productId);
     }
 
-    @GetMapping("/{productId}")
-    public ProductResponseDto getProduct(@PathVariable Long productId) {
-        Product product = productService.getProduct(productId);
-        return ProductMapper.toResponse(product);
+    /**
+     * Writes the cached, pre-serialized JSON as is, gzip-encoded when the client accepts it and a
+     * compressed copy exists.
+     */
+    @GetMapping(value = "/{productId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getProduct(@PathVariable Long productId,
+                                             @RequestHeader HttpHeaders requestHeaders) {
+        if (HttpCachePolicy.isConditional(requestHeaders)) {
+            SerializedProduct cached = productResponseCache.peekSerialized(productId);
+            Instant updatedAt = cached != null && cached.getVersion() != null
+                    ? cached.getVersion()
+                    : productService.getProductUpdatedAt(productId);
+            String etag = HttpCachePolicy.etag("product", productId, updatedAt);
+            String gzipEtag = cached != null && cached.getGzip() != null ? cached.getGzipEtag() : null;
+            // A 304 carries the tag of the representation the client holds; for "*" or a date-only check,
+            // the one it would be served.
+            String served = gzipEtag != null && acceptsGzip(requestHeaders) ? gzipEtag : etag;
+            String other = served.equals(etag) ? gzipEtag : etag;
+            if (HttpCachePolicy.isNotModified(requestHeaders, served, updatedAt)) {
+                return HttpCachePolicy.notModified(served, updatedAt, httpCachePolicy.product());
+            }
+            if (other != null && HttpCachePolicy.isNotModified(requestHeaders, other, updatedAt)) {
+                return HttpCachePolicy.notModified(other, updatedAt, httpCachePolicy.product());
+            }
+        }
+
+        SerializedProduct product = productResponseCache.getSerialized(productId,
+                id -> ProductMapper.toResponse(productService.getProduct(id)));
+        // Service-to-service reads (cart pricing, order checks) are not shopper views.
+        if (!isInternal(requestHeaders.getFirst(INTERNAL_SECRET_HEADER))) {
+            productService.recordProductView(productId);
+        }
+        boolean gzip = product.getGzip() != null && acceptsGzip(requestHeaders);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(gzip ? product.getGzipEtag() : product.getEtag())
+                .cacheControl(httpCachePolicy.product())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (product.getVersion() != null) {
+            response.lastModified(product.getVersion());
+        }
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(gzip ? product.getGzip() : product.getJson());
+    }
+
+    @GetMapping(params = "ids")
+    public List<ProductResponseDto> getProducts(@RequestParam @Size(max = 100) List<Long> ids) {
+        return productResponseCache.getAll(ids, missing -> productService.getProducts(missing).stream()
+                .map(ProductMapper::toResponse)
+                .collect(Collectors.toMap(ProductResponseDto::getId, Function.identity())));
     }
 
     @GetMapping
-    public Page<ProductResponseDto> listProducts(@RequestParam(required = false) Long categoryId,
-                                                 @RequestParam(required = false) BigDecimal minPrice,
-                                                 @RequestParam(required = false) BigDecimal maxPrice,
-                                                 @RequestParam(required = false) ProductStatus status,
-                                                 @RequestParam(defaultValue = "0") int page,
-                                                 @RequestParam(defaultValue = "20") int size,
-                                                 @RequestParam(required = false, defaultValue = "createdAt,desc") String sort) {
+    public ResponseEntity<Page<ProductResponseDto>> listProducts(@RequestParam(required = false) Long categoryId,
+                                                                 @RequestParam(required = false) BigDecimal minPrice,
+                                                                 @RequestParam(required = false) BigDecimal maxPrice,
+                                                                 @RequestParam(required = false) ProductStatus status,
+                                                                 @RequestParam(defaultValue = "0") @Min(0) int page,
+                                                                 @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size,
+                                                                 @RequestParam(required = false, defaultValue = "createdAt,desc") String sort,
+                                                                 @RequestHeader HttpHeaders requestHeaders) {
+        ProductFilter filter = buildFilter(categoryId, minPrice, maxPrice, status);
         Pageable pageable = buildPageable(page, size, sort);
+        Page<ProductResponseDto> products = toResponsePage(productService.listProducts(filter, pageable), pageable);
+        // No Last-Modified: a delete leaves the newest timestamp of a page unchanged, so only the tag validates.
+        String query = String.join("&", "categoryId=" + categoryId, "minPrice=" + minPrice,
+                "maxPrice=" + maxPrice, "status=" + status, "page=" + page, "size=" + size, "sort=" + sort);
+        String etag = HttpCachePolicy.pageEtag("products", query, products);
+        if (HttpCachePolicy.isNotModified(requestHeaders, etag, null)) {
+            return HttpCachePolicy.notModified(etag, null, httpCachePolicy.productList());
+        }
+        return HttpCachePolicy.ok(products, etag, null, httpCachePolicy.productList());
+    }
+
+    /**
+     * Streams the whole catalog, so it is limited to service callers holding the internal secret and admins.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant updatedSince,
+            @RequestHeader(value = INTERNAL_SECRET_HEADER, required = false) String secretHeader) {
+        if (!isInternal(secretHeader)) {
+            AuthorizationGuard.requireRole("ADMIN");
+        }
+        StreamingResponseBody body = outputStream -> {
+            productService.exportProducts(updatedSince, product -> {
+                try {
+                    outputStream.write(objectMapper.writeValueAsBytes(ProductMapper.toResponse(product)));
+                    outputStream.write('\n');
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            outputStream.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping(params = {"facets", "!ids"})
+    public FacetedPageResponseDto<ProductResponseDto> listProductsWithFacets(@RequestParam List<String> facets,
+                                                                             @RequestParam(required = false) Long categoryId,
+                                                                             @RequestParam(required = false) BigDecimal minPrice,
+                                                                             @RequestParam(required = false) BigDecimal maxPrice,
+                                                                             @RequestParam(required = false) ProductStatus status,
+                                                                             @RequestParam(defaultValue = "0") @Min(0) int page,
+                                                                             @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size,
+                                                                             @RequestParam(required = false, defaultValue = "createdAt,desc") String sort) {
+        ProductFilter filter = buildFilter(categoryId, minPrice, maxPrice, status);
+        FacetedPageResponseDto<ProductResponseDto> response = new FacetedPageResponseDto<>();
+        response.setResults(loadPage(filter, page, size, sort));
+        response.setFacets(FacetMapper.toResponse(productService.facetProducts(filter, FacetType.parse(facets))));
+        return response;
+    }
+
+    private Page<ProductResponseDto> loadPage(ProductFilter filter, int page, int size, String sort) {
+        Pageable pageable = buildPageable(page, size, sort);
+        return toResponsePage(productService.listProducts(filter, pageable), pageable);
+    }
+
+    private static Page<ProductResponseDto> toResponsePage(Page<Product> products, Pageable pageable) {
+        List<ProductResponseDto> items = products.getContent().stream()
+                .map(ProductMapper::toResponse)
+                .collect(Collectors.toList());
+        return new PageImpl<>(items, pageable, products.getTotalElements());
+    }
+
+    private ProductFilter buildFilter(Long categoryId, BigDecimal minPrice, BigDecimal maxPrice, ProductStatus status) {
         ProductFilter filter = new ProductFilter();
         filter.setCategoryId(categoryId);
         filter.setMinPrice(minPrice);
         filter.setMaxPrice(maxPrice);
         filter.setStatus(status);
+        return filter;
+    }
 
-        Page<Product> products = productService.listProducts(filter, pageable);
-        List<ProductResponseDto> items = products.getContent().stream()
-                .map(ProductMapper::toResponse)
-                .collect(Collectors.toList());
-        return new PageImpl<>(items, pageable, products.getTotalElements());
+    // Fails closed: without a configured secret no caller counts as internal.
+    private boolean isInternal(String secretHeader) {
+        return internalSecret != null && !internalSecret.isBlank() && internalSecret.equals(secretHeader);
+    }
+
+    private static boolean acceptsGzip(HttpHeaders requestHeaders) {
+        for (String value : requestHeaders.getValuesAsList(HttpHeaders.ACCEPT_ENCODING)) {
+            String[] parts = value.split(";");
+            String coding = parts[0].trim();
+            boolean refused = parts.length > 1 && parts[1].replace(" ", "").matches("q=0(\\.0{0,3})?");
+            if ((coding.equalsIgnoreCase("gzip") || coding.equals("*")) && !refused) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private Pageable buildPageable(int page, int size, String sort) {
@@ -0,0 +1,37 @@
+package com.scaler.productcatalogservice.controller;
+
+import com.scaler.productcatalogservice.dto.ProductImportResponseDto;
+import com.scaler.productcatalogservice.mapper.ProductImportMapper;
+import com.scaler.productcatalogservice.service.AuthorizationGuard;
+import com.scaler.productcatalogservice.service.ProductImportFormat;
+import com.scaler.productcatalogservice.service.ProductImportService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/v1/products")
+public class ProductImportController {
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private final ProductImportService productImportService;
+
+    public ProductImportController(ProductImportService productImportService) {
+        this.productImportService = productImportService;
+    }
+
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ProductImportResponseDto importProducts(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                   InputStream body) {
+        AuthorizationGuard.requireRole("ADMIN");
+        ProductImportFormat format = TEXT_CSV.isCompatibleWith(MediaType.parseMediaType(contentType))
+                ? ProductImportFormat.CSV
+                : ProductImportFormat.NDJSON;
+        return ProductImportMapper.toResponse(productImportService.importProducts(body, format));
+    }
+}
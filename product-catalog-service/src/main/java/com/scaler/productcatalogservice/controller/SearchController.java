@@ -1,13 +1,24 @@
 package com.scaler.productcatalogservice.controller;
 
+import com.scaler.productcatalogservice.dto.FacetedPageResponseDto;
 import com.scaler.productcatalogservice.dto.ProductSearchResponseDto;
+import com.scaler.productcatalogservice.dto.ProductSearchSliceResponseDto;
+import com.scaler.productcatalogservice.dto.SuggestionDto;
+import com.scaler.productcatalogservice.mapper.FacetMapper;
 import com.scaler.productcatalogservice.mapper.ProductSearchMapper;
+import com.scaler.productcatalogservice.mapper.SuggestionMapper;
+import com.scaler.productcatalogservice.search.FacetType;
+import com.scaler.productcatalogservice.service.ProductSearchSlice;
 import com.scaler.productcatalogservice.service.ProductService;
 import com.scaler.productcatalogservice.model.Product;
+import jakarta.validation.constraints.AssertFalse;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -17,6 +28,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @RestController
+@Validated
 @RequestMapping("/api/v1/products")
 public class SearchController {
     private final ProductService productService;
@@ -27,13 +39,59 @@ public class SearchController {
 
     @GetMapping("/search")
     public Page<ProductSearchResponseDto> search(@RequestParam String q,
-                                                 @RequestParam(defaultValue = "0") int page,
-                                                 @RequestParam(defaultValue = "20") int size) {
+                                                 @RequestParam(defaultValue = "0") @Min(0) int page,
+                                                 @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size,
+                                                 @RequestParam(defaultValue = "false") boolean fuzzy) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<Product> results = productService.searchProducts(q, pageable);
+        Page<Product> results = fuzzy
+                ? productService.fuzzySearchProducts(q, pageable)
+                : productService.searchProducts(q, pageable);
         List<ProductSearchResponseDto> items = results.getContent().stream()
                 .map(ProductSearchMapper::toResponse)
                 .collect(Collectors.toList());
         return new PageImpl<>(items, pageable, results.getTotalElements());
     }
-}
\ No newline at end of file
+
+    @GetMapping(value = "/search", params = {"facets", "!after"})
+    public FacetedPageResponseDto<ProductSearchResponseDto> searchWithFacets(@RequestParam String q,
+                                                                             @RequestParam List<String> facets,
+                                                                             @RequestParam(defaultValue = "0") @Min(0) int page,
+                                                                             @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size,
+                                                                             @RequestParam(defaultValue = "false") boolean fuzzy) {
+        FacetedPageResponseDto<ProductSearchResponseDto> response = new FacetedPageResponseDto<>();
+        response.setResults(search(q, page, size, fuzzy));
+        response.setFacets(FacetMapper.toResponse(productService.facetSearch(q, fuzzy, FacetType.parse(facets))));
+        return response;
+    }
+
+    @GetMapping(value = "/search", params = "after")
+    public ProductSearchSliceResponseDto searchAfter(@RequestParam String q,
+                                                     @RequestParam String after,
+                                                     @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size,
+                                                     @RequestParam(defaultValue = "false") boolean includeTotal,
+                                                     @RequestParam(required = false) List<String> facets,
+                                                     @RequestParam(defaultValue = "false")
+                                                     @AssertFalse(message = "fuzzy search does not support cursor paging")
+                                                     boolean fuzzy) {
+        ProductSearchSlice slice = productService.searchProductsAfter(q, after, size, includeTotal);
+        ProductSearchSliceResponseDto response = new ProductSearchSliceResponseDto();
+        response.setItems(slice.getProducts().stream()
+                .map(ProductSearchMapper::toResponse)
+                .collect(Collectors.toList()));
+        response.setHasNext(slice.isHasNext());
+        response.setNextCursor(slice.getNextCursor());
+        response.setApproximateTotal(slice.getApproximateTotal());
+        if (facets != null && !facets.isEmpty()) {
+            response.setFacets(FacetMapper.toResponse(productService.facetSearch(q, false, FacetType.parse(facets))));
+        }
+        return response;
+    }
+
+    @GetMapping("/suggest")
+    public List<SuggestionDto> suggest(@RequestParam String prefix,
+                                       @RequestParam(defaultValue = "10") int limit) {
+        return productService.suggest(prefix, limit).stream()
+                .map(SuggestionMapper::toResponse)
+                .collect(Collectors.toList());
+    }
+}
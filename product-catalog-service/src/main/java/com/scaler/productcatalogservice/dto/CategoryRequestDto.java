@@ -14,4 +14,6 @@ public class CategoryRequestDto {
 
     @Size(max = 1000)
     private String description;
+
+    private Long parentId;
 }
\ No newline at end of file
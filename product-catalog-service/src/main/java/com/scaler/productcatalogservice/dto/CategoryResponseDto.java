@@ -9,4 +9,8 @@ public class CategoryResponseDto {
     private Long id;
     private String name;
     private String description;
+    private Long parentId;
+    private String path;
+    private int depth;
+    private long productCount;
 }
\ No newline at end of file
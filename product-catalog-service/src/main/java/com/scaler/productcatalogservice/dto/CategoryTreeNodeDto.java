@@ -0,0 +1,18 @@
+package com.scaler.productcatalogservice.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+public class CategoryTreeNodeDto {
+    private Long id;
+    private String name;
+    private String path;
+    private int depth;
+    private long productCount;
+    private List<CategoryTreeNodeDto> children = new ArrayList<>();
+}
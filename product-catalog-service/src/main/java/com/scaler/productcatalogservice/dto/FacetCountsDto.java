@@ -0,0 +1,16 @@
+package com.scaler.productcatalogservice.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+public class FacetCountsDto {
+    private long total;
+    private List<FacetValueDto> categories;
+    private List<FacetValueDto> priceBuckets;
+    private Map<String, List<FacetValueDto>> specifications;
+}
@@ -0,0 +1,12 @@
+package com.scaler.productcatalogservice.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class FacetValueDto {
+    private String value;
+    private String label;
+    private long count;
+}
@@ -0,0 +1,12 @@
+package com.scaler.productcatalogservice.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.domain.Page;
+
+@Getter
+@Setter
+public class FacetedPageResponseDto<T> {
+    private Page<T> results;
+    private FacetCountsDto facets;
+}
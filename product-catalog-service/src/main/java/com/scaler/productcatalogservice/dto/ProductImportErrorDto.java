@@ -0,0 +1,12 @@
+package com.scaler.productcatalogservice.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ProductImportErrorDto {
+    private long row;
+    private String sku;
+    private String message;
+}
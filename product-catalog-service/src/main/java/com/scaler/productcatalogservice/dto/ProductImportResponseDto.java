@@ -0,0 +1,18 @@
+package com.scaler.productcatalogservice.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class ProductImportResponseDto {
+    private long processed;
+    private long imported;
+    private long failed;
+    private long durationMs;
+    private double rowsPerSecond;
+    private List<ProductImportErrorDto> errors;
+    private boolean errorsTruncated;
+}
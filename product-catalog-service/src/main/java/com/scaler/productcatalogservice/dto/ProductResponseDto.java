@@ -5,6 +5,7 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 
 @Getter
@@ -21,4 +22,6 @@ public class ProductResponseDto {
     private CategoryResponseDto category;
     private List<ProductImageDto> images;
     private List<ProductSpecificationDto> specifications;
+    private Instant updatedAt;
+    private long revision;
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.scaler.productcatalogservice.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class ProductSearchSliceResponseDto {
+    private List<ProductSearchResponseDto> items;
+    private boolean hasNext;
+    private String nextCursor;
+    private Long approximateTotal;
+    private FacetCountsDto facets;
+}
@@ -0,0 +1,17 @@
+package com.scaler.productcatalogservice.dto;
+
+import com.scaler.productcatalogservice.model.enums.ReservationStatus;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.List;
+
+@Getter
+@Setter
+public class ReservationResponseDto {
+    private String reference;
+    private ReservationStatus status;
+    private Instant expiresAt;
+    private List<ReservationItemDto> items;
+}
@@ -0,0 +1,26 @@
+package com.scaler.productcatalogservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class ReserveStockRequestDto {
+    @NotBlank
+    @Size(max = 100)
+    private String reference;
+
+    @NotEmpty
+    @Size(max = 100)
+    private List<@Valid ReservationItemDto> items;
+
+    @Positive
+    private Integer ttlSeconds;
+}
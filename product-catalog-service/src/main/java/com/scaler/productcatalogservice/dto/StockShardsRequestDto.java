@@ -0,0 +1,16 @@
+package com.scaler.productcatalogservice.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class StockShardsRequestDto {
+    @NotNull
+    @Min(0)
+    @Max(64)
+    private Integer shards;
+}
@@ -0,0 +1,12 @@
+package com.scaler.productcatalogservice.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class SuggestionDto {
+    private String type;
+    private Long id;
+    private String text;
+}
@@ -0,0 +1,7 @@
+package com.scaler.productcatalogservice.exception;
+
+public class InvalidSearchCursorException extends RuntimeException {
+    public InvalidSearchCursorException(String message) {
+        super(message);
+    }
+}
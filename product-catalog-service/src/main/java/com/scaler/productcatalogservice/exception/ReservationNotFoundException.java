@@ -0,0 +1,7 @@
+package com.scaler.productcatalogservice.exception;
+
+public class ReservationNotFoundException extends RuntimeException {
+    public ReservationNotFoundException(String message) {
+        super(message);
+    }
+}
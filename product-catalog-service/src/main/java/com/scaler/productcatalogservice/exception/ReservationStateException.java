@@ -0,0 +1,7 @@
+package com.scaler.productcatalogservice.exception;
+
+public class ReservationStateException extends RuntimeException {
+    public ReservationStateException(String message) {
+        super(message);
+    }
+}
@@ -5,7 +5,12 @@ import com.scaler.productcatalogservice.exception.AccessDeniedException;
 import com.scaler.productcatalogservice.exception.CategoryAlreadyExistsException;
 import com.scaler.productcatalogservice.exception.CategoryNotFoundException;
 import com.scaler.productcatalogservice.exception.DuplicateSkuException;
+import com.scaler.productcatalogservice.exception.InsufficientStockException;
+import com.scaler.productcatalogservice.exception.InvalidImportException;
+import com.scaler.productcatalogservice.exception.InvalidSearchCursorException;
 import com.scaler.productcatalogservice.exception.ProductNotFoundException;
+import com.scaler.productcatalogservice.exception.ReservationNotFoundException;
+import com.scaler.productcatalogservice.exception.ReservationStateException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
@@ -51,6 +56,36 @@ public class GlobalExceptionHandler {
         return buildError(HttpStatus.CONFLICT, "CATEGORY_EXISTS", exception.getMessage(), request, null);
     }
 
+    @ExceptionHandler(InvalidSearchCursorException.class)
+    public ResponseEntity<ErrorDto> handleInvalidCursor(InvalidSearchCursorException exception,
+                                                        HttpServletRequest request) {
+        return buildError(HttpStatus.BAD_REQUEST, "INVALID_CURSOR", exception.getMessage(), request, null);
+    }
+
+    @ExceptionHandler(InvalidImportException.class)
+    public ResponseEntity<ErrorDto> handleInvalidImport(InvalidImportException exception,
+                                                        HttpServletRequest request) {
+        return buildError(HttpStatus.BAD_REQUEST, "INVALID_IMPORT", exception.getMessage(), request, null);
+    }
+
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<ErrorDto> handleInsufficientStock(InsufficientStockException exception,
+                                                            HttpServletRequest request) {
+        return buildError(HttpStatus.CONFLICT, "INSUFFICIENT_STOCK", exception.getMessage(), request, null);
+    }
+
+    @ExceptionHandler(ReservationNotFoundException.class)
+    public ResponseEntity<ErrorDto> handleReservationNotFound(ReservationNotFoundException exception,
+                                                              HttpServletRequest request) {
+        return buildError(HttpStatus.NOT_FOUND, "RESERVATION_NOT_FOUND", exception.getMessage(), request, null);
+    }
+
+    @ExceptionHandler(ReservationStateException.class)
+    public ResponseEntity<ErrorDto> handleReservationState(ReservationStateException exception,
+                                                           HttpServletRequest request) {
+        return buildError(HttpStatus.CONFLICT, "INVALID_RESERVATION_STATE", exception.getMessage(), request, null);
+    }
+
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<ErrorDto> handleAccessDenied(AccessDeniedException exception,
                                                        HttpServletRequest request) {
@@ -0,0 +1,103 @@
+package com.scaler.productcatalogservice.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scaler.ecommerce.common.events.EventEnvelope;
+import com.scaler.ecommerce.common.events.ProductDeletedEvent;
+import com.scaler.ecommerce.common.events.ProductUpdatedEvent;
+import com.scaler.ecommerce.common.events.StockChangedEvent;
+import com.scaler.productcatalogservice.model.Product;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Publishes product changes once the transaction that made them has committed. Messages are keyed by product
+ * id so that all events of a product land on one partition in order, and versioned by the product's
+ * {@link Product#getRevision() revision} so consumers can drop anything older than what they hold.
+ */
+@Component
+public class ProductEventPublisher {
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final String productEventsTopic;
+
+    public ProductEventPublisher(KafkaTemplate<String, String> kafkaTemplate,
+                                 ObjectMapper objectMapper,
+                                 @Value("${kafka.topics.product-events}") String productEventsTopic) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.productEventsTopic = productEventsTopic;
+    }
+
+    public void publishProductUpdated(Product product) {
+        ProductUpdatedEvent event = new ProductUpdatedEvent();
+        event.setProductId(product.getId());
+        event.setSku(product.getSku());
+        event.setName(product.getName());
+        event.setPrice(product.getPrice());
+        event.setCurrency(product.getCurrency());
+        event.setStatus(product.getStatus().name());
+        event.setCategoryId(product.getCategory() != null ? product.getCategory().getId() : null);
+        event.setStockQuantity(product.availableStock());
+        // The revision is bumped when the entity is flushed, so it is read once the transaction has committed.
+        afterCommit("product.updated", product.getId(), event, () -> event.setVersion(product.getRevision()));
+    }
+
+    public void publishProductDeleted(Product product) {
+        ProductDeletedEvent event = new ProductDeletedEvent();
+        event.setProductId(product.getId());
+        event.setVersion(product.getRevision() + 1);
+        afterCommit("product.deleted", product.getId(), event, () -> { });
+    }
+
+    /**
+     * {@code revision} must have been read in the transaction that changed the stock, after the change.
+     */
+    public void publishStockChanged(Long productId, int stockQuantity, long revision) {
+        StockChangedEvent event = new StockChangedEvent();
+        event.setProductId(productId);
+        event.setStockQuantity(stockQuantity);
+        event.setVersion(revision);
+        afterCommit("stock.changed", productId, event, () -> { });
+    }
+
+    private void afterCommit(String eventType, Long productId, Object payload, Runnable beforeSend) {
+        String correlationId = MDC.get("correlationId");
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            beforeSend.run();
+            publish(eventType, correlationId, productId, payload);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                beforeSend.run();
+                publish(eventType, correlationId, productId, payload);
+            }
+        });
+    }
+
+    private void publish(String eventType, String correlationId, Long productId, Object payload) {
+        EventEnvelope<Object> envelope = new EventEnvelope<>();
+        envelope.setId(UUID.randomUUID().toString());
+        envelope.setType(eventType);
+        envelope.setSource("product-catalog-service");
+        envelope.setOccurredAt(Instant.now());
+        envelope.setCorrelationId(correlationId != null ? correlationId : UUID.randomUUID().toString());
+        envelope.setPayload(payload);
+
+        try {
+            String message = objectMapper.writeValueAsString(envelope);
+            kafkaTemplate.send(productEventsTopic, String.valueOf(productId), message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize product event", e);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.scaler.productcatalogservice.mapper;
 
+import com.scaler.productcatalogservice.cache.CategoryNode;
 import com.scaler.productcatalogservice.dto.CategoryResponseDto;
+import com.scaler.productcatalogservice.dto.CategoryTreeNodeDto;
 import com.scaler.productcatalogservice.model.Category;
 
 public class CategoryMapper {
@@ -13,6 +15,35 @@ public class CategoryMapper {
         dto.setId(category.getId());
         dto.setName(category.getName());
         dto.setDescription(category.getDescription());
+        dto.setParentId(category.getParent() != null ? category.getParent().getId() : null);
+        dto.setPath(category.getPath());
+        dto.setDepth(category.getDepth());
+        dto.setProductCount(category.getProductCount());
         return dto;
     }
-}
\ No newline at end of file
+
+    public static CategoryResponseDto toResponse(CategoryNode node) {
+        CategoryResponseDto dto = new CategoryResponseDto();
+        dto.setId(node.getId());
+        dto.setName(node.getName());
+        dto.setDescription(node.getDescription());
+        dto.setParentId(node.getParentId());
+        dto.setPath(node.getPath());
+        dto.setDepth(node.getDepth());
+        dto.setProductCount(node.getProductCount());
+        return dto;
+    }
+
+    public static CategoryTreeNodeDto toTreeNode(CategoryNode node) {
+        CategoryTreeNodeDto dto = new CategoryTreeNodeDto();
+        dto.setId(node.getId());
+        dto.setName(node.getName());
+        dto.setPath(node.getPath());
+        dto.setDepth(node.getDepth());
+        dto.setProductCount(node.getProductCount());
+        for (CategoryNode child : node.getChildren()) {
+            dto.getChildren().add(toTreeNode(child));
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,43 @@
+package com.scaler.productcatalogservice.mapper;
+
+import com.scaler.productcatalogservice.dto.FacetCountsDto;
+import com.scaler.productcatalogservice.dto.FacetValueDto;
+import com.scaler.productcatalogservice.search.FacetCount;
+import com.scaler.productcatalogservice.search.FacetCounts;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class FacetMapper {
+    public static FacetCountsDto toResponse(FacetCounts counts) {
+        if (counts == null) {
+            return null;
+        }
+
+        FacetCountsDto dto = new FacetCountsDto();
+        dto.setTotal(counts.getTotal());
+        dto.setCategories(toValues(counts.getCategories()));
+        dto.setPriceBuckets(toValues(counts.getPriceBuckets()));
+        if (counts.getSpecifications() != null) {
+            Map<String, List<FacetValueDto>> specifications = new LinkedHashMap<>();
+            counts.getSpecifications().forEach((key, values) -> specifications.put(key, toValues(values)));
+            dto.setSpecifications(specifications);
+        }
+        return dto;
+    }
+
+    private static List<FacetValueDto> toValues(List<FacetCount> counts) {
+        if (counts == null) {
+            return null;
+        }
+        return counts.stream().map(count -> {
+            FacetValueDto dto = new FacetValueDto();
+            dto.setValue(count.getValue());
+            dto.setLabel(count.getLabel());
+            dto.setCount(count.getCount());
+            return dto;
+        }).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,23 @@
+package com.scaler.productcatalogservice.mapper;
+
+import com.scaler.productcatalogservice.dto.ReservationItemDto;
+import com.scaler.productcatalogservice.dto.ReservationResponseDto;
+import com.scaler.productcatalogservice.model.InventoryReservation;
+
+import java.util.stream.Collectors;
+
+public class InventoryMapper {
+    public static ReservationResponseDto toResponse(InventoryReservation reservation) {
+        ReservationResponseDto dto = new ReservationResponseDto();
+        dto.setReference(reservation.getReference());
+        dto.setStatus(reservation.getStatus());
+        dto.setExpiresAt(reservation.getExpiresAt());
+        dto.setItems(reservation.getItems().stream().map(item -> {
+            ReservationItemDto itemDto = new ReservationItemDto();
+            itemDto.setProductId(item.getProductId());
+            itemDto.setQuantity(item.getQuantity());
+            return itemDto;
+        }).collect(Collectors.toList()));
+        return dto;
+    }
+}
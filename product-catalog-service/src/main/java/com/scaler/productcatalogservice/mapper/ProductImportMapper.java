@@ -0,0 +1,27 @@
+package com.scaler.productcatalogservice.mapper;
+
+import com.scaler.productcatalogservice.dto.ProductImportErrorDto;
+import com.scaler.productcatalogservice.dto.ProductImportResponseDto;
+import com.scaler.productcatalogservice.service.ProductImportResult;
+
+import java.util.stream.Collectors;
+
+public class ProductImportMapper {
+    public static ProductImportResponseDto toResponse(ProductImportResult result) {
+        ProductImportResponseDto dto = new ProductImportResponseDto();
+        dto.setProcessed(result.getProcessed());
+        dto.setImported(result.getImported());
+        dto.setFailed(result.getFailed());
+        dto.setDurationMs(result.getDurationMs());
+        dto.setRowsPerSecond(result.getRowsPerSecond());
+        dto.setErrorsTruncated(result.isErrorsTruncated());
+        dto.setErrors(result.getErrors().stream().map(error -> {
+            ProductImportErrorDto errorDto = new ProductImportErrorDto();
+            errorDto.setRow(error.getRow());
+            errorDto.setSku(error.getSku());
+            errorDto.setMessage(error.getMessage());
+            return errorDto;
+        }).collect(Collectors.toList()));
+        return dto;
+    }
+}
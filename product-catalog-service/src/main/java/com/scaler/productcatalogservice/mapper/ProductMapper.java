@@ -1,6 +1,7 @@
 package com.scaler.productcatalogservice.mapper;
 
 import com.scaler.productcatalogservice.dto.*;
+import com.scaler.productcatalogservice.model.Category;
 import com.scaler.productcatalogservice.model.Product;
 import com.scaler.productcatalogservice.model.ProductImage;
 import com.scaler.productcatalogservice.model.ProductSpecification;
@@ -21,14 +22,31 @@ public class ProductMapper {
         dto.setDescription(product.getDescription());
         dto.setPrice(product.getPrice());
         dto.setCurrency(product.getCurrency());
-        dto.setStockQuantity(product.getStockQuantity());
+        dto.setStockQuantity(product.availableStock());
         dto.setStatus(product.getStatus());
         dto.setCategory(CategoryMapper.toResponse(product.getCategory()));
         dto.setImages(product.getImages().stream().map(ProductMapper::toImageDto).collect(Collectors.toList()));
         dto.setSpecifications(product.getSpecifications().stream().map(ProductMapper::toSpecDto).collect(Collectors.toList()));
+        dto.setUpdatedAt(product.lastModified());
+        dto.setRevision(product.getRevision());
         return dto;
     }
 
+    public static Product toProduct(CreateProductRequestDto request, Category category) {
+        Product product = new Product();
+        product.setSku(request.getSku());
+        product.setName(request.getName());
+        product.setDescription(request.getDescription());
+        product.setPrice(request.getPrice());
+        product.setCurrency(request.getCurrency());
+        product.setStockQuantity(request.getStockQuantity());
+        product.setStatus(request.getStatus());
+        product.setCategory(category);
+        product.getImages().addAll(toImages(request.getImages(), product));
+        product.getSpecifications().addAll(toSpecifications(request.getSpecifications(), product));
+        return product;
+    }
+
     public static ProductImageDto toImageDto(ProductImage image) {
         ProductImageDto dto = new ProductImageDto();
         dto.setUrl(image.getUrl());
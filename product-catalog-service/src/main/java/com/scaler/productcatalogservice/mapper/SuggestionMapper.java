@@ -0,0 +1,14 @@
+package com.scaler.productcatalogservice.mapper;
+
+import com.scaler.productcatalogservice.dto.SuggestionDto;
+import com.scaler.productcatalogservice.search.Suggestion;
+
+public class SuggestionMapper {
+    public static SuggestionDto toResponse(Suggestion suggestion) {
+        SuggestionDto dto = new SuggestionDto();
+        dto.setType(suggestion.getType().name());
+        dto.setId(suggestion.getId());
+        dto.setText(suggestion.getText());
+        return dto;
+    }
+}
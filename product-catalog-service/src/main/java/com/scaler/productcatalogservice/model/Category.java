@@ -2,9 +2,13 @@ package com.scaler.productcatalogservice.model;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
@@ -12,11 +16,13 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 
 @Getter
 @Setter
 @Entity
-@Table(name = "categories")
+@Table(name = "categories", indexes = @Index(name = "idx_categories_path", columnList = "path"))
 public class Category {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -28,6 +34,26 @@ public class Category {
     @Column(length = 1000)
     private String description;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "parent_id")
+    private Category parent;
+
+    /**
+     * Materialized path of ancestor ids including this category, e.g. {@code /1/5/12/}. Every descendant's
+     * path starts with it, so a subtree is a single prefix range on the indexed column.
+     */
+    @Column(length = 500)
+    private String path;
+
+    @Column(nullable = false)
+    private int depth;
+
+    /**
+     * Number of products in this category and all of its descendants.
+     */
+    @Column(name = "product_count", nullable = false)
+    private long productCount;
+
     @Column(name = "created_at", nullable = false)
     private Instant createdAt;
 
@@ -45,4 +71,21 @@ public class Category {
     public void onUpdate() {
         this.updatedAt = Instant.now();
     }
-}
\ No newline at end of file
+
+    /**
+     * Ids on the path from the root down to this category. Falls back to the own id before a path is assigned.
+     */
+    public List<Long> pathIds() {
+        List<Long> ids = new ArrayList<>();
+        if (path == null) {
+            ids.add(id);
+            return ids;
+        }
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) {
+                ids.add(Long.valueOf(segment));
+            }
+        }
+        return ids;
+    }
+}
@@ -10,14 +10,18 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -27,10 +31,11 @@ import java.util.List;
 @Getter
 @Setter
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = @Index(name = "idx_products_updated_at", columnList = "updated_at"))
 public class Product {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "product_seq", allocationSize = 100)
     private Long id;
 
     @Column(nullable = false, unique = true, length = 80)
@@ -51,6 +56,19 @@ public class Product {
     @Column(name = "stock_quantity", nullable = false)
     private Integer stockQuantity;
 
+    /**
+     * Number of {@link ProductStockShard} rows holding this product's stock, 0 when it is kept in
+     * {@link #stockQuantity}.
+     */
+    @Column(name = "stock_shards", nullable = false)
+    private int stockShards;
+
+    @Transient
+    private Long shardedStock;
+
+    @Transient
+    private Instant shardsUpdatedAt;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
     private ProductStatus status;
@@ -59,9 +77,11 @@ public class Product {
     @JoinColumn(name = "category_id", nullable = false)
     private Category category;
 
+    @BatchSize(size = 100)
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<ProductImage> images = new ArrayList<>();
 
+    @BatchSize(size = 100)
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<ProductSpecification> specifications = new ArrayList<>();
 
@@ -71,6 +91,30 @@ public class Product {
     @Column(name = "updated_at", nullable = false)
     private Instant updatedAt;
 
+    /**
+     * Incremented by every write to the row, including the stock UPDATEs that bypass the entity. Product
+     * events carry it as their version.
+     */
+    @Column(nullable = false)
+    private long revision;
+
+    /**
+     * Stock available for sale, including the shards once they have been loaded.
+     */
+    public int availableStock() {
+        int stock = stockQuantity != null ? stockQuantity : 0;
+        return shardedStock != null ? (int) (stock + shardedStock) : stock;
+    }
+
+    /**
+     * Version of the product as served: the later of the row's {@link #updatedAt} and the last shard change.
+     */
+    public Instant lastModified() {
+        return shardsUpdatedAt != null && (updatedAt == null || shardsUpdatedAt.isAfter(updatedAt))
+                ? shardsUpdatedAt
+                : updatedAt;
+    }
+
     @PrePersist
     public void onCreate() {
         Instant now = Instant.now();
@@ -81,5 +125,6 @@ public class Product {
     @PreUpdate
     public void onUpdate() {
         this.updatedAt = Instant.now();
+        this.revision++;
     }
 }
\ No newline at end of file
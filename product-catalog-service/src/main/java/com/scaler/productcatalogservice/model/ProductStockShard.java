@@ -0,0 +1,47 @@
+package com.scaler.productcatalogservice.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * One slice of a hot product's stock. Reservations decrement a random slice, so concurrent buyers of the
+ * same product rarely wait on the same row lock.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "product_stock_shards",
+        uniqueConstraints = @UniqueConstraint(name = "uk_product_stock_shards_product_shard",
+                columnNames = {"product_id", "shard"}),
+        indexes = @Index(name = "idx_product_stock_shards_updated_at", columnList = "updated_at"))
+public class ProductStockShard {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private Integer shard;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    /**
+     * Last change to this slice. Stock moves here without touching the product row, so the product's
+     * version is the later of the two.
+     */
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+}
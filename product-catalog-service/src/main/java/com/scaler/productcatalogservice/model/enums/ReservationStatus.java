@@ -0,0 +1,8 @@
+package com.scaler.productcatalogservice.model.enums;
+
+public enum ReservationStatus {
+    HELD,
+    COMMITTED,
+    RELEASED,
+    EXPIRED
+}
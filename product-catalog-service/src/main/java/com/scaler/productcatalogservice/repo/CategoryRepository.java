@@ -2,9 +2,28 @@ package com.scaler.productcatalogservice.repo;
 
 import com.scaler.productcatalogservice.model.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
     Optional<Category> findByNameIgnoreCase(String name);
-}
\ No newline at end of file
+
+    @Query("select p.category.id, count(p) from Product p group by p.category.id")
+    List<Object[]> countProductsByCategory();
+
+    @Modifying
+    @Query("""
+            update Category c
+            set c.productCount = c.productCount + :delta, c.updatedAt = :updatedAt
+            where c.id in :categoryIds
+            """)
+    int adjustProductCount(@Param("categoryIds") Collection<Long> categoryIds,
+                           @Param("delta") long delta,
+                           @Param("updatedAt") Instant updatedAt);
+}
@@ -0,0 +1,33 @@
+package com.scaler.productcatalogservice.repo;
+
+import com.scaler.productcatalogservice.model.InventoryReservation;
+import com.scaler.productcatalogservice.model.enums.ReservationStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface InventoryReservationRepository extends JpaRepository<InventoryReservation, Long> {
+    @EntityGraph(attributePaths = "items")
+    Optional<InventoryReservation> findByReference(String reference);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from InventoryReservation r where r.reference = :reference")
+    Optional<InventoryReservation> findByReferenceForUpdate(@Param("reference") String reference);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from InventoryReservation r where r.id = :reservationId")
+    Optional<InventoryReservation> findByIdForUpdate(@Param("reservationId") Long reservationId);
+
+    @Query("select r.id from InventoryReservation r where r.status = :status and r.expiresAt < :now order by r.expiresAt")
+    List<Long> findIdsExpiredBefore(@Param("status") ReservationStatus status,
+                                    @Param("now") Instant now,
+                                    Pageable pageable);
+}
@@ -1,39 +1,168 @@
 package com.scaler.productcatalogservice.repo;
 
 import com.scaler.productcatalogservice.model.Product;
+import com.scaler.productcatalogservice.model.enums.ProductStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
     Optional<Product> findBySku(String sku);
 
+    @Query("select p.updatedAt from Product p where p.id = :productId")
+    Optional<Instant> findUpdatedAtById(@Param("productId") Long productId);
+
+    @Query("select p.sku from Product p where p.sku in :skus")
+    List<String> findExistingSkus(@Param("skus") Collection<String> skus);
+
+    @Override
+    @EntityGraph(attributePaths = "category")
+    Page<Product> findAll(Specification<Product> specification, Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = "category")
+    List<Product> findAllById(Iterable<Long> ids);
+
+    @EntityGraph(attributePaths = "category")
     @Query(value = """
-            select distinct p from Product p
+            select p from Product p
             left join p.category c
-            left join p.specifications s
             where (:query is null or :query = '' or
                    lower(p.name) like lower(concat('%', :query, '%')) or
                    lower(p.description) like lower(concat('%', :query, '%')) or
                    lower(c.name) like lower(concat('%', :query, '%')) or
-                   lower(s.specKey) like lower(concat('%', :query, '%')) or
-                   lower(s.specValue) like lower(concat('%', :query, '%')))
+                   exists (select 1 from ProductSpecification s
+                           where s.product = p and
+                                 (lower(s.specKey) like lower(concat('%', :query, '%')) or
+                                  lower(s.specValue) like lower(concat('%', :query, '%')))))
             """,
             countQuery = """
-                    select count(distinct p) from Product p
+                    select count(p) from Product p
                     left join p.category c
-                    left join p.specifications s
                     where (:query is null or :query = '' or
                            lower(p.name) like lower(concat('%', :query, '%')) or
                            lower(p.description) like lower(concat('%', :query, '%')) or
                            lower(c.name) like lower(concat('%', :query, '%')) or
-                           lower(s.specKey) like lower(concat('%', :query, '%')) or
-                           lower(s.specValue) like lower(concat('%', :query, '%')))
+                           exists (select 1 from ProductSpecification s
+                                   where s.product = p and
+                                         (lower(s.specKey) like lower(concat('%', :query, '%')) or
+                                          lower(s.specValue) like lower(concat('%', :query, '%')))))
                     """)
     Page<Product> search(@Param("query") String query, Pageable pageable);
-}
\ No newline at end of file
+
+    @EntityGraph(attributePaths = "category")
+    @Query("""
+            select p from Product p
+            left join p.category c
+            where p.id > :afterId and
+                  (:query is null or :query = '' or
+                   lower(p.name) like lower(concat('%', :query, '%')) or
+                   lower(p.description) like lower(concat('%', :query, '%')) or
+                   lower(c.name) like lower(concat('%', :query, '%')) or
+                   exists (select 1 from ProductSpecification s
+                           where s.product = p and
+                                 (lower(s.specKey) like lower(concat('%', :query, '%')) or
+                                  lower(s.specValue) like lower(concat('%', :query, '%')))))
+            order by p.id
+            """)
+    List<Product> searchAfter(@Param("query") String query, @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Next batch in id order after {@code afterId}, for walking the whole table without offset scans.
+     */
+    @EntityGraph(attributePaths = "category")
+    @Query("select p from Product p where p.id > :afterId order by p.id")
+    List<Product> findBatchAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("""
+            select count(p) from Product p
+            left join p.category c
+            where (:query is null or :query = '' or
+                   lower(p.name) like lower(concat('%', :query, '%')) or
+                   lower(p.description) like lower(concat('%', :query, '%')) or
+                   lower(c.name) like lower(concat('%', :query, '%')) or
+                   exists (select 1 from ProductSpecification s
+                           where s.product = p and
+                                 (lower(s.specKey) like lower(concat('%', :query, '%')) or
+                                  lower(s.specValue) like lower(concat('%', :query, '%')))))
+            """)
+    long countSearch(@Param("query") String query);
+
+    /**
+     * Deducts {@code quantity} only if that much is in stock, in one atomic statement. Returns 0 otherwise.
+     */
+    @Modifying
+    @Query("""
+            update Product p
+            set p.stockQuantity = p.stockQuantity - :quantity, p.updatedAt = :now, p.revision = p.revision + 1
+            where p.id = :productId and p.status = :status and p.stockQuantity >= :quantity
+            """)
+    int decrementStock(@Param("productId") Long productId,
+                       @Param("quantity") int quantity,
+                       @Param("status") ProductStatus status,
+                       @Param("now") Instant now);
+
+    @Query("select p.stockQuantity from Product p where p.id = :productId")
+    Optional<Integer> findStockQuantity(@Param("productId") Long productId);
+
+    /**
+     * Id, stock and revision of the given unsharded products, as seen by the current transaction.
+     */
+    @Query("select p.id, p.stockQuantity, p.revision from Product p where p.id in :productIds and p.stockShards = 0")
+    List<Object[]> findStockRevisions(@Param("productIds") Collection<Long> productIds);
+
+    @Query("select p.stockShards from Product p where p.id = :productId and p.status = :status")
+    Optional<Integer> findStockShards(@Param("productId") Long productId, @Param("status") ProductStatus status);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Product p where p.id = :productId")
+    Optional<Product> findByIdForUpdate(@Param("productId") Long productId);
+
+    @Modifying
+    @Query("""
+            update Product p
+            set p.stockQuantity = p.stockQuantity + :quantity, p.updatedAt = :now, p.revision = p.revision + 1
+            where p.id = :productId
+            """)
+    int incrementStock(@Param("productId") Long productId,
+                       @Param("quantity") int quantity,
+                       @Param("now") Instant now);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select p from Product p
+            join fetch p.category
+            where p.updatedAt >= :updatedSince
+            order by p.updatedAt, p.id
+            """)
+    Stream<Product> streamUpdatedSince(@Param("updatedSince") Instant updatedSince);
+
+    /**
+     * The given products whose own row has not changed since {@code updatedSince}, i.e. those
+     * {@link #streamUpdatedSince} leaves out.
+     */
+    @EntityGraph(attributePaths = "category")
+    @Query("select p from Product p where p.id in :productIds and p.updatedAt < :updatedSince order by p.id")
+    List<Product> findNotUpdatedSince(@Param("productIds") Collection<Long> productIds,
+                                      @Param("updatedSince") Instant updatedSince);
+}
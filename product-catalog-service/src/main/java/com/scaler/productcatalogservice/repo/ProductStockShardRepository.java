@@ -0,0 +1,65 @@
+package com.scaler.productcatalogservice.repo;
+
+import com.scaler.productcatalogservice.model.ProductStockShard;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ProductStockShardRepository extends JpaRepository<ProductStockShard, Long> {
+    @Query("select coalesce(sum(s.quantity), 0) from ProductStockShard s where s.productId = :productId")
+    long sumQuantity(@Param("productId") Long productId);
+
+    @Query("select max(s.updatedAt) from ProductStockShard s where s.productId = :productId")
+    Optional<Instant> findLastUpdatedAt(@Param("productId") Long productId);
+
+    /**
+     * Product id, total quantity and last change time of the shards of each given product.
+     */
+    @Query("""
+            select s.productId, sum(s.quantity), max(s.updatedAt) from ProductStockShard s
+            where s.productId in :productIds
+            group by s.productId
+            """)
+    List<Object[]> summarize(@Param("productIds") Collection<Long> productIds);
+
+    @Query("select distinct s.productId from ProductStockShard s where s.updatedAt >= :updatedSince")
+    List<Long> findProductIdsUpdatedSince(@Param("updatedSince") Instant updatedSince);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ProductStockShard s where s.productId = :productId order by s.shard")
+    List<ProductStockShard> findAllForUpdate(@Param("productId") Long productId);
+
+    @Modifying
+    @Query("""
+            update ProductStockShard s
+            set s.quantity = s.quantity - :quantity, s.updatedAt = :now
+            where s.productId = :productId and s.shard = :shard and s.quantity >= :quantity
+            """)
+    int decrement(@Param("productId") Long productId,
+                  @Param("shard") int shard,
+                  @Param("quantity") int quantity,
+                  @Param("now") Instant now);
+
+    @Modifying
+    @Query("""
+            update ProductStockShard s
+            set s.quantity = s.quantity + :quantity, s.updatedAt = :now
+            where s.productId = :productId and s.shard = :shard
+            """)
+    int increment(@Param("productId") Long productId,
+                  @Param("shard") int shard,
+                  @Param("quantity") int quantity,
+                  @Param("now") Instant now);
+
+    @Modifying
+    @Query("delete from ProductStockShard s where s.productId = :productId")
+    int deleteByProductId(@Param("productId") Long productId);
+}
@@ -0,0 +1,103 @@
+package com.scaler.productcatalogservice.search;
+
+import java.util.Arrays;
+
+/**
+ * Minimal growable bitset over product ordinals. Unlike {@link java.util.BitSet} it exposes an
+ * allocation-free intersection count, which is the hot operation when counting facets.
+ */
+final class FacetBitSet {
+    private long[] words;
+
+    FacetBitSet() {
+        this.words = new long[1];
+    }
+
+    private FacetBitSet(long[] words) {
+        this.words = words;
+    }
+
+    void set(int index) {
+        int word = index >>> 6;
+        if (word >= words.length) {
+            words = Arrays.copyOf(words, Math.max(words.length * 2, word + 1));
+        }
+        words[word] |= 1L << index;
+    }
+
+    void clear(int index) {
+        int word = index >>> 6;
+        if (word < words.length) {
+            words[word] &= ~(1L << index);
+        }
+    }
+
+    boolean get(int index) {
+        int word = index >>> 6;
+        return word < words.length && (words[word] & (1L << index)) != 0;
+    }
+
+    int nextSetBit(int from) {
+        int word = from >>> 6;
+        if (word >= words.length) {
+            return -1;
+        }
+        long current = words[word] & (-1L << from);
+        while (true) {
+            if (current != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(current);
+            }
+            if (++word == words.length) {
+                return -1;
+            }
+            current = words[word];
+        }
+    }
+
+    int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    int andCardinality(FacetBitSet other) {
+        int length = Math.min(words.length, other.words.length);
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            count += Long.bitCount(words[i] & other.words[i]);
+        }
+        return count;
+    }
+
+    void and(FacetBitSet other) {
+        int length = Math.min(words.length, other.words.length);
+        for (int i = 0; i < length; i++) {
+            words[i] &= other.words[i];
+        }
+        Arrays.fill(words, length, words.length, 0L);
+    }
+
+    void or(FacetBitSet other) {
+        if (other.words.length > words.length) {
+            words = Arrays.copyOf(words, other.words.length);
+        }
+        for (int i = 0; i < other.words.length; i++) {
+            words[i] |= other.words[i];
+        }
+    }
+
+    boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    FacetBitSet copy() {
+        return new FacetBitSet(words.clone());
+    }
+}
@@ -0,0 +1,16 @@
+package com.scaler.productcatalogservice.search;
+
+import lombok.Getter;
+
+@Getter
+public class FacetCount {
+    private final String value;
+    private final String label;
+    private final long count;
+
+    public FacetCount(String value, String label, long count) {
+        this.value = value;
+        this.label = label;
+        this.count = count;
+    }
+}
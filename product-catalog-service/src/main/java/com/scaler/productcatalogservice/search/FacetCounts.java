@@ -0,0 +1,16 @@
+package com.scaler.productcatalogservice.search;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+public class FacetCounts {
+    private long total;
+    private List<FacetCount> categories;
+    private List<FacetCount> priceBuckets;
+    private Map<String, List<FacetCount>> specifications;
+}
@@ -0,0 +1,289 @@
+package com.scaler.productcatalogservice.search;
+
+import com.scaler.productcatalogservice.model.Product;
+import com.scaler.productcatalogservice.model.ProductSpecification;
+import com.scaler.productcatalogservice.model.enums.ProductStatus;
+import com.scaler.productcatalogservice.service.ProductFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Facet postings held as one bitset per facet value, addressed by a dense product ordinal.
+ * Counting a facet for a result set is a word-wise AND + popcount against the result bitset.
+ * Ordinals of removed products are recycled so the bitsets stay as dense as the live catalog.
+ */
+@Component
+public class FacetIndex {
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final BigDecimal[] priceBounds;
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final List<FacetDocument> documents = new ArrayList<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private final FacetBitSet live = new FacetBitSet();
+    private final Map<Long, FacetBitSet> categories = new HashMap<>();
+    private final Map<Long, String> categoryNames = new HashMap<>();
+    private final Map<ProductStatus, FacetBitSet> statuses = new EnumMap<>(ProductStatus.class);
+    private final FacetBitSet[] priceBuckets;
+    private final Map<String, Map<String, FacetBitSet>> specifications = new HashMap<>();
+    private volatile boolean ready;
+
+    public FacetIndex(@Value("${search.facets.price-buckets}") List<BigDecimal> priceBounds) {
+        this.priceBounds = priceBounds.stream().sorted().toArray(BigDecimal[]::new);
+        this.priceBuckets = new FacetBitSet[this.priceBounds.length + 1];
+        for (int i = 0; i < priceBuckets.length; i++) {
+            priceBuckets[i] = new FacetBitSet();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void markReady() {
+        this.ready = true;
+    }
+
+    public void index(Product product) {
+        FacetDocument document = FacetDocument.from(product, bucketFor(product.getPrice()));
+        lock.writeLock().lock();
+        try {
+            int ordinal = ordinals.computeIfAbsent(product.getId(), id -> {
+                if (!freeOrdinals.isEmpty()) {
+                    return freeOrdinals.pop();
+                }
+                documents.add(null);
+                return documents.size() - 1;
+            });
+            clear(ordinal);
+            documents.set(ordinal, document);
+            live.set(ordinal);
+            if (document.categoryId != null) {
+                categories.computeIfAbsent(document.categoryId, id -> new FacetBitSet()).set(ordinal);
+                categoryNames.put(document.categoryId, document.categoryName);
+            }
+            if (document.status != null) {
+                statuses.computeIfAbsent(document.status, status -> new FacetBitSet()).set(ordinal);
+            }
+            if (document.priceBucket >= 0) {
+                priceBuckets[document.priceBucket].set(ordinal);
+            }
+            for (Map.Entry<String, String> spec : document.specifications) {
+                specifications.computeIfAbsent(spec.getKey(), key -> new HashMap<>())
+                        .computeIfAbsent(spec.getValue(), value -> new FacetBitSet())
+                        .set(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(productId);
+            if (ordinal != null) {
+                clear(ordinal);
+                documents.set(ordinal, null);
+                freeOrdinals.push(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public FacetCounts count(Collection<Long> productIds, Set<FacetType> facets) {
+        lock.readLock().lock();
+        try {
+            FacetBitSet result = new FacetBitSet();
+            for (Long productId : productIds) {
+                Integer ordinal = ordinals.get(productId);
+                if (ordinal != null && live.get(ordinal)) {
+                    result.set(ordinal);
+                }
+            }
+            return count(result, facets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public FacetCounts count(ProductFilter filter, Set<FacetType> facets) {
+        lock.readLock().lock();
+        try {
+            FacetBitSet result = live.copy();
+            if (filter.getCategoryIds() != null) {
+                FacetBitSet subtree = new FacetBitSet();
+                for (Long categoryId : filter.getCategoryIds()) {
+                    FacetBitSet bits = categories.get(categoryId);
+                    if (bits != null) {
+                        subtree.or(bits);
+                    }
+                }
+                result.and(subtree);
+            } else if (filter.getCategoryId() != null) {
+                result.and(categories.getOrDefault(filter.getCategoryId(), new FacetBitSet()));
+            }
+            if (filter.getStatus() != null) {
+                result.and(statuses.getOrDefault(filter.getStatus(), new FacetBitSet()));
+            }
+            if (filter.getMinPrice() != null || filter.getMaxPrice() != null) {
+                for (int ordinal = result.nextSetBit(0); ordinal >= 0; ordinal = result.nextSetBit(ordinal + 1)) {
+                    BigDecimal price = documents.get(ordinal).price;
+                    if (price == null
+                            || (filter.getMinPrice() != null && price.compareTo(filter.getMinPrice()) < 0)
+                            || (filter.getMaxPrice() != null && price.compareTo(filter.getMaxPrice()) > 0)) {
+                        result.clear(ordinal);
+                    }
+                }
+            }
+            return count(result, facets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private FacetCounts count(FacetBitSet result, Set<FacetType> facets) {
+        FacetCounts counts = new FacetCounts();
+        counts.setTotal(result.cardinality());
+        if (facets.contains(FacetType.CATEGORY)) {
+            List<FacetCount> values = new ArrayList<>();
+            for (Map.Entry<Long, FacetBitSet> entry : categories.entrySet()) {
+                int count = entry.getValue().andCardinality(result);
+                if (count > 0) {
+                    values.add(new FacetCount(String.valueOf(entry.getKey()), categoryNames.get(entry.getKey()), count));
+                }
+            }
+            values.sort(Comparator.comparingLong(FacetCount::getCount).reversed());
+            counts.setCategories(values);
+        }
+        if (facets.contains(FacetType.PRICE)) {
+            List<FacetCount> values = new ArrayList<>();
+            for (int i = 0; i < priceBuckets.length; i++) {
+                int count = priceBuckets[i].andCardinality(result);
+                if (count > 0) {
+                    values.add(new FacetCount(bucketValue(i), bucketLabel(i), count));
+                }
+            }
+            counts.setPriceBuckets(values);
+        }
+        if (facets.contains(FacetType.SPEC)) {
+            Map<String, List<FacetCount>> values = new TreeMap<>();
+            for (Map.Entry<String, Map<String, FacetBitSet>> key : specifications.entrySet()) {
+                List<FacetCount> keyValues = new ArrayList<>();
+                for (Map.Entry<String, FacetBitSet> value : key.getValue().entrySet()) {
+                    int count = value.getValue().andCardinality(result);
+                    if (count > 0) {
+                        keyValues.add(new FacetCount(value.getKey(), null, count));
+                    }
+                }
+                if (!keyValues.isEmpty()) {
+                    keyValues.sort(Comparator.comparingLong(FacetCount::getCount).reversed());
+                    values.put(key.getKey(), keyValues);
+                }
+            }
+            counts.setSpecifications(values);
+        }
+        return counts;
+    }
+
+    private void clear(int ordinal) {
+        FacetDocument previous = documents.get(ordinal);
+        live.clear(ordinal);
+        if (previous == null) {
+            return;
+        }
+        if (previous.categoryId != null) {
+            FacetBitSet bits = categories.get(previous.categoryId);
+            bits.clear(ordinal);
+            if (bits.isEmpty()) {
+                categories.remove(previous.categoryId);
+                categoryNames.remove(previous.categoryId);
+            }
+        }
+        if (previous.status != null) {
+            statuses.get(previous.status).clear(ordinal);
+        }
+        if (previous.priceBucket >= 0) {
+            priceBuckets[previous.priceBucket].clear(ordinal);
+        }
+        for (Map.Entry<String, String> spec : previous.specifications) {
+            Map<String, FacetBitSet> values = specifications.get(spec.getKey());
+            FacetBitSet bits = values.get(spec.getValue());
+            bits.clear(ordinal);
+            if (bits.isEmpty()) {
+                values.remove(spec.getValue());
+                if (values.isEmpty()) {
+                    specifications.remove(spec.getKey());
+                }
+            }
+        }
+    }
+
+    private int bucketFor(BigDecimal price) {
+        if (price == null) {
+            return -1;
+        }
+        for (int i = 0; i < priceBounds.length; i++) {
+            if (price.compareTo(priceBounds[i]) < 0) {
+                return i;
+            }
+        }
+        return priceBounds.length;
+    }
+
+    private String bucketValue(int bucket) {
+        String from = bucket == 0 ? "0" : priceBounds[bucket - 1].toPlainString();
+        String to = bucket == priceBounds.length ? "" : priceBounds[bucket].toPlainString();
+        return from + "-" + to;
+    }
+
+    private String bucketLabel(int bucket) {
+        if (bucket > 0 && bucket == priceBounds.length) {
+            return priceBounds[bucket - 1].toPlainString() + "+";
+        }
+        return bucketValue(bucket);
+    }
+
+    private static final class FacetDocument {
+        private Long categoryId;
+        private String categoryName;
+        private ProductStatus status;
+        private BigDecimal price;
+        private int priceBucket;
+        private List<Map.Entry<String, String>> specifications;
+
+        private static FacetDocument from(Product product, int priceBucket) {
+            FacetDocument document = new FacetDocument();
+            if (product.getCategory() != null) {
+                document.categoryId = product.getCategory().getId();
+                document.categoryName = product.getCategory().getName();
+            }
+            document.status = product.getStatus();
+            document.price = product.getPrice();
+            document.priceBucket = priceBucket;
+
+            Map<String, String> specs = new LinkedHashMap<>();
+            for (ProductSpecification specification : product.getSpecifications()) {
+                specs.put(specification.getSpecKey(), specification.getSpecValue());
+            }
+            document.specifications = new ArrayList<>(specs.entrySet());
+            return document;
+        }
+    }
+}
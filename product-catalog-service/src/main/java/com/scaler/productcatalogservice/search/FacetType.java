@@ -0,0 +1,27 @@
+package com.scaler.productcatalogservice.search;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+public enum FacetType {
+    CATEGORY,
+    PRICE,
+    SPEC;
+
+    public static Set<FacetType> parse(Collection<String> values) {
+        Set<FacetType> types = EnumSet.noneOf(FacetType.class);
+        if (values == null) {
+            return types;
+        }
+        for (String value : values) {
+            for (FacetType type : values()) {
+                if (type.name().equals(value.trim().toUpperCase(Locale.ROOT))) {
+                    types.add(type);
+                }
+            }
+        }
+        return types;
+    }
+}
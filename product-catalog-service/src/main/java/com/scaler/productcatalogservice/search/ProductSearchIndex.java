@@ -0,0 +1,302 @@
+package com.scaler.productcatalogservice.search;
+
+import com.scaler.productcatalogservice.model.Product;
+import com.scaler.productcatalogservice.model.ProductSpecification;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory inverted index over the searchable product fields. Every field keeps its own postings
+ * so matches can be scored with BM25 and weighted by {@link SearchField#getBoost()}. Terms of the
+ * {@link #FUZZY_FIELDS} are also kept in a {@link TrigramVocabulary} for typo-tolerant lookups.
+ */
+@Component
+public class ProductSearchIndex {
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final Set<SearchField> FUZZY_FIELDS = EnumSet.of(SearchField.NAME, SearchField.SPEC_VALUE);
+    private static final Comparator<SearchHit> RANKING = Comparator.comparingDouble(SearchHit::getScore).reversed()
+            .thenComparing(SearchHit::getProductId);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<SearchField, FieldPostings> fields = new EnumMap<>(SearchField.class);
+    private final Set<Long> documents = new HashSet<>();
+    private final TrigramVocabulary vocabulary = new TrigramVocabulary();
+    private volatile boolean ready;
+
+    public ProductSearchIndex() {
+        for (SearchField field : SearchField.values()) {
+            fields.put(field, new FieldPostings());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void markReady() {
+        this.ready = true;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void index(Product product) {
+        Map<SearchField, List<String>> tokens = extractTokens(product);
+        lock.writeLock().lock();
+        try {
+            removeDocument(product.getId());
+            for (Map.Entry<SearchField, List<String>> entry : tokens.entrySet()) {
+                fields.get(entry.getKey()).add(product.getId(), entry.getValue());
+            }
+            for (SearchField field : FUZZY_FIELDS) {
+                fields.get(field).termsOf(product.getId()).forEach(vocabulary::add);
+            }
+            documents.add(product.getId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of all products containing every query term in at least one field,
+     * ordered by descending relevance.
+     */
+    public List<Long> search(String query) {
+        return rank(scoreMatches(query, false));
+    }
+
+    /**
+     * Like {@link #search(String)}, but every query term also matches name and spec value terms within
+     * a few edits of it. Closer terms score higher.
+     */
+    public List<Long> fuzzySearch(String query) {
+        return rank(scoreMatches(query, true));
+    }
+
+    /**
+     * Returns up to {@code limit} hits ranked after {@code after}, keeping only a bounded heap
+     * instead of sorting the whole match set. One extra hit is fetched to report {@code hasNext}.
+     */
+    public SearchSlice searchAfter(String query, SearchCursor after, int limit) {
+        List<SearchHit> hits = scoreMatches(query, false);
+        PriorityQueue<SearchHit> top = new PriorityQueue<>(limit + 2, RANKING.reversed());
+        for (SearchHit hit : hits) {
+            if (after != null && !after.precedes(hit)) {
+                continue;
+            }
+            top.add(hit);
+            if (top.size() > limit + 1) {
+                top.poll();
+            }
+        }
+
+        List<SearchHit> page = new ArrayList<>(top);
+        page.sort(RANKING);
+        boolean hasNext = page.size() > limit;
+        if (hasNext) {
+            page = page.subList(0, limit);
+        }
+
+        SearchSlice slice = new SearchSlice();
+        slice.setHits(page);
+        slice.setHasNext(hasNext);
+        slice.setMatchCount(hits.size());
+        return slice;
+    }
+
+    private List<Long> rank(List<SearchHit> hits) {
+        hits.sort(RANKING);
+        return hits.stream().map(SearchHit::getProductId).collect(Collectors.toList());
+    }
+
+    private List<SearchHit> scoreMatches(String query, boolean fuzzy) {
+        Set<String> terms = new LinkedHashSet<>(SearchTokenizer.tokenize(query));
+        if (terms.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<String, Map<String, Double>> expansions = new HashMap<>();
+            Set<Long> candidates = null;
+            for (String term : terms) {
+                Map<String, Double> variants = fuzzy ? vocabulary.match(term, maxEdits(term)) : new HashMap<>();
+                variants.put(term, 1.0);
+                expansions.put(term, variants);
+
+                Set<Long> matches = new HashSet<>();
+                for (Map.Entry<SearchField, FieldPostings> entry : fields.entrySet()) {
+                    for (String variant : variants.keySet()) {
+                        if (variant.equals(term) || FUZZY_FIELDS.contains(entry.getKey())) {
+                            matches.addAll(entry.getValue().documentsFor(variant));
+                        }
+                    }
+                }
+                if (candidates == null) {
+                    candidates = matches;
+                } else {
+                    candidates.retainAll(matches);
+                }
+                if (candidates.isEmpty()) {
+                    return new ArrayList<>();
+                }
+            }
+
+            int documentCount = documents.size();
+            List<SearchHit> hits = new ArrayList<>(candidates.size());
+            for (Long productId : candidates) {
+                double score = 0;
+                for (String term : terms) {
+                    double best = 0;
+                    for (Map.Entry<String, Double> variant : expansions.get(term).entrySet()) {
+                        double variantScore = 0;
+                        for (Map.Entry<SearchField, FieldPostings> entry : fields.entrySet()) {
+                            if (variant.getKey().equals(term) || FUZZY_FIELDS.contains(entry.getKey())) {
+                                variantScore += entry.getKey().getBoost()
+                                        * entry.getValue().score(productId, variant.getKey(), documentCount);
+                            }
+                        }
+                        best = Math.max(best, variant.getValue() * variantScore);
+                    }
+                    score += best;
+                }
+                hits.add(new SearchHit(productId, score));
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static int maxEdits(String term) {
+        if (term.length() <= 4) {
+            return 0;
+        }
+        return term.length() <= 7 ? 1 : 2;
+    }
+
+    private void removeDocument(Long productId) {
+        if (!documents.remove(productId)) {
+            return;
+        }
+        for (SearchField field : FUZZY_FIELDS) {
+            fields.get(field).termsOf(productId).forEach(vocabulary::remove);
+        }
+        for (FieldPostings postings : fields.values()) {
+            postings.remove(productId);
+        }
+    }
+
+    private Map<SearchField, List<String>> extractTokens(Product product) {
+        Map<SearchField, List<String>> tokens = new EnumMap<>(SearchField.class);
+        tokens.put(SearchField.NAME, SearchTokenizer.tokenize(product.getName()));
+        tokens.put(SearchField.DESCRIPTION, SearchTokenizer.tokenize(product.getDescription()));
+        tokens.put(SearchField.CATEGORY, SearchTokenizer.tokenize(
+                product.getCategory() != null ? product.getCategory().getName() : null));
+
+        List<String> specKeys = new ArrayList<>();
+        List<String> specValues = new ArrayList<>();
+        for (ProductSpecification specification : product.getSpecifications()) {
+            specKeys.addAll(SearchTokenizer.tokenize(specification.getSpecKey()));
+            specValues.addAll(SearchTokenizer.tokenize(specification.getSpecValue()));
+        }
+        tokens.put(SearchField.SPEC_KEY, specKeys);
+        tokens.put(SearchField.SPEC_VALUE, specValues);
+        return tokens;
+    }
+
+    private static final class FieldPostings {
+        private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+        private final Map<Long, Map<String, Integer>> documentTerms = new HashMap<>();
+        private final Map<Long, Integer> lengths = new HashMap<>();
+        private long totalLength;
+
+        void add(Long productId, List<String> tokens) {
+            if (tokens.isEmpty()) {
+                return;
+            }
+            Map<String, Integer> frequencies = new HashMap<>();
+            for (String token : tokens) {
+                frequencies.merge(token, 1, Integer::sum);
+            }
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), key -> new HashMap<>()).put(productId, entry.getValue());
+            }
+            documentTerms.put(productId, frequencies);
+            lengths.put(productId, tokens.size());
+            totalLength += tokens.size();
+        }
+
+        void remove(Long productId) {
+            Map<String, Integer> frequencies = documentTerms.remove(productId);
+            if (frequencies == null) {
+                return;
+            }
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                Map<Long, Integer> posting = postings.get(entry.getKey());
+                posting.remove(productId);
+                if (posting.isEmpty()) {
+                    postings.remove(entry.getKey());
+                }
+            }
+            totalLength -= lengths.remove(productId);
+        }
+
+        Set<String> termsOf(Long productId) {
+            Map<String, Integer> frequencies = documentTerms.get(productId);
+            return frequencies != null ? frequencies.keySet() : Set.of();
+        }
+
+        Set<Long> documentsFor(String term) {
+            Map<Long, Integer> posting = postings.get(term);
+            return posting != null ? posting.keySet() : Set.of();
+        }
+
+        double score(Long productId, String term, int documentCount) {
+            Map<Long, Integer> posting = postings.get(term);
+            if (posting == null) {
+                return 0;
+            }
+            Integer frequency = posting.get(productId);
+            if (frequency == null) {
+                return 0;
+            }
+
+            int length = lengths.get(productId);
+            double averageLength = (double) totalLength / lengths.size();
+            double idf = Math.log(1 + (documentCount - posting.size() + 0.5) / (posting.size() + 0.5));
+            double norm = frequency + K1 * (1 - B + B * length / averageLength);
+            return idf * frequency * (K1 + 1) / norm;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.scaler.productcatalogservice.search;
+
+import com.scaler.productcatalogservice.model.Category;
+import com.scaler.productcatalogservice.model.Product;
+import com.scaler.productcatalogservice.repo.CategoryRepository;
+import com.scaler.productcatalogservice.repo.ProductRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Component
+public class ProductSearchIndexLoader {
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchIndexLoader.class);
+    private static final int BATCH_SIZE = 500;
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final FacetIndex facetIndex;
+    private final SuggestionIndex suggestionIndex;
+    private final EntityManager entityManager;
+
+    public ProductSearchIndexLoader(ProductRepository productRepository,
+                                    CategoryRepository categoryRepository,
+                                    ProductSearchIndex productSearchIndex,
+                                    FacetIndex facetIndex,
+                                    SuggestionIndex suggestionIndex,
+                                    EntityManager entityManager) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.productSearchIndex = productSearchIndex;
+        this.facetIndex = facetIndex;
+        this.suggestionIndex = suggestionIndex;
+        this.entityManager = entityManager;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        long startedAt = System.currentTimeMillis();
+        for (Category category : categoryRepository.findAll()) {
+            suggestionIndex.indexCategory(category);
+        }
+
+        // Keyset paging by id, so later batches do not rescan every row before them.
+        long afterId = 0;
+        List<Product> batch;
+        do {
+            batch = productRepository.findBatchAfter(afterId, PageRequest.ofSize(BATCH_SIZE));
+            for (Product product : batch) {
+                productSearchIndex.index(product);
+                facetIndex.index(product);
+                suggestionIndex.indexProduct(product);
+                afterId = product.getId();
+            }
+            entityManager.clear();
+        } while (batch.size() == BATCH_SIZE);
+
+        productSearchIndex.markReady();
+        facetIndex.markReady();
+        log.info("Product search index built with {} products in {} ms",
+                productSearchIndex.size(), System.currentTimeMillis() - startedAt);
+    }
+}
@@ -0,0 +1,63 @@
+package com.scaler.productcatalogservice.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bounded LRU of database match counts, used to report an approximate total for cursor searches that fall
+ * back to the database without running a count query on every page. The database matches the query as one
+ * case-insensitive substring, so entries are keyed by the lowercased query as typed rather than by its tokens;
+ * index searches count their own matches and are not cached here.
+ */
+@Component
+public class SearchCountCache {
+    private final Map<String, CachedCount> entries;
+    private final long ttlMillis;
+
+    public SearchCountCache(@Value("${search.count-cache.max-entries}") int maxEntries,
+                            @Value("${search.count-cache.ttl-seconds}") long ttlSeconds) {
+        this.ttlMillis = Duration.ofSeconds(ttlSeconds).toMillis();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedCount> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public static String normalize(String query) {
+        return query != null ? query.toLowerCase(Locale.ROOT) : "";
+    }
+
+    public synchronized Long get(String query) {
+        String key = normalize(query);
+        CachedCount cached = entries.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.expiresAt < System.currentTimeMillis()) {
+            entries.remove(key);
+            return null;
+        }
+        return cached.count;
+    }
+
+    public synchronized void put(String query, long count) {
+        entries.put(normalize(query), new CachedCount(count, System.currentTimeMillis() + ttlMillis));
+    }
+
+    private static final class CachedCount {
+        private final long count;
+        private final long expiresAt;
+
+        private CachedCount(long count, long expiresAt) {
+            this.count = count;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.scaler.productcatalogservice.search;
+
+import com.scaler.productcatalogservice.exception.InvalidSearchCursorException;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque position in a search result stream. Index-backed cursors carry the relevance score and id
+ * of the last hit; database-backed cursors carry only the last id since that path is ordered by id.
+ */
+@Getter
+public class SearchCursor {
+    private static final String INDEX_PREFIX = "i";
+    private static final String KEYSET_PREFIX = "k";
+
+    private final Double score;
+    private final Long productId;
+
+    private SearchCursor(Double score, Long productId) {
+        this.score = score;
+        this.productId = productId;
+    }
+
+    public static SearchCursor indexed(double score, Long productId) {
+        return new SearchCursor(score, productId);
+    }
+
+    public static SearchCursor keyset(Long productId) {
+        return new SearchCursor(null, productId);
+    }
+
+    public boolean isIndexed() {
+        return score != null;
+    }
+
+    public boolean precedes(SearchHit hit) {
+        int comparison = Double.compare(hit.getScore(), score);
+        return comparison < 0 || (comparison == 0 && hit.getProductId() > productId);
+    }
+
+    public String encode() {
+        String raw = isIndexed()
+                ? INDEX_PREFIX + ":" + score + ":" + productId
+                : KEYSET_PREFIX + ":" + productId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchCursor decode(String value) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length == 3 && INDEX_PREFIX.equals(parts[0])) {
+                return indexed(Double.parseDouble(parts[1]), Long.parseLong(parts[2]));
+            }
+            if (parts.length == 2 && KEYSET_PREFIX.equals(parts[0])) {
+                return keyset(Long.parseLong(parts[1]));
+            }
+        } catch (IllegalArgumentException e) {
+            throw new InvalidSearchCursorException("Invalid search cursor");
+        }
+        throw new InvalidSearchCursorException("Invalid search cursor");
+    }
+}
@@ -0,0 +1,19 @@
+package com.scaler.productcatalogservice.search;
+
+public enum SearchField {
+    NAME(3.0),
+    DESCRIPTION(1.0),
+    CATEGORY(1.5),
+    SPEC_KEY(0.5),
+    SPEC_VALUE(1.0);
+
+    private final double boost;
+
+    SearchField(double boost) {
+        this.boost = boost;
+    }
+
+    public double getBoost() {
+        return boost;
+    }
+}
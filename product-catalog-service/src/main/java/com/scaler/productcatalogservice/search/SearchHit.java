@@ -0,0 +1,14 @@
+package com.scaler.productcatalogservice.search;
+
+import lombok.Getter;
+
+@Getter
+public class SearchHit {
+    private final Long productId;
+    private final double score;
+
+    public SearchHit(Long productId, double score) {
+        this.productId = productId;
+        this.score = score;
+    }
+}
@@ -0,0 +1,60 @@
+package com.scaler.productcatalogservice.search;
+
+import com.scaler.productcatalogservice.model.Category;
+import com.scaler.productcatalogservice.model.Product;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Applies catalog changes to the in-memory search, facet and suggestion indexes once the transaction that
+ * made them has committed, so a rolled back write never leaves entries behind. Outside a transaction the
+ * change is applied at once.
+ */
+@Component
+public class SearchIndexUpdater {
+    private final ProductSearchIndex productSearchIndex;
+    private final FacetIndex facetIndex;
+    private final SuggestionIndex suggestionIndex;
+
+    public SearchIndexUpdater(ProductSearchIndex productSearchIndex,
+                              FacetIndex facetIndex,
+                              SuggestionIndex suggestionIndex) {
+        this.productSearchIndex = productSearchIndex;
+        this.facetIndex = facetIndex;
+        this.suggestionIndex = suggestionIndex;
+    }
+
+    public void indexAfterCommit(Product product) {
+        afterCommit(() -> {
+            productSearchIndex.index(product);
+            facetIndex.index(product);
+            suggestionIndex.indexProduct(product);
+        });
+    }
+
+    public void removeAfterCommit(Long productId) {
+        afterCommit(() -> {
+            productSearchIndex.remove(productId);
+            facetIndex.remove(productId);
+            suggestionIndex.removeProduct(productId);
+        });
+    }
+
+    public void indexCategoryAfterCommit(Category category) {
+        afterCommit(() -> suggestionIndex.indexCategory(category));
+    }
+
+    private void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+}
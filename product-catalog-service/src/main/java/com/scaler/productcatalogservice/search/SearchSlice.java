@@ -0,0 +1,14 @@
+package com.scaler.productcatalogservice.search;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class SearchSlice {
+    private List<SearchHit> hits;
+    private boolean hasNext;
+    private int matchCount;
+}
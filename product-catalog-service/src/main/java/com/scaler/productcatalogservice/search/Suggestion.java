@@ -0,0 +1,27 @@
+package com.scaler.productcatalogservice.search;
+
+import lombok.Getter;
+
+@Getter
+public class Suggestion {
+    public enum Type {
+        PRODUCT,
+        CATEGORY
+    }
+
+    private final Type type;
+    private final Long id;
+    private final String text;
+    private final double weight;
+
+    public Suggestion(Type type, Long id, String text, double weight) {
+        this.type = type;
+        this.id = id;
+        this.text = text;
+        this.weight = weight;
+    }
+
+    String key() {
+        return type.name() + ":" + id;
+    }
+}
@@ -0,0 +1,174 @@
+package com.scaler.productcatalogservice.search;
+
+import com.scaler.productcatalogservice.model.Category;
+import com.scaler.productcatalogservice.model.Product;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Typeahead over product and category names. Every name is inserted once per word boundary so
+ * "pro" also completes "iPhone 15 Pro". Products are weighted by detail views, categories by how
+ * many products they hold.
+ */
+@Component
+public class SuggestionIndex {
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final SuggestionTrie trie = new SuggestionTrie();
+    private final Map<String, Suggestion> entries = new HashMap<>();
+    private final Map<Long, Long> productCategories = new HashMap<>();
+    private final Map<Long, Integer> categoryProductCounts = new HashMap<>();
+    private final Map<Long, AtomicLong> productViews = new ConcurrentHashMap<>();
+    private final int maxLimit;
+    private final int viewFlushInterval;
+
+    public SuggestionIndex(@Value("${search.suggest.max-limit}") int maxLimit,
+                           @Value("${search.suggest.view-flush-interval}") int viewFlushInterval) {
+        this.maxLimit = maxLimit;
+        this.viewFlushInterval = viewFlushInterval;
+    }
+
+    public void indexProduct(Product product) {
+        Long categoryId = product.getCategory() != null ? product.getCategory().getId() : null;
+        lock.writeLock().lock();
+        try {
+            Long previousCategoryId = productCategories.remove(product.getId());
+            if (previousCategoryId != null) {
+                adjustCategory(previousCategoryId, -1);
+            }
+            if (categoryId != null) {
+                productCategories.put(product.getId(), categoryId);
+                adjustCategory(categoryId, 1);
+            }
+            put(new Suggestion(Suggestion.Type.PRODUCT, product.getId(), product.getName(), productWeight(product.getId())));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeProduct(Long productId) {
+        lock.writeLock().lock();
+        try {
+            Long categoryId = productCategories.remove(productId);
+            if (categoryId != null) {
+                adjustCategory(categoryId, -1);
+            }
+            remove(Suggestion.Type.PRODUCT.name() + ":" + productId);
+            productViews.remove(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexCategory(Category category) {
+        lock.writeLock().lock();
+        try {
+            put(new Suggestion(Suggestion.Type.CATEGORY, category.getId(), category.getName(),
+                    categoryProductCounts.getOrDefault(category.getId(), 0)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Counts a product detail view. The trie is only re-weighted every {@code viewFlushInterval}
+     * views so hot products do not take the write lock on every request.
+     */
+    public void recordView(Long productId) {
+        long views = productViews.computeIfAbsent(productId, id -> new AtomicLong()).incrementAndGet();
+        if (views % viewFlushInterval != 0) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Suggestion current = entries.get(Suggestion.Type.PRODUCT.name() + ":" + productId);
+            if (current != null) {
+                put(new Suggestion(current.getType(), current.getId(), current.getText(), productWeight(productId)));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return trie.complete(key, Math.min(limit, maxLimit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void adjustCategory(Long categoryId, int delta) {
+        int count = Math.max(0, categoryProductCounts.getOrDefault(categoryId, 0) + delta);
+        categoryProductCounts.put(categoryId, count);
+        Suggestion current = entries.get(Suggestion.Type.CATEGORY.name() + ":" + categoryId);
+        if (current != null) {
+            put(new Suggestion(current.getType(), current.getId(), current.getText(), count));
+        }
+    }
+
+    private double productWeight(Long productId) {
+        AtomicLong views = productViews.get(productId);
+        return 1 + (views != null ? views.get() : 0);
+    }
+
+    private void put(Suggestion suggestion) {
+        remove(suggestion.key());
+        if (suggestion.getText() == null || suggestion.getText().isBlank()) {
+            return;
+        }
+        for (String key : keys(suggestion.getText())) {
+            trie.insert(key, suggestion);
+        }
+        entries.put(suggestion.key(), suggestion);
+    }
+
+    private void remove(String entryKey) {
+        Suggestion previous = entries.remove(entryKey);
+        if (previous == null) {
+            return;
+        }
+        for (String key : keys(previous.getText())) {
+            trie.remove(key, previous);
+        }
+    }
+
+    private static Set<String> keys(String text) {
+        String normalized = normalize(text);
+        Set<String> keys = new LinkedHashSet<>();
+        List<Integer> starts = new ArrayList<>();
+        starts.add(0);
+        for (int i = 1; i < normalized.length(); i++) {
+            if (normalized.charAt(i - 1) == ' ') {
+                starts.add(i);
+            }
+        }
+        for (int start : starts) {
+            keys.add(normalized.substring(start));
+        }
+        return keys;
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+}
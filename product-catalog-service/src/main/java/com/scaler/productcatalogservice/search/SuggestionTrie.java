@@ -0,0 +1,173 @@
+package com.scaler.productcatalogservice.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Radix (path-compressed) trie mapping normalized phrases to weighted suggestions. Every node tracks the
+ * highest weight in its subtree so a prefix lookup can walk best-first and stop after {@code limit} hits.
+ * Not thread-safe; {@link SuggestionIndex} guards access.
+ */
+final class SuggestionTrie {
+    private final Node root = new Node("");
+
+    void insert(String key, Suggestion suggestion) {
+        Deque<Node> path = new ArrayDeque<>();
+        path.push(root);
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            char next = key.charAt(position);
+            Node child = node.children.get(next);
+            if (child == null) {
+                child = new Node(key.substring(position));
+                node.children.put(next, child);
+                node = child;
+                path.push(node);
+                position = key.length();
+                break;
+            }
+
+            int common = commonPrefixLength(child.edge, key, position);
+            if (common < child.edge.length()) {
+                Node split = new Node(child.edge.substring(0, common));
+                child.edge = child.edge.substring(common);
+                split.children.put(child.edge.charAt(0), child);
+                split.maxWeight = child.maxWeight;
+                node.children.put(next, split);
+                child = split;
+            }
+            node = child;
+            path.push(node);
+            position += common;
+        }
+
+        if (node.values == null) {
+            node.values = new LinkedHashMap<>();
+        }
+        node.values.put(suggestion.key(), suggestion);
+        while (!path.isEmpty()) {
+            path.pop().recomputeMaxWeight();
+        }
+    }
+
+    void remove(String key, Suggestion suggestion) {
+        Deque<Node> path = new ArrayDeque<>();
+        path.push(root);
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            Node child = node.children.get(key.charAt(position));
+            if (child == null || !key.startsWith(child.edge, position)) {
+                return;
+            }
+            node = child;
+            path.push(node);
+            position += child.edge.length();
+        }
+        if (node.values == null || node.values.remove(suggestion.key()) == null) {
+            return;
+        }
+        if (node.values.isEmpty()) {
+            node.values = null;
+        }
+
+        Node child = path.pop();
+        while (!path.isEmpty()) {
+            Node parent = path.pop();
+            if (child.values == null && child.children.isEmpty()) {
+                parent.children.remove(child.edge.charAt(0));
+            } else if (child.values == null && child.children.size() == 1) {
+                Node only = child.children.values().iterator().next();
+                only.edge = child.edge + only.edge;
+                parent.children.put(only.edge.charAt(0), only);
+            } else {
+                child.recomputeMaxWeight();
+            }
+            child = parent;
+        }
+        root.recomputeMaxWeight();
+    }
+
+    List<Suggestion> complete(String prefix, int limit) {
+        Node node = root;
+        int position = 0;
+        while (position < prefix.length()) {
+            Node child = node.children.get(prefix.charAt(position));
+            if (child == null) {
+                return List.of();
+            }
+            int common = commonPrefixLength(child.edge, prefix, position);
+            if (position + common < prefix.length() && common < child.edge.length()) {
+                return List.of();
+            }
+            node = child;
+            position += common;
+        }
+
+        PriorityQueue<Object[]> frontier = new PriorityQueue<>((a, b) -> Double.compare((double) b[0], (double) a[0]));
+        frontier.add(new Object[]{node.maxWeight, node});
+        List<Suggestion> results = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        while (!frontier.isEmpty() && results.size() < limit) {
+            Object item = frontier.poll()[1];
+            if (item instanceof Suggestion suggestion) {
+                if (seen.add(suggestion.key())) {
+                    results.add(suggestion);
+                }
+                continue;
+            }
+            Node current = (Node) item;
+            if (current.values != null) {
+                for (Suggestion suggestion : current.values.values()) {
+                    frontier.add(new Object[]{suggestion.getWeight(), suggestion});
+                }
+            }
+            for (Node child : current.children.values()) {
+                frontier.add(new Object[]{child.maxWeight, child});
+            }
+        }
+        return results;
+    }
+
+    private static int commonPrefixLength(String edge, String key, int offset) {
+        int length = Math.min(edge.length(), key.length() - offset);
+        int i = 0;
+        while (i < length && edge.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static final class Node {
+        private String edge;
+        private final Map<Character, Node> children = new HashMap<>();
+        private Map<String, Suggestion> values;
+        private double maxWeight;
+
+        private Node(String edge) {
+            this.edge = edge;
+        }
+
+        private void recomputeMaxWeight() {
+            double max = 0;
+            if (values != null) {
+                for (Suggestion suggestion : values.values()) {
+                    max = Math.max(max, suggestion.getWeight());
+                }
+            }
+            for (Node child : children.values()) {
+                max = Math.max(max, child.maxWeight);
+            }
+            maxWeight = max;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.scaler.productcatalogservice.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Trigram index over the distinct terms of the fuzzy-searchable fields. Candidates sharing enough
+ * trigrams with a query token are verified with an edit distance that gives up past the allowed bound.
+ * Not thread-safe; {@link ProductSearchIndex} guards access.
+ */
+final class TrigramVocabulary {
+    private static final int GRAM = 3;
+
+    private final Map<String, Integer> references = new HashMap<>();
+    private final Map<String, Set<String>> trigrams = new HashMap<>();
+
+    void add(String term) {
+        if (references.merge(term, 1, Integer::sum) > 1) {
+            return;
+        }
+        for (String gram : trigrams(term)) {
+            trigrams.computeIfAbsent(gram, key -> new HashSet<>()).add(term);
+        }
+    }
+
+    void remove(String term) {
+        Integer count = references.get(term);
+        if (count == null) {
+            return;
+        }
+        if (count > 1) {
+            references.put(term, count - 1);
+            return;
+        }
+        references.remove(term);
+        for (String gram : trigrams(term)) {
+            Set<String> terms = trigrams.get(gram);
+            if (terms != null) {
+                terms.remove(term);
+                if (terms.isEmpty()) {
+                    trigrams.remove(gram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the terms within {@code maxDistance} edits of {@code token}, each mapped to a similarity
+     * in (0, 1] that is 1 for an exact match.
+     */
+    Map<String, Double> match(String token, int maxDistance) {
+        List<String> grams = trigrams(token);
+        int minShared = Math.max(1, grams.size() - (GRAM + 1) * maxDistance);
+        Map<String, Integer> shared = new HashMap<>();
+        for (String gram : grams) {
+            for (String term : trigrams.getOrDefault(gram, Set.of())) {
+                shared.merge(term, 1, Integer::sum);
+            }
+        }
+
+        Map<String, Double> matches = new HashMap<>();
+        for (Map.Entry<String, Integer> candidate : shared.entrySet()) {
+            String term = candidate.getKey();
+            if (candidate.getValue() < minShared || Math.abs(term.length() - token.length()) > maxDistance) {
+                continue;
+            }
+            int distance = distance(token, term, maxDistance);
+            if (distance <= maxDistance) {
+                matches.put(term, 1 - (double) distance / (Math.max(token.length(), term.length()) + 1));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Edit distance counting adjacent transpositions as one edit. Stops as soon as every cell in a row
+     * exceeds {@code maxDistance} and returns {@code maxDistance + 1}.
+     */
+    static int distance(String a, String b, int maxDistance) {
+        if (Math.abs(a.length() - b.length()) > maxDistance) {
+            return maxDistance + 1;
+        }
+        int[] beforePrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, beforePrevious[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > maxDistance) {
+                return maxDistance + 1;
+            }
+            int[] recycled = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[b.length()], maxDistance + 1);
+    }
+
+    private static List<String> trigrams(String term) {
+        String padded = "$" + term + "$";
+        List<String> grams = new ArrayList<>(padded.length());
+        for (int i = 0; i + GRAM <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+}
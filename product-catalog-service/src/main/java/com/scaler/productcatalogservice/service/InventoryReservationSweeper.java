@@ -0,0 +1,52 @@
+package com.scaler.productcatalogservice.service;
+
+import com.scaler.productcatalogservice.model.enums.ReservationStatus;
+import com.scaler.productcatalogservice.repo.InventoryReservationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Periodically returns the stock of reservations that were neither committed nor released in time.
+ */
+@Component
+public class InventoryReservationSweeper {
+    private static final Logger log = LoggerFactory.getLogger(InventoryReservationSweeper.class);
+
+    private final InventoryReservationRepository reservationRepository;
+    private final InventoryService inventoryService;
+    private final int batchSize;
+
+    public InventoryReservationSweeper(InventoryReservationRepository reservationRepository,
+                                       InventoryService inventoryService,
+                                       @Value("${inventory.reservation.sweep-batch-size}") int batchSize) {
+        this.reservationRepository = reservationRepository;
+        this.inventoryService = inventoryService;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.reservation.sweep-interval-ms}")
+    public void expireReservations() {
+        List<Long> expired = reservationRepository.findIdsExpiredBefore(ReservationStatus.HELD, Instant.now(),
+                PageRequest.of(0, batchSize));
+        int released = 0;
+        for (Long reservationId : expired) {
+            try {
+                if (inventoryService.expire(reservationId)) {
+                    released++;
+                }
+            } catch (RuntimeException ex) {
+                log.warn("Failed to expire inventory reservation {}", reservationId, ex);
+            }
+        }
+        if (released > 0) {
+            log.info("Expired {} inventory reservations", released);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.scaler.productcatalogservice.service;
+
+import com.scaler.productcatalogservice.dto.ReserveStockRequestDto;
+import com.scaler.productcatalogservice.model.InventoryReservation;
+
+public interface InventoryService {
+    InventoryReservation reserve(ReserveStockRequestDto request);
+
+    InventoryReservation commit(String reference);
+
+    InventoryReservation release(String reference);
+
+    InventoryReservation extend(String reference);
+
+    InventoryReservation getReservation(String reference);
+
+    boolean expire(Long reservationId);
+}
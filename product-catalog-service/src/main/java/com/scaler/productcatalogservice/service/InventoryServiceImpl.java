@@ -0,0 +1,208 @@
+package com.scaler.productcatalogservice.service;
+
+import com.scaler.productcatalogservice.cache.ProductResponseCache;
+import com.scaler.productcatalogservice.dto.ReservationItemDto;
+import com.scaler.productcatalogservice.dto.ReserveStockRequestDto;
+import com.scaler.productcatalogservice.exception.InsufficientStockException;
+import com.scaler.productcatalogservice.exception.ReservationNotFoundException;
+import com.scaler.productcatalogservice.exception.ReservationStateException;
+import com.scaler.productcatalogservice.kafka.ProductEventPublisher;
+import com.scaler.productcatalogservice.model.InventoryReservation;
+import com.scaler.productcatalogservice.model.InventoryReservationItem;
+import com.scaler.productcatalogservice.model.Product;
+import com.scaler.productcatalogservice.model.enums.ProductStatus;
+import com.scaler.productcatalogservice.model.enums.ReservationStatus;
+import com.scaler.productcatalogservice.repo.InventoryReservationRepository;
+import com.scaler.productcatalogservice.repo.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+public class InventoryServiceImpl implements InventoryService {
+    private final InventoryReservationRepository reservationRepository;
+    private final ProductRepository productRepository;
+    private final ProductResponseCache productResponseCache;
+    private final ShardedStockCounter shardedStockCounter;
+    private final ProductEventPublisher productEventPublisher;
+    private final Duration defaultTtl;
+    private final Duration maxTtl;
+
+    public InventoryServiceImpl(InventoryReservationRepository reservationRepository,
+                                ProductRepository productRepository,
+                                ProductResponseCache productResponseCache,
+                                ShardedStockCounter shardedStockCounter,
+                                ProductEventPublisher productEventPublisher,
+                                @Value("${inventory.reservation.default-ttl-seconds}") long defaultTtlSeconds,
+                                @Value("${inventory.reservation.max-ttl-seconds}") long maxTtlSeconds) {
+        this.reservationRepository = reservationRepository;
+        this.productRepository = productRepository;
+        this.productResponseCache = productResponseCache;
+        this.shardedStockCounter = shardedStockCounter;
+        this.productEventPublisher = productEventPublisher;
+        this.defaultTtl = Duration.ofSeconds(defaultTtlSeconds);
+        this.maxTtl = Duration.ofSeconds(maxTtlSeconds);
+    }
+
+    /**
+     * Deducts every requested quantity with a conditional UPDATE, in ascending product id order so that
+     * concurrent multi-SKU reservations cannot deadlock. Hot products with stock shards are decremented on
+     * one of their shards instead of the product row. Any shortfall rolls back the whole batch.
+     * Repeating a reference returns the existing reservation.
+     */
+    @Override
+    @Transactional
+    public InventoryReservation reserve(ReserveStockRequestDto request) {
+        InventoryReservation existing = reservationRepository.findByReference(request.getReference()).orElse(null);
+        if (existing != null) {
+            return existing;
+        }
+
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (ReservationItemDto item : request.getItems()) {
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+
+        Instant now = Instant.now();
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            if (!decrement(entry.getKey(), entry.getValue(), now)) {
+                throw new InsufficientStockException("Insufficient stock for product " + entry.getKey());
+            }
+            productResponseCache.evictAfterCommit(entry.getKey());
+        }
+        publishStockChanged(quantities.keySet());
+
+        Duration ttl = request.getTtlSeconds() != null ? Duration.ofSeconds(request.getTtlSeconds()) : defaultTtl;
+        InventoryReservation reservation = new InventoryReservation();
+        reservation.setReference(request.getReference());
+        reservation.setStatus(ReservationStatus.HELD);
+        reservation.setExpiresAt(now.plus(ttl.compareTo(maxTtl) > 0 ? maxTtl : ttl));
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            InventoryReservationItem item = new InventoryReservationItem();
+            item.setReservation(reservation);
+            item.setProductId(entry.getKey());
+            item.setQuantity(entry.getValue());
+            reservation.getItems().add(item);
+        }
+        return reservationRepository.save(reservation);
+    }
+
+    /**
+     * Turns a held reservation into a sale. An expired reservation is rejected like a released one: its stock
+     * was returned and may since have been sold to someone else.
+     */
+    @Override
+    @Transactional
+    public InventoryReservation commit(String reference) {
+        InventoryReservation reservation = reservationRepository.findByReferenceForUpdate(reference)
+                .orElseThrow(() -> new ReservationNotFoundException("Reservation not found"));
+        if (reservation.getStatus() == ReservationStatus.HELD) {
+            reservation.setStatus(ReservationStatus.COMMITTED);
+        } else if (reservation.getStatus() != ReservationStatus.COMMITTED) {
+            throw new ReservationStateException("Reservation is " + reservation.getStatus());
+        }
+        reservation.getItems().size();
+        return reservation;
+    }
+
+    /**
+     * Pushes the expiry of a held reservation to a full default TTL from now. A reservation that already
+     * expired has returned its stock and cannot be extended.
+     */
+    @Override
+    @Transactional
+    public InventoryReservation extend(String reference) {
+        InventoryReservation reservation = reservationRepository.findByReferenceForUpdate(reference)
+                .orElseThrow(() -> new ReservationNotFoundException("Reservation not found"));
+        if (reservation.getStatus() != ReservationStatus.HELD) {
+            throw new ReservationStateException("Reservation is " + reservation.getStatus());
+        }
+        Instant expiresAt = Instant.now().plus(defaultTtl);
+        if (expiresAt.isAfter(reservation.getExpiresAt())) {
+            reservation.setExpiresAt(expiresAt);
+        }
+        reservation.getItems().size();
+        return reservation;
+    }
+
+    @Override
+    @Transactional
+    public InventoryReservation release(String reference) {
+        InventoryReservation reservation = reservationRepository.findByReferenceForUpdate(reference)
+                .orElseThrow(() -> new ReservationNotFoundException("Reservation not found"));
+        if (reservation.getStatus() == ReservationStatus.COMMITTED) {
+            throw new ReservationStateException("Reservation is " + reservation.getStatus());
+        }
+        if (reservation.getStatus() == ReservationStatus.HELD) {
+            restock(reservation, ReservationStatus.RELEASED);
+        }
+        reservation.getItems().size();
+        return reservation;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public InventoryReservation getReservation(String reference) {
+        return reservationRepository.findByReference(reference)
+                .orElseThrow(() -> new ReservationNotFoundException("Reservation not found"));
+    }
+
+    /**
+     * Returns the stock of a reservation that is still held past its expiry. Safe to call from several
+     * instances at once: the row lock lets only one of them see it as held.
+     */
+    @Override
+    @Transactional
+    public boolean expire(Long reservationId) {
+        InventoryReservation reservation = reservationRepository.findByIdForUpdate(reservationId).orElse(null);
+        if (reservation == null || reservation.getStatus() != ReservationStatus.HELD
+                || reservation.getExpiresAt().isAfter(Instant.now())) {
+            return false;
+        }
+        restock(reservation, ReservationStatus.EXPIRED);
+        return true;
+    }
+
+    private boolean decrement(Long productId, int quantity, Instant now) {
+        Integer shards = productRepository.findStockShards(productId, ProductStatus.ACTIVE).orElse(null);
+        if (shards == null) {
+            return false;
+        }
+        return shards > 0
+                ? shardedStockCounter.decrement(productId, shards, quantity, now)
+                : productRepository.decrementStock(productId, quantity, ProductStatus.ACTIVE, now) == 1;
+    }
+
+    private void restock(InventoryReservation reservation, ReservationStatus status) {
+        Instant now = Instant.now();
+        for (InventoryReservationItem item : reservation.getItems()) {
+            int shards = productRepository.findById(item.getProductId()).map(Product::getStockShards).orElse(0);
+            if (shards > 0) {
+                shardedStockCounter.increment(item.getProductId(), shards, item.getQuantity(), now);
+            } else {
+                productRepository.incrementStock(item.getProductId(), item.getQuantity(), now);
+            }
+            productResponseCache.evictAfterCommit(item.getProductId());
+        }
+        publishStockChanged(reservation.getItems().stream().map(InventoryReservationItem::getProductId).toList());
+        reservation.setStatus(status);
+    }
+
+    /**
+     * Publishes the new stock of unsharded products, read in one query after the UPDATEs. This transaction
+     * still holds their row locks, so stock and revision are exactly what it wrote. Sharded products are
+     * left out: their total moves under concurrent reservations on other shards, so the cart replica picks
+     * them up from its periodic export sync instead.
+     */
+    private void publishStockChanged(Collection<Long> productIds) {
+        for (Object[] row : productRepository.findStockRevisions(productIds)) {
+            productEventPublisher.publishStockChanged((Long) row[0], (Integer) row[1], (Long) row[2]);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 
 @Getter
 @Setter
@@ -13,4 +14,8 @@ public class ProductFilter {
     private BigDecimal minPrice;
     private BigDecimal maxPrice;
     private ProductStatus status;
+    /**
+     * Ids of {@code categoryId} and its descendants, resolved by the service from the category tree.
+     */
+    private Collection<Long> categoryIds;
 }
\ No newline at end of file
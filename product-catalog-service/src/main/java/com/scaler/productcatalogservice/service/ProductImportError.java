@@ -0,0 +1,16 @@
+package com.scaler.productcatalogservice.service;
+
+import lombok.Getter;
+
+@Getter
+public class ProductImportError {
+    private final long row;
+    private final String sku;
+    private final String message;
+
+    public ProductImportError(long row, String sku, String message) {
+        this.row = row;
+        this.sku = sku;
+        this.message = message;
+    }
+}
@@ -0,0 +1,6 @@
+package com.scaler.productcatalogservice.service;
+
+public enum ProductImportFormat {
+    CSV,
+    NDJSON
+}
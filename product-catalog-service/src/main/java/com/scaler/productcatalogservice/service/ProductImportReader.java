@@ -0,0 +1,204 @@
+package com.scaler.productcatalogservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scaler.productcatalogservice.dto.CreateProductRequestDto;
+import com.scaler.productcatalogservice.dto.ProductImageDto;
+import com.scaler.productcatalogservice.dto.ProductSpecificationDto;
+import com.scaler.productcatalogservice.exception.InvalidImportException;
+import com.scaler.productcatalogservice.model.enums.ProductStatus;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads import rows one at a time from a CSV or NDJSON stream. CSV files need a header row; images are
+ * {@code |}-separated URLs and specifications are {@code |}-separated {@code key=value} pairs.
+ */
+class ProductImportReader implements Closeable {
+    private static final List<String> REQUIRED_COLUMNS =
+            List.of("sku", "name", "price", "currency", "stockQuantity", "status", "categoryId");
+
+    private final BufferedReader reader;
+    private final ProductImportFormat format;
+    private final ObjectMapper objectMapper;
+    private Map<String, Integer> columns;
+    private long row;
+
+    ProductImportReader(InputStream input, ProductImportFormat format, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    ProductImportRow next() throws IOException {
+        return format == ProductImportFormat.CSV ? nextCsv() : nextNdjson();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private ProductImportRow nextNdjson() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            row++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                return ProductImportRow.parsed(row, objectMapper.readValue(line, CreateProductRequestDto.class));
+            } catch (JsonProcessingException ex) {
+                return ProductImportRow.failed(row, "Malformed JSON: " + ex.getOriginalMessage());
+            }
+        }
+        return null;
+    }
+
+    private ProductImportRow nextCsv() throws IOException {
+        if (columns == null) {
+            readHeader();
+        }
+        List<String> record;
+        while ((record = readRecord()) != null) {
+            row++;
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            try {
+                return ProductImportRow.parsed(row, toRequest(record));
+            } catch (IllegalArgumentException ex) {
+                return ProductImportRow.failed(row, ex.getMessage());
+            }
+        }
+        return null;
+    }
+
+    private void readHeader() throws IOException {
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new InvalidImportException("CSV header row is missing");
+        }
+        columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+        List<String> missing = REQUIRED_COLUMNS.stream().filter(column -> !columns.containsKey(column)).toList();
+        if (!missing.isEmpty()) {
+            throw new InvalidImportException("CSV header is missing columns " + missing);
+        }
+    }
+
+    private CreateProductRequestDto toRequest(List<String> record) {
+        CreateProductRequestDto request = new CreateProductRequestDto();
+        request.setSku(value(record, "sku"));
+        request.setName(value(record, "name"));
+        request.setDescription(value(record, "description"));
+        request.setCurrency(value(record, "currency"));
+        try {
+            String price = value(record, "price");
+            request.setPrice(price != null ? new BigDecimal(price) : null);
+            String stockQuantity = value(record, "stockQuantity");
+            request.setStockQuantity(stockQuantity != null ? Integer.valueOf(stockQuantity) : null);
+            String categoryId = value(record, "categoryId");
+            request.setCategoryId(categoryId != null ? Long.valueOf(categoryId) : null);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid number in price, stockQuantity or categoryId");
+        }
+        String status = value(record, "status");
+        try {
+            request.setStatus(status != null ? ProductStatus.valueOf(status.toUpperCase(Locale.ROOT)) : null);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unknown status " + status);
+        }
+
+        String images = value(record, "images");
+        if (images != null) {
+            List<ProductImageDto> imageDtos = new ArrayList<>();
+            for (String url : images.split("\\|")) {
+                ProductImageDto image = new ProductImageDto();
+                image.setUrl(url.trim());
+                image.setSortOrder(imageDtos.size());
+                imageDtos.add(image);
+            }
+            request.setImages(imageDtos);
+        }
+
+        String specifications = value(record, "specifications");
+        if (specifications != null) {
+            List<ProductSpecificationDto> specificationDtos = new ArrayList<>();
+            for (String pair : specifications.split("\\|")) {
+                int separator = pair.indexOf('=');
+                if (separator <= 0) {
+                    throw new IllegalArgumentException("Specification must be key=value: " + pair);
+                }
+                ProductSpecificationDto specification = new ProductSpecificationDto();
+                specification.setKey(pair.substring(0, separator).trim());
+                specification.setValue(pair.substring(separator + 1).trim());
+                specificationDtos.add(specification);
+            }
+            request.setSpecifications(specificationDtos);
+        }
+        return request;
+    }
+
+    private String value(List<String> record, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (next != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,19 @@
+package com.scaler.productcatalogservice.service;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+public class ProductImportResult {
+    private long processed;
+    private long imported;
+    private long failed;
+    private long durationMs;
+    private double rowsPerSecond;
+    private List<ProductImportError> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+}
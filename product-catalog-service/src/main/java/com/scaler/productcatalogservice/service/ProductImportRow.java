@@ -0,0 +1,29 @@
+package com.scaler.productcatalogservice.service;
+
+import com.scaler.productcatalogservice.dto.CreateProductRequestDto;
+import lombok.Getter;
+
+@Getter
+class ProductImportRow {
+    private final long row;
+    private final CreateProductRequestDto request;
+    private final String error;
+
+    private ProductImportRow(long row, CreateProductRequestDto request, String error) {
+        this.row = row;
+        this.request = request;
+        this.error = error;
+    }
+
+    static ProductImportRow parsed(long row, CreateProductRequestDto request) {
+        return new ProductImportRow(row, request, null);
+    }
+
+    static ProductImportRow failed(long row, String error) {
+        return new ProductImportRow(row, null, error);
+    }
+
+    String getSku() {
+        return request != null ? request.getSku() : null;
+    }
+}
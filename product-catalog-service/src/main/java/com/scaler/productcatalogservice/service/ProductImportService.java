@@ -0,0 +1,7 @@
+package com.scaler.productcatalogservice.service;
+
+import java.io.InputStream;
+
+public interface ProductImportService {
+    ProductImportResult importProducts(InputStream input, ProductImportFormat format);
+}
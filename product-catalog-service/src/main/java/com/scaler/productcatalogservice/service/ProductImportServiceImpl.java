@@ -0,0 +1,214 @@
+package com.scaler.productcatalogservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scaler.productcatalogservice.cache.CategoryTreeCache;
+import com.scaler.productcatalogservice.dto.CreateProductRequestDto;
+import com.scaler.productcatalogservice.kafka.ProductEventPublisher;
+import com.scaler.productcatalogservice.mapper.ProductMapper;
+import com.scaler.productcatalogservice.model.Category;
+import com.scaler.productcatalogservice.model.Product;
+import com.scaler.productcatalogservice.repo.CategoryRepository;
+import com.scaler.productcatalogservice.repo.ProductRepository;
+import com.scaler.productcatalogservice.search.FacetIndex;
+import com.scaler.productcatalogservice.search.ProductSearchIndex;
+import com.scaler.productcatalogservice.search.SuggestionIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class ProductImportServiceImpl implements ProductImportService {
+    private static final Logger log = LoggerFactory.getLogger(ProductImportServiceImpl.class);
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final FacetIndex facetIndex;
+    private final SuggestionIndex suggestionIndex;
+    private final CategoryTreeCache categoryTreeCache;
+    private final ProductEventPublisher productEventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public ProductImportServiceImpl(ProductRepository productRepository,
+                                    CategoryRepository categoryRepository,
+                                    ProductSearchIndex productSearchIndex,
+                                    FacetIndex facetIndex,
+                                    SuggestionIndex suggestionIndex,
+                                    CategoryTreeCache categoryTreeCache,
+                                    ProductEventPublisher productEventPublisher,
+                                    TransactionTemplate transactionTemplate,
+                                    EntityManager entityManager,
+                                    Validator validator,
+                                    ObjectMapper objectMapper,
+                                    @Value("${bulk-import.chunk-size}") int chunkSize,
+                                    @Value("${bulk-import.max-reported-errors}") int maxReportedErrors) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.productSearchIndex = productSearchIndex;
+        this.facetIndex = facetIndex;
+        this.suggestionIndex = suggestionIndex;
+        this.categoryTreeCache = categoryTreeCache;
+        this.productEventPublisher = productEventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * Imports rows in chunks of {@code bulk-import.chunk-size}, each committed in its own transaction and
+     * indexed for search once committed. A chunk whose commit fails is reported row by row; earlier chunks
+     * stay committed.
+     */
+    @Override
+    public ProductImportResult importProducts(InputStream input, ProductImportFormat format) {
+        long startedAt = System.nanoTime();
+        ProductImportResult result = new ProductImportResult();
+        Set<String> seenSkus = new HashSet<>();
+        List<ProductImportRow> chunk = new ArrayList<>(chunkSize);
+        try (ProductImportReader reader = new ProductImportReader(input, format, objectMapper)) {
+            ProductImportRow row;
+            while ((row = reader.next()) != null) {
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, seenSkus, result);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        importChunk(chunk, seenSkus, result);
+
+        long elapsedNanos = System.nanoTime() - startedAt;
+        result.setDurationMs(elapsedNanos / 1_000_000);
+        result.setRowsPerSecond(elapsedNanos > 0 ? result.getProcessed() * 1_000_000_000.0 / elapsedNanos : 0);
+        log.info("Product import processed {} rows ({} imported, {} failed) in {} ms, {} rows/s",
+                result.getProcessed(), result.getImported(), result.getFailed(), result.getDurationMs(),
+                Math.round(result.getRowsPerSecond()));
+        return result;
+    }
+
+    private void importChunk(List<ProductImportRow> rows, Set<String> seenSkus, ProductImportResult result) {
+        List<ProductImportRow> valid = new ArrayList<>(rows.size());
+        for (ProductImportRow row : rows) {
+            result.setProcessed(result.getProcessed() + 1);
+            if (row.getError() != null) {
+                fail(result, row, row.getError());
+                continue;
+            }
+            Set<ConstraintViolation<CreateProductRequestDto>> violations = validator.validate(row.getRequest());
+            if (!violations.isEmpty()) {
+                fail(result, row, violations.stream()
+                        .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+                continue;
+            }
+            if (!seenSkus.add(row.getSku())) {
+                fail(result, row, "Duplicate SKU in import");
+                continue;
+            }
+            valid.add(row);
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        List<ProductImportError> errors = new ArrayList<>();
+        List<Product> imported;
+        try {
+            imported = transactionTemplate.execute(status -> persistChunk(valid, errors));
+        } catch (RuntimeException ex) {
+            log.warn("Product import chunk of {} rows rolled back", valid.size(), ex);
+            for (ProductImportRow row : valid) {
+                fail(result, row, "Chunk rolled back");
+            }
+            return;
+        }
+        result.setImported(result.getImported() + imported.size());
+        errors.forEach(error -> fail(result, error));
+        imported.forEach(this::afterImport);
+    }
+
+    // The row is committed by now, so a failure here is logged rather than reported as a failed row.
+    private void afterImport(Product product) {
+        try {
+            categoryTreeCache.adjustProductCount(product.getCategory().getId(), 1);
+            productSearchIndex.index(product);
+            facetIndex.index(product);
+            suggestionIndex.indexProduct(product);
+            productEventPublisher.publishProductUpdated(product);
+        } catch (RuntimeException ex) {
+            log.warn("Post-import indexing failed for product {}", product.getId(), ex);
+        }
+    }
+
+    private List<Product> persistChunk(List<ProductImportRow> rows, List<ProductImportError> errors) {
+        Set<String> existingSkus = new HashSet<>(productRepository.findExistingSkus(
+                rows.stream().map(ProductImportRow::getSku).collect(Collectors.toSet())));
+        Map<Long, Category> categories = categoryRepository.findAllById(
+                        rows.stream().map(row -> row.getRequest().getCategoryId()).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+
+        List<Product> products = new ArrayList<>(rows.size());
+        for (ProductImportRow row : rows) {
+            Category category = categories.get(row.getRequest().getCategoryId());
+            if (existingSkus.contains(row.getSku())) {
+                errors.add(new ProductImportError(row.getRow(), row.getSku(), "SKU already exists"));
+            } else if (category == null) {
+                errors.add(new ProductImportError(row.getRow(), row.getSku(), "Category not found"));
+            } else {
+                products.add(ProductMapper.toProduct(row.getRequest(), category));
+            }
+        }
+
+        productRepository.saveAll(products);
+        Map<Category, Long> addedPerCategory = products.stream()
+                .collect(Collectors.groupingBy(Product::getCategory, Collectors.counting()));
+        Instant now = Instant.now();
+        addedPerCategory.forEach((category, added) ->
+                categoryRepository.adjustProductCount(category.pathIds(), added, now));
+        entityManager.flush();
+        entityManager.clear();
+        return products;
+    }
+
+    private void fail(ProductImportResult result, ProductImportRow row, String message) {
+        fail(result, new ProductImportError(row.getRow(), row.getSku(), message));
+    }
+
+    private void fail(ProductImportResult result, ProductImportError error) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < maxReportedErrors) {
+            result.getErrors().add(error);
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+}
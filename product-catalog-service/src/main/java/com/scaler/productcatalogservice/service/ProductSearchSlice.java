@@ -0,0 +1,16 @@
+package com.scaler.productcatalogservice.service;
+
+import com.scaler.productcatalogservice.model.Product;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class ProductSearchSlice {
+    private List<Product> products;
+    private boolean hasNext;
+    private String nextCursor;
+    private Long approximateTotal;
+}
@@ -1,14 +1,23 @@
 package com.scaler.productcatalogservice.service;
 
+import com.scaler.productcatalogservice.cache.CategoryNode;
+import com.scaler.productcatalogservice.cache.CategorySnapshot;
 import com.scaler.productcatalogservice.dto.CategoryRequestDto;
 import com.scaler.productcatalogservice.dto.CreateProductRequestDto;
 import com.scaler.productcatalogservice.dto.UpdateProductRequestDto;
 import com.scaler.productcatalogservice.model.Category;
 import com.scaler.productcatalogservice.model.Product;
+import com.scaler.productcatalogservice.search.FacetCounts;
+import com.scaler.productcatalogservice.search.FacetType;
+import com.scaler.productcatalogservice.search.Suggestion;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface ProductService {
     Product createProduct(CreateProductRequestDto request);
@@ -17,15 +26,37 @@ public interface ProductService {
 
     void deleteProduct(Long productId);
 
+    Product configureStockShards(Long productId, int shards);
+
     Product getProduct(Long productId);
 
+    Instant getProductUpdatedAt(Long productId);
+
+    List<Product> getProducts(Collection<Long> productIds);
+
     Page<Product> listProducts(ProductFilter filter, Pageable pageable);
 
+    void exportProducts(Instant updatedSince, Consumer<Product> consumer);
+
     Page<Product> searchProducts(String query, Pageable pageable);
 
+    Page<Product> fuzzySearchProducts(String query, Pageable pageable);
+
+    ProductSearchSlice searchProductsAfter(String query, String after, int size, boolean includeTotal);
+
+    FacetCounts facetProducts(ProductFilter filter, Set<FacetType> facets);
+
+    FacetCounts facetSearch(String query, boolean fuzzy, Set<FacetType> facets);
+
+    List<Suggestion> suggest(String prefix, int limit);
+
+    void recordProductView(Long productId);
+
     Category createCategory(CategoryRequestDto request);
 
-    List<Category> listCategories();
+    CategorySnapshot getCategorySnapshot();
+
+    List<CategoryNode> getCategoryTree();
 
     Category getCategory(Long categoryId);
 }
\ No newline at end of file
@@ -1,38 +1,98 @@
 package com.scaler.productcatalogservice.service;
 
+import com.scaler.productcatalogservice.cache.CategoryNode;
+import com.scaler.productcatalogservice.cache.CategorySnapshot;
+import com.scaler.productcatalogservice.cache.CategoryTreeCache;
+import com.scaler.productcatalogservice.cache.ProductResponseCache;
 import com.scaler.productcatalogservice.dto.CategoryRequestDto;
 import com.scaler.productcatalogservice.dto.CreateProductRequestDto;
 import com.scaler.productcatalogservice.dto.UpdateProductRequestDto;
+import com.scaler.productcatalogservice.kafka.ProductEventPublisher;
 import com.scaler.productcatalogservice.mapper.ProductMapper;
 import com.scaler.productcatalogservice.exception.CategoryNotFoundException;
 import com.scaler.productcatalogservice.exception.DuplicateSkuException;
+import com.scaler.productcatalogservice.exception.InvalidSearchCursorException;
 import com.scaler.productcatalogservice.exception.CategoryAlreadyExistsException;
 import com.scaler.productcatalogservice.exception.ProductNotFoundException;
 import com.scaler.productcatalogservice.model.Category;
 import com.scaler.productcatalogservice.model.Product;
-import com.scaler.productcatalogservice.model.ProductImage;
-import com.scaler.productcatalogservice.model.ProductSpecification;
 import com.scaler.productcatalogservice.repo.CategoryRepository;
 import com.scaler.productcatalogservice.repo.ProductRepository;
+import com.scaler.productcatalogservice.search.FacetCounts;
+import com.scaler.productcatalogservice.search.FacetIndex;
+import com.scaler.productcatalogservice.search.FacetType;
+import com.scaler.productcatalogservice.search.ProductSearchIndex;
+import com.scaler.productcatalogservice.search.SearchCountCache;
+import com.scaler.productcatalogservice.search.SearchCursor;
+import com.scaler.productcatalogservice.search.SearchHit;
+import com.scaler.productcatalogservice.search.SearchIndexUpdater;
+import com.scaler.productcatalogservice.search.SearchSlice;
+import com.scaler.productcatalogservice.search.Suggestion;
+import com.scaler.productcatalogservice.search.SuggestionIndex;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.criteria.Predicate;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class ProductServiceImpl implements ProductService {
+    private static final int EXPORT_BATCH_SIZE = 500;
+
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final FacetIndex facetIndex;
+    private final SearchCountCache searchCountCache;
+    private final SuggestionIndex suggestionIndex;
+    private final SearchIndexUpdater searchIndexUpdater;
+    private final ProductResponseCache productResponseCache;
+    private final CategoryTreeCache categoryTreeCache;
+    private final ShardedStockCounter shardedStockCounter;
+    private final ProductEventPublisher productEventPublisher;
+    private final EntityManager entityManager;
 
     public ProductServiceImpl(ProductRepository productRepository,
-                              CategoryRepository categoryRepository) {
+                              CategoryRepository categoryRepository,
+                              ProductSearchIndex productSearchIndex,
+                              FacetIndex facetIndex,
+                              SearchCountCache searchCountCache,
+                              SuggestionIndex suggestionIndex,
+                              SearchIndexUpdater searchIndexUpdater,
+                              ProductResponseCache productResponseCache,
+                              CategoryTreeCache categoryTreeCache,
+                              ShardedStockCounter shardedStockCounter,
+                              ProductEventPublisher productEventPublisher,
+                              EntityManager entityManager) {
         this.productRepository = productRepository;
         this.categoryRepository = categoryRepository;
+        this.productSearchIndex = productSearchIndex;
+        this.facetIndex = facetIndex;
+        this.searchCountCache = searchCountCache;
+        this.suggestionIndex = suggestionIndex;
+        this.searchIndexUpdater = searchIndexUpdater;
+        this.productResponseCache = productResponseCache;
+        this.categoryTreeCache = categoryTreeCache;
+        this.shardedStockCounter = shardedStockCounter;
+        this.productEventPublisher = productEventPublisher;
+        this.entityManager = entityManager;
     }
 
     @Override
@@ -45,32 +105,19 @@ public class ProductServiceImpl implements ProductService {
         Category category = categoryRepository.findById(request.getCategoryId())
                 .orElseThrow(() -> new CategoryNotFoundException("Category not found"));
 
-        Product product = new Product();
-        product.setSku(request.getSku());
-        product.setName(request.getName());
-        product.setDescription(request.getDescription());
-        product.setPrice(request.getPrice());
-        product.setCurrency(request.getCurrency());
-        product.setStockQuantity(request.getStockQuantity());
-        product.setStatus(request.getStatus());
-        product.setCategory(category);
-
-        List<ProductImage> images = ProductMapper.toImages(request.getImages(), product);
-        List<ProductSpecification> specs = ProductMapper.toSpecifications(request.getSpecifications(), product);
-        product.getImages().clear();
-        product.getImages().addAll(images);
-        product.getSpecifications().clear();
-        product.getSpecifications().addAll(specs);
-
-        Product saved = productRepository.save(product);
+        Product saved = productRepository.save(ProductMapper.toProduct(request, category));
+        adjustProductCount(category, 1);
         initializeProduct(saved);
+        searchIndexUpdater.indexAfterCommit(saved);
+        productEventPublisher.publishProductUpdated(saved);
         return saved;
     }
 
     @Override
     @Transactional
     public Product updateProduct(Long productId, UpdateProductRequestDto request) {
-        Product product = productRepository.findById(productId)
+        // Locked so that concurrent stock reservations are not overwritten and the revision stays in step.
+        Product product = productRepository.findByIdForUpdate(productId)
                 .orElseThrow(() -> new ProductNotFoundException("Product not found"));
 
         if (request.getName() != null) {
@@ -86,14 +133,20 @@ public class ProductServiceImpl implements ProductService {
             product.setCurrency(request.getCurrency());
         }
         if (request.getStockQuantity() != null) {
-            product.setStockQuantity(request.getStockQuantity());
+            if (product.getStockShards() > 0) {
+                shardedStockCounter.redistribute(product, product.getStockShards(), request.getStockQuantity());
+            } else {
+                product.setStockQuantity(request.getStockQuantity());
+            }
         }
         if (request.getStatus() != null) {
             product.setStatus(request.getStatus());
         }
-        if (request.getCategoryId() != null) {
+        if (request.getCategoryId() != null && !request.getCategoryId().equals(product.getCategory().getId())) {
             Category category = categoryRepository.findById(request.getCategoryId())
                     .orElseThrow(() -> new CategoryNotFoundException("Category not found"));
+            adjustProductCount(product.getCategory(), -1);
+            adjustProductCount(category, 1);
             product.setCategory(category);
         }
 
@@ -109,15 +162,44 @@ public class ProductServiceImpl implements ProductService {
 
         Product saved = productRepository.save(product);
         initializeProduct(saved);
+        searchIndexUpdater.indexAfterCommit(saved);
+        productResponseCache.evictAfterCommit(productId);
+        productEventPublisher.publishProductUpdated(saved);
         return saved;
     }
 
     @Override
     @Transactional
     public void deleteProduct(Long productId) {
-        Product product = productRepository.findById(productId)
+        Product product = productRepository.findByIdForUpdate(productId)
                 .orElseThrow(() -> new ProductNotFoundException("Product not found"));
         productRepository.delete(product);
+        if (product.getStockShards() > 0) {
+            shardedStockCounter.remove(productId);
+        }
+        adjustProductCount(product.getCategory(), -1);
+        searchIndexUpdater.removeAfterCommit(productId);
+        productResponseCache.evictAfterCommit(productId);
+        productEventPublisher.publishProductDeleted(product);
+    }
+
+    /**
+     * Moves the product's current stock onto {@code shards} shard rows, or back onto the product row when
+     * {@code shards} is 0. The product row lock keeps admin stock updates out while stock is moved.
+     */
+    @Override
+    @Transactional
+    public Product configureStockShards(Long productId, int shards) {
+        Product product = productRepository.findByIdForUpdate(productId)
+                .orElseThrow(() -> new ProductNotFoundException("Product not found"));
+        long total = product.getStockQuantity();
+        if (product.getStockShards() > 0) {
+            total += shardedStockCounter.lockedTotal(productId);
+        }
+        shardedStockCounter.redistribute(product, shards, Math.toIntExact(total));
+        initializeProduct(product);
+        productResponseCache.evictAfterCommit(productId);
+        return product;
     }
 
     @Override
@@ -129,12 +211,41 @@ public class ProductServiceImpl implements ProductService {
         return product;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Instant getProductUpdatedAt(Long productId) {
+        Instant updatedAt = productRepository.findUpdatedAtById(productId)
+                .orElseThrow(() -> new ProductNotFoundException("Product not found"));
+        Instant shardsUpdatedAt = shardedStockCounter.lastUpdatedAt(productId);
+        return shardsUpdatedAt != null && shardsUpdatedAt.isAfter(updatedAt) ? shardsUpdatedAt : updatedAt;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> getProducts(Collection<Long> productIds) {
+        List<Product> products = productRepository.findAllById(productIds);
+        initializeProducts(products);
+        return products;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<Product> listProducts(ProductFilter filter, Pageable pageable) {
-        Specification<Product> specification = (root, query, cb) -> {
+        Page<Product> products = productRepository.findAll(toSpecification(filter), pageable);
+        initializeProducts(products.getContent());
+        return products;
+    }
+
+    /**
+     * A category filter matches the whole subtree through a prefix match on the indexed category path.
+     */
+    private Specification<Product> toSpecification(ProductFilter filter) {
+        CategoryNode category = filter.getCategoryId() != null ? resolveCategory(filter.getCategoryId()) : null;
+        return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
-            if (filter.getCategoryId() != null) {
+            if (category != null && category.getPath() != null) {
+                predicates.add(cb.like(root.get("category").get("path"), category.getPath() + "%"));
+            } else if (filter.getCategoryId() != null) {
                 predicates.add(cb.equal(root.get("category").get("id"), filter.getCategoryId()));
             }
             if (filter.getMinPrice() != null) {
@@ -148,26 +259,206 @@ public class ProductServiceImpl implements ProductService {
             }
             return cb.and(predicates.toArray(new Predicate[0]));
         };
+    }
 
-        Page<Product> products = productRepository.findAll(specification, pageable);
-        products.forEach(this::initializeProduct);
-        return products;
+    /**
+     * Streams products changed at or after {@code updatedSince} (all products when null) from a forward-only
+     * cursor. Images and specifications are batch-loaded per chunk and the persistence context is cleared
+     * after each chunk, so memory stays flat regardless of catalog size.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportProducts(Instant updatedSince, Consumer<Product> consumer) {
+        Instant since = updatedSince != null ? updatedSince : Instant.EPOCH;
+        List<Product> batch = new ArrayList<>(EXPORT_BATCH_SIZE);
+        try (Stream<Product> products = productRepository.streamUpdatedSince(since)) {
+            Iterator<Product> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == EXPORT_BATCH_SIZE) {
+                    exportBatch(batch, consumer);
+                }
+            }
+        }
+        exportBatch(batch, consumer);
+        if (updatedSince != null) {
+            exportShardChanges(updatedSince, consumer);
+        }
+    }
+
+    /**
+     * Products whose stock changed only through their shards since {@code updatedSince}. They are looked up
+     * separately so the main stream keeps to the updated_at index, and follow it in id order.
+     */
+    private void exportShardChanges(Instant updatedSince, Consumer<Product> consumer) {
+        List<Long> productIds = shardedStockCounter.productIdsUpdatedSince(updatedSince);
+        for (int from = 0; from < productIds.size(); from += EXPORT_BATCH_SIZE) {
+            List<Long> chunk = productIds.subList(from, Math.min(from + EXPORT_BATCH_SIZE, productIds.size()));
+            exportBatch(new ArrayList<>(productRepository.findNotUpdatedSince(chunk, updatedSince)), consumer);
+        }
+    }
+
+    private void exportBatch(List<Product> batch, Consumer<Product> consumer) {
+        initializeProducts(batch);
+        batch.forEach(consumer);
+        batch.clear();
+        entityManager.clear();
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<Product> searchProducts(String query, Pageable pageable) {
-        Page<Product> products = productRepository.search(query, pageable);
-        products.forEach(this::initializeProduct);
-        return products;
+        if (query == null || query.isBlank() || !productSearchIndex.isReady()) {
+            Page<Product> products = productRepository.search(query, pageable);
+            initializeProducts(products.getContent());
+            return products;
+        }
+
+        return pageOf(productSearchIndex.search(query), pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Product> fuzzySearchProducts(String query, Pageable pageable) {
+        if (query == null || query.isBlank() || !productSearchIndex.isReady()) {
+            return searchProducts(query, pageable);
+        }
+        return pageOf(productSearchIndex.fuzzySearch(query), pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ProductSearchSlice searchProductsAfter(String query, String after, int size, boolean includeTotal) {
+        SearchCursor cursor = after == null || after.isBlank() ? null : SearchCursor.decode(after);
+        boolean indexAvailable = query != null && !query.isBlank() && productSearchIndex.isReady();
+        // A cursor is only valid on the path that issued it; an index cursor is ordered by score, so its id is
+        // no keyset bound.
+        if (cursor != null && cursor.isIndexed() && !indexAvailable) {
+            throw new InvalidSearchCursorException("Search cursor is no longer valid, restart the search");
+        }
+        boolean useIndex = indexAvailable && (cursor == null || cursor.isIndexed());
+
+        ProductSearchSlice slice = new ProductSearchSlice();
+        long indexMatches = 0;
+        if (useIndex) {
+            SearchSlice hits = productSearchIndex.searchAfter(query, cursor, size);
+            List<Long> productIds = hits.getHits().stream().map(SearchHit::getProductId).collect(Collectors.toList());
+            slice.setProducts(findAllInOrder(productIds));
+            slice.setHasNext(hits.isHasNext());
+            if (hits.isHasNext()) {
+                SearchHit last = hits.getHits().get(hits.getHits().size() - 1);
+                slice.setNextCursor(SearchCursor.indexed(last.getScore(), last.getProductId()).encode());
+            }
+            indexMatches = hits.getMatchCount();
+        } else {
+            Long afterId = cursor != null ? cursor.getProductId() : 0L;
+            List<Product> products = productRepository.searchAfter(query, afterId, PageRequest.of(0, size + 1));
+            boolean hasNext = products.size() > size;
+            if (hasNext) {
+                products = products.subList(0, size);
+            }
+            slice.setProducts(products);
+            slice.setHasNext(hasNext);
+            if (hasNext) {
+                slice.setNextCursor(SearchCursor.keyset(products.get(products.size() - 1).getId()).encode());
+            }
+        }
+        initializeProducts(slice.getProducts());
+
+        if (includeTotal) {
+            slice.setApproximateTotal(useIndex ? indexMatches : countDatabaseMatches(query));
+        }
+        return slice;
+    }
+
+    private long countDatabaseMatches(String query) {
+        Long total = searchCountCache.get(query);
+        if (total == null) {
+            total = productRepository.countSearch(query);
+            searchCountCache.put(query, total);
+        }
+        return total;
+    }
+
+    @Override
+    public FacetCounts facetProducts(ProductFilter filter, Set<FacetType> facets) {
+        // Until the index is loaded the counts would be empty next to database results, so omit them.
+        if (!facetIndex.isReady()) {
+            return null;
+        }
+        if (filter.getCategoryId() != null && resolveCategory(filter.getCategoryId()) != null) {
+            filter.setCategoryIds(categoryTreeCache.subtreeIds(filter.getCategoryId()));
+        }
+        return facetIndex.count(filter, facets);
+    }
+
+    @Override
+    public FacetCounts facetSearch(String query, boolean fuzzy, Set<FacetType> facets) {
+        if (!facetIndex.isReady() || !productSearchIndex.isReady()) {
+            return null;
+        }
+        return facetIndex.count(fuzzy ? productSearchIndex.fuzzySearch(query) : productSearchIndex.search(query),
+                facets);
+    }
+
+    @Override
+    public List<Suggestion> suggest(String prefix, int limit) {
+        return suggestionIndex.suggest(prefix, limit);
+    }
+
+    @Override
+    public void recordProductView(Long productId) {
+        suggestionIndex.recordView(productId);
+    }
+
+    private Page<Product> pageOf(List<Long> rankedIds, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), rankedIds.size());
+        int to = Math.min(from + pageable.getPageSize(), rankedIds.size());
+        List<Product> products = findAllInOrder(rankedIds.subList(from, to));
+        initializeProducts(products);
+        return new PageImpl<>(products, pageable, rankedIds.size());
+    }
+
+    private List<Product> findAllInOrder(List<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Product> productsById = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        return productIds.stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * A category missing from the tree is treated as unknown rather than reloading the tree, so requests for
+     * made-up ids cannot each trigger a full category scan. Categories created on other instances appear with
+     * the next scheduled reload.
+     */
+    private CategoryNode resolveCategory(Long categoryId) {
+        return categoryTreeCache.get(categoryId);
+    }
+
+    private void adjustProductCount(Category category, long delta) {
+        categoryRepository.adjustProductCount(category.pathIds(), delta, Instant.now());
+        categoryTreeCache.adjustProductCountAfterCommit(category.getId(), delta);
     }
 
     private void initializeProduct(Product product) {
-        if (product.getCategory() != null) {
-            product.getCategory().getName();
+        initializeProducts(List.of(product));
+    }
+
+    // Shard totals are loaded for the whole batch at once rather than per product.
+    private void initializeProducts(Collection<Product> products) {
+        for (Product product : products) {
+            if (product.getCategory() != null) {
+                product.getCategory().getName();
+            }
+            product.getImages().size();
+            product.getSpecifications().size();
         }
-        product.getImages().size();
-        product.getSpecifications().size();
+        shardedStockCounter.load(products);
     }
 
     @Override
@@ -177,16 +468,36 @@ public class ProductServiceImpl implements ProductService {
             throw new CategoryAlreadyExistsException("Category already exists");
         });
 
+        Category parent = null;
+        if (request.getParentId() != null) {
+            parent = categoryRepository.findById(request.getParentId())
+                    .orElseThrow(() -> new CategoryNotFoundException("Parent category not found"));
+        }
+
         Category category = new Category();
         category.setName(request.getName());
         category.setDescription(request.getDescription());
-        return categoryRepository.save(category);
+        category.setParent(parent);
+        category.setDepth(parent != null ? parent.getDepth() + 1 : 0);
+        Category saved = categoryRepository.save(category);
+        saved.setPath((parent != null && parent.getPath() != null ? parent.getPath() : "/") + saved.getId() + "/");
+        categoryRepository.flush();
+        categoryTreeCache.refreshAfterCommit(categoryRepository.findAll());
+        searchIndexUpdater.indexCategoryAfterCommit(saved);
+        return saved;
     }
 
+    /**
+     * Served from memory; until the startup load has run the tree is empty.
+     */
     @Override
-    @Transactional(readOnly = true)
-    public List<Category> listCategories() {
-        return categoryRepository.findAll();
+    public CategorySnapshot getCategorySnapshot() {
+        return categoryTreeCache.snapshot();
+    }
+
+    @Override
+    public List<CategoryNode> getCategoryTree() {
+        return categoryTreeCache.roots();
     }
 
     @Override
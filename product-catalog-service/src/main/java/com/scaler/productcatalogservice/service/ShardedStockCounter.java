@@ -0,0 +1,134 @@
+package com.scaler.productcatalogservice.service;
+
+import com.scaler.productcatalogservice.model.Product;
+import com.scaler.productcatalogservice.model.ProductStockShard;
+import com.scaler.productcatalogservice.repo.ProductStockShardRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Stock of hot products split across {@link ProductStockShard} rows. Must be called inside a transaction.
+ */
+@Component
+public class ShardedStockCounter {
+    private final ProductStockShardRepository shardRepository;
+
+    public ShardedStockCounter(ProductStockShardRepository shardRepository) {
+        this.shardRepository = shardRepository;
+    }
+
+    /**
+     * Tries a random shard first and the others in turn. Only if no single shard holds {@code quantity}
+     * are all shards locked and the quantity taken from several of them.
+     */
+    public boolean decrement(Long productId, int shards, int quantity, Instant now) {
+        int start = ThreadLocalRandom.current().nextInt(shards);
+        for (int i = 0; i < shards; i++) {
+            if (shardRepository.decrement(productId, (start + i) % shards, quantity, now) == 1) {
+                return true;
+            }
+        }
+
+        List<ProductStockShard> locked = shardRepository.findAllForUpdate(productId);
+        long available = locked.stream().mapToLong(ProductStockShard::getQuantity).sum();
+        if (available < quantity) {
+            return false;
+        }
+        int remaining = quantity;
+        for (ProductStockShard shard : locked) {
+            int taken = Math.min(shard.getQuantity(), remaining);
+            shard.setQuantity(shard.getQuantity() - taken);
+            shard.setUpdatedAt(now);
+            remaining -= taken;
+            if (remaining == 0) {
+                break;
+            }
+        }
+        return true;
+    }
+
+    public void increment(Long productId, int shards, int quantity, Instant now) {
+        shardRepository.increment(productId, ThreadLocalRandom.current().nextInt(shards), quantity, now);
+    }
+
+    public void remove(Long productId) {
+        shardRepository.deleteByProductId(productId);
+    }
+
+    public long total(Long productId) {
+        return shardRepository.sumQuantity(productId);
+    }
+
+    /**
+     * Sums the shards while holding their row locks, so no reservation can move stock between the read and
+     * a following {@link #redistribute}.
+     */
+    public long lockedTotal(Long productId) {
+        return shardRepository.findAllForUpdate(productId).stream().mapToLong(ProductStockShard::getQuantity).sum();
+    }
+
+    /**
+     * Sets the shard total and last shard change on every sharded product given, with one query for all of them.
+     */
+    public void load(Collection<Product> products) {
+        Map<Long, List<Product>> sharded = products.stream()
+                .filter(product -> product.getStockShards() > 0)
+                .collect(Collectors.groupingBy(Product::getId));
+        if (sharded.isEmpty()) {
+            return;
+        }
+        for (Object[] row : shardRepository.summarize(sharded.keySet())) {
+            for (Product product : sharded.get((Long) row[0])) {
+                product.setShardedStock(((Number) row[1]).longValue());
+                product.setShardsUpdatedAt((Instant) row[2]);
+            }
+        }
+    }
+
+    /**
+     * Ids of products with a shard changed at or after {@code since}.
+     */
+    public List<Long> productIdsUpdatedSince(Instant since) {
+        return shardRepository.findProductIdsUpdatedSince(since);
+    }
+
+    /**
+     * Time of the last change to any shard, or null when the product has none.
+     */
+    public Instant lastUpdatedAt(Long productId) {
+        return shardRepository.findLastUpdatedAt(productId).orElse(null);
+    }
+
+    /**
+     * Spreads {@code quantity} evenly over {@code shards} new shards, or moves it back onto the product row
+     * when {@code shards} is 0. The product row should be locked by the caller.
+     */
+    public void redistribute(Product product, int shards, int quantity) {
+        shardRepository.deleteByProductId(product.getId());
+        product.setStockShards(shards);
+        if (shards == 0) {
+            product.setStockQuantity(quantity);
+            return;
+        }
+
+        Instant now = Instant.now();
+        List<ProductStockShard> rows = new ArrayList<>(shards);
+        for (int shard = 0; shard < shards; shard++) {
+            ProductStockShard row = new ProductStockShard();
+            row.setProductId(product.getId());
+            row.setShard(shard);
+            row.setQuantity(quantity / shards + (shard < quantity % shards ? 1 : 0));
+            row.setUpdatedAt(now);
+            rows.add(row);
+        }
+        shardRepository.saveAll(rows);
+        product.setStockQuantity(0);
+    }
+}
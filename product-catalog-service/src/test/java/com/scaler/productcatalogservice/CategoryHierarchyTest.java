@@ -0,0 +1,145 @@
+package com.scaler.productcatalogservice;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scaler.productcatalogservice.cache.CategoryTreeCache;
+import com.scaler.productcatalogservice.cache.ProductResponseBytesCache;
+import com.scaler.productcatalogservice.cache.ProductResponseCache;
+import com.scaler.productcatalogservice.dto.CategoryRequestDto;
+import com.scaler.productcatalogservice.dto.CreateProductRequestDto;
+import com.scaler.productcatalogservice.kafka.ProductEventPublisher;
+import com.scaler.productcatalogservice.model.Category;
+import com.scaler.productcatalogservice.model.Product;
+import com.scaler.productcatalogservice.model.enums.ProductStatus;
+import com.scaler.productcatalogservice.repo.CategoryRepository;
+import com.scaler.productcatalogservice.repo.ProductRepository;
+import com.scaler.productcatalogservice.repo.ProductStockShardRepository;
+import com.scaler.productcatalogservice.search.FacetIndex;
+import com.scaler.productcatalogservice.search.ProductSearchIndex;
+import com.scaler.productcatalogservice.search.SearchCountCache;
+import com.scaler.productcatalogservice.search.SearchIndexUpdater;
+import com.scaler.productcatalogservice.search.SuggestionIndex;
+import com.scaler.productcatalogservice.service.ProductFilter;
+import com.scaler.productcatalogservice.service.ProductServiceImpl;
+import com.scaler.productcatalogservice.service.ShardedStockCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest
+class CategoryHierarchyTest {
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductStockShardRepository productStockShardRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private CategoryTreeCache categoryTreeCache;
+    private ProductServiceImpl productService;
+
+    @BeforeEach
+    void setUp() {
+        ProductSearchIndex productSearchIndex = new ProductSearchIndex();
+        FacetIndex facetIndex = new FacetIndex(List.of());
+        SuggestionIndex suggestionIndex = new SuggestionIndex(20, 10);
+        categoryTreeCache = new CategoryTreeCache();
+        productService = new ProductServiceImpl(productRepository, categoryRepository,
+                productSearchIndex, facetIndex, new SearchCountCache(100, 60), suggestionIndex,
+                new SearchIndexUpdater(productSearchIndex, facetIndex, suggestionIndex),
+                new ProductResponseCache(new SimpleMeterRegistry(), 100, 60, Optional.empty(),
+                        new ProductResponseBytesCache(new SimpleMeterRegistry(), new ObjectMapper(),
+                                1_000_000, 60, true, 1024)),
+                categoryTreeCache, new ShardedStockCounter(productStockShardRepository),
+                mock(ProductEventPublisher.class), entityManager);
+    }
+
+    @Test
+    void createCategoryExtendsTheParentPath() {
+        Category electronics = productService.createCategory(request("Electronics", null));
+        Category phones = productService.createCategory(request("Phones", electronics.getId()));
+        Category android = productService.createCategory(request("Android", phones.getId()));
+
+        assertEquals("/" + electronics.getId() + "/", electronics.getPath());
+        assertEquals(electronics.getPath() + phones.getId() + "/", phones.getPath());
+        assertEquals(phones.getPath() + android.getId() + "/", android.getPath());
+        assertEquals(2, android.getDepth());
+        assertEquals(List.of(electronics.getId(), phones.getId(), android.getId()), android.pathIds());
+    }
+
+    @Test
+    void categoryFilterMatchesTheWholeSubtree() {
+        Category electronics = productService.createCategory(request("Electronics", null));
+        Category phones = productService.createCategory(request("Phones", electronics.getId()));
+        Category android = productService.createCategory(request("Android", phones.getId()));
+        Category books = productService.createCategory(request("Books", null));
+        productService.createProduct(product("SKU-1", electronics));
+        productService.createProduct(product("SKU-2", android));
+        productService.createProduct(product("SKU-3", books));
+        // The test transaction never commits, so load the tree as the startup loader would.
+        categoryTreeCache.refresh(categoryRepository.findAll());
+
+        assertEquals(List.of("SKU-1", "SKU-2"), skusIn(electronics));
+        assertEquals(List.of("SKU-2"), skusIn(phones));
+        assertEquals(List.of("SKU-3"), skusIn(books));
+    }
+
+    @Test
+    void productCountsAreKeptForEveryAncestor() {
+        Category electronics = productService.createCategory(request("Electronics", null));
+        Category phones = productService.createCategory(request("Phones", electronics.getId()));
+        Category android = productService.createCategory(request("Android", phones.getId()));
+        productService.createProduct(product("SKU-1", android));
+        productService.createProduct(product("SKU-2", phones));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(2, categoryRepository.findById(electronics.getId()).orElseThrow().getProductCount());
+        assertEquals(2, categoryRepository.findById(phones.getId()).orElseThrow().getProductCount());
+        assertEquals(1, categoryRepository.findById(android.getId()).orElseThrow().getProductCount());
+    }
+
+    private List<String> skusIn(Category category) {
+        ProductFilter filter = new ProductFilter();
+        filter.setCategoryId(category.getId());
+        return productService.listProducts(filter, PageRequest.of(0, 20)).stream()
+                .map(Product::getSku)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private static CategoryRequestDto request(String name, Long parentId) {
+        CategoryRequestDto request = new CategoryRequestDto();
+        request.setName(name);
+        request.setParentId(parentId);
+        return request;
+    }
+
+    private static CreateProductRequestDto product(String sku, Category category) {
+        CreateProductRequestDto request = new CreateProductRequestDto();
+        request.setSku(sku);
+        request.setName("Product " + sku);
+        request.setPrice(new BigDecimal("10.00"));
+        request.setCurrency("USD");
+        request.setStockQuantity(5);
+        request.setCategoryId(category.getId());
+        request.setStatus(ProductStatus.ACTIVE);
+        return request;
+    }
+}
@@ -0,0 +1,132 @@
+package com.scaler.productcatalogservice;
+
+import com.scaler.productcatalogservice.cache.CategoryNode;
+import com.scaler.productcatalogservice.cache.CategorySnapshot;
+import com.scaler.productcatalogservice.cache.CategoryTreeCache;
+import com.scaler.productcatalogservice.model.Category;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CategoryTreeCacheTest {
+    private final CategoryTreeCache cache = new CategoryTreeCache();
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void refreshLinksChildrenToParentsInNameOrder() {
+        Category electronics = category(1L, null, "Electronics");
+        Category phones = category(2L, electronics, "Phones");
+        Category audio = category(3L, electronics, "Audio");
+        Category books = category(4L, null, "Books");
+
+        cache.refresh(List.of(electronics, phones, audio, books));
+
+        assertEquals(List.of("Books", "Electronics"), names(cache.roots()));
+        assertEquals(List.of("Audio", "Phones"), names(cache.get(1L).getChildren()));
+        assertEquals("/1/2/", cache.get(2L).getPath());
+        assertEquals(1, cache.get(2L).getDepth());
+    }
+
+    @Test
+    void subtreeIdsIncludesAllDescendants() {
+        Category electronics = category(1L, null, "Electronics");
+        Category phones = category(2L, electronics, "Phones");
+        Category android = category(3L, phones, "Android");
+        Category books = category(4L, null, "Books");
+        cache.refresh(List.of(electronics, phones, android, books));
+
+        assertEquals(List.of(1L, 2L, 3L), cache.subtreeIds(1L).stream().sorted().collect(Collectors.toList()));
+        assertEquals(List.of(3L), cache.subtreeIds(3L));
+        assertEquals(List.of(99L), cache.subtreeIds(99L));
+    }
+
+    @Test
+    void productCountChangesPropagateToAncestorsAndBumpTheSnapshot() {
+        Category electronics = category(1L, null, "Electronics");
+        Category phones = category(2L, electronics, "Phones");
+        Category android = category(3L, phones, "Android");
+        cache.refresh(List.of(electronics, phones, android));
+        CategorySnapshot before = cache.snapshot();
+
+        cache.adjustProductCount(3L, 2);
+
+        assertEquals(2, cache.get(1L).getProductCount());
+        assertEquals(2, cache.get(2L).getProductCount());
+        assertEquals(2, cache.get(3L).getProductCount());
+        assertNotEquals(before.getVersion(), cache.snapshot().getVersion());
+    }
+
+    @Test
+    void versionDependsOnlyOnTheCategories() {
+        Category electronics = category(1L, null, "Electronics");
+        Category phones = category(2L, electronics, "Phones");
+        CategoryTreeCache other = new CategoryTreeCache();
+
+        cache.refresh(List.of(electronics, phones));
+        other.refresh(List.of(phones, electronics));
+        assertEquals(cache.snapshot().getVersion(), other.snapshot().getVersion());
+
+        phones.setName("Mobile phones");
+        other.refresh(List.of(electronics, phones));
+        assertNotEquals(cache.snapshot().getVersion(), other.snapshot().getVersion());
+    }
+
+    @Test
+    void refreshAfterCommitWaitsForTheCommit() {
+        Category electronics = category(1L, null, "Electronics");
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.refreshAfterCommit(List.of(electronics));
+
+        assertFalse(cache.isLoaded());
+        assertNull(cache.get(1L));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertTrue(cache.isLoaded());
+        assertEquals("Electronics", cache.get(1L).getName());
+    }
+
+    @Test
+    void aReloadOverlappingAWriteIsDropped() {
+        Category electronics = category(1L, null, "Electronics");
+        Category phones = category(2L, electronics, "Phones");
+        cache.refresh(List.of(electronics));
+
+        // A background reload reads the categories, then a write commits before it finishes.
+        long generation = cache.generation();
+        cache.refresh(List.of(electronics, phones));
+
+        assertFalse(cache.refresh(List.of(electronics), generation));
+        assertEquals("Phones", cache.get(2L).getName());
+        assertTrue(cache.refresh(List.of(electronics, phones), cache.generation()));
+    }
+
+    private static List<String> names(List<CategoryNode> nodes) {
+        return nodes.stream().map(CategoryNode::getName).collect(Collectors.toList());
+    }
+
+    private static Category category(Long id, Category parent, String name) {
+        Category category = new Category();
+        category.setId(id);
+        category.setName(name);
+        category.setParent(parent);
+        category.setDepth(parent != null ? parent.getDepth() + 1 : 0);
+        category.setPath((parent != null ? parent.getPath() : "/") + id + "/");
+        return category;
+    }
+}
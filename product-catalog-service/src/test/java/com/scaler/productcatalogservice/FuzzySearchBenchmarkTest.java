@@ -0,0 +1,106 @@
+package com.scaler.productcatalogservice;
+
+import com.scaler.productcatalogservice.model.Category;
+import com.scaler.productcatalogservice.model.Product;
+import com.scaler.productcatalogservice.model.ProductSpecification;
+import com.scaler.productcatalogservice.search.ProductSearchIndex;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Per-query cost of exact vs fuzzy search over a synthetic catalog. Disabled by default; run with
+ * {@code mvn test -Dtest=FuzzySearchBenchmarkTest -Dbenchmarks=true -DargLine=-Xmx6g}.
+ * The catalog size defaults to 1M and can be changed with {@code -Dbenchmark.products=}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class FuzzySearchBenchmarkTest {
+    private static final String[] BRANDS = {"apple", "samsung", "sony", "lenovo", "dell", "xiaomi", "oneplus",
+            "google", "asus", "acer", "philips", "bosch", "nikon", "canon", "garmin", "logitech"};
+    private static final String[] NOUNS = {"iphone", "galaxy", "laptop", "headphones", "monitor", "keyboard",
+            "camera", "tablet", "speaker", "charger", "watch", "router", "printer", "projector", "earbuds",
+            "notebook", "television", "microphone", "controller", "drone"};
+    private static final String[] COLORS = {"black", "white", "silver", "graphite", "midnight", "blue", "green"};
+    private static final String[] CATEGORIES = {"electronics", "computers", "audio", "photography", "wearables"};
+    private static final String[] QUERIES = {"iphone", "samsung galaxy", "headphones", "logitech keyboard",
+            "graphite laptop", "monitor"};
+    private static final String[] MISSPELLED_QUERIES = {"iphnoe", "samsnug galaxy", "headphnes", "logitec keybaord",
+            "graphte laptop", "monitr"};
+    private static final int ITERATIONS = 20;
+
+    private final ProductSearchIndex index = new ProductSearchIndex();
+
+    @BeforeAll
+    void buildIndex() {
+        int productCount = Integer.getInteger("benchmark.products", 1_000_000);
+        Random random = new Random(42);
+        Category[] categories = new Category[CATEGORIES.length];
+        for (int i = 0; i < categories.length; i++) {
+            categories[i] = new Category();
+            categories[i].setId((long) i + 1);
+            categories[i].setName(CATEGORIES[i]);
+        }
+
+        long startedAt = System.nanoTime();
+        for (long id = 1; id <= productCount; id++) {
+            Product product = new Product();
+            product.setId(id);
+            product.setName(pick(random, BRANDS) + " " + pick(random, NOUNS) + " m" + random.nextInt(50_000));
+            product.setCategory(categories[random.nextInt(categories.length)]);
+            product.getSpecifications().add(specification(product, "color", pick(random, COLORS)));
+            product.getSpecifications().add(specification(product, "model", "sku" + random.nextInt(200_000)));
+            index.index(product);
+        }
+        System.out.printf("Indexed %d products in %d ms%n", productCount, (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    @Test
+    void fuzzySearchRecoversMisspelledTerms() {
+        assertTrue(index.search("iphnoe").isEmpty());
+        assertFalse(index.fuzzySearch("iphnoe").isEmpty());
+        assertFalse(index.fuzzySearch("samsnug galaxy").isEmpty());
+    }
+
+    @Test
+    void reportPerQueryCost() {
+        report("exact", QUERIES, index::search);
+        report("fuzzy", QUERIES, index::fuzzySearch);
+        report("fuzzy", MISSPELLED_QUERIES, index::fuzzySearch);
+    }
+
+    private void report(String mode, String[] queries, Function<String, List<Long>> search) {
+        for (String query : queries) {
+            search.apply(query);
+        }
+        for (String query : queries) {
+            int matches = 0;
+            long startedAt = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                matches = search.apply(query).size();
+            }
+            double millis = (System.nanoTime() - startedAt) / 1_000_000.0 / ITERATIONS;
+            System.out.printf("%s %-20s %8.2f ms/query %8d matches%n", mode, query, millis, matches);
+        }
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static ProductSpecification specification(Product product, String key, String value) {
+        ProductSpecification specification = new ProductSpecification();
+        specification.setProduct(product);
+        specification.setSpecKey(key);
+        specification.setSpecValue(value);
+        return specification;
+    }
+}
@@ -0,0 +1,69 @@
+package com.scaler.productcatalogservice;
+
+import com.scaler.productcatalogservice.controller.InventoryController;
+import com.scaler.productcatalogservice.dto.ReservationItemDto;
+import com.scaler.productcatalogservice.dto.ReserveStockRequestDto;
+import com.scaler.productcatalogservice.exception.AccessDeniedException;
+import com.scaler.productcatalogservice.model.InventoryReservation;
+import com.scaler.productcatalogservice.model.enums.ReservationStatus;
+import com.scaler.productcatalogservice.service.InventoryService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryControllerTest {
+    @Mock
+    private InventoryService inventoryService;
+
+    @Test
+    void rejectsEveryCallerWhenNoSecretIsConfigured() {
+        InventoryController controller = new InventoryController(inventoryService, "");
+
+        assertThrows(AccessDeniedException.class, () -> controller.reserve(request(), null));
+        assertThrows(AccessDeniedException.class, () -> controller.commit("order-1", ""));
+        verifyNoInteractions(inventoryService);
+    }
+
+    @Test
+    void rejectsAWrongSecret() {
+        InventoryController controller = new InventoryController(inventoryService, "secret");
+
+        assertThrows(AccessDeniedException.class, () -> controller.release("order-1", "other"));
+        verifyNoInteractions(inventoryService);
+    }
+
+    @Test
+    void concurrentReserveWithTheSameReferenceReturnsTheExistingReservation() {
+        InventoryReservation existing = new InventoryReservation();
+        existing.setReference("order-1");
+        existing.setStatus(ReservationStatus.HELD);
+        existing.setExpiresAt(Instant.now().plusSeconds(900));
+        when(inventoryService.reserve(any())).thenThrow(new DataIntegrityViolationException("duplicate reference"));
+        when(inventoryService.getReservation("order-1")).thenReturn(existing);
+        InventoryController controller = new InventoryController(inventoryService, "secret");
+
+        assertEquals(ReservationStatus.HELD, controller.reserve(request(), "secret").getStatus());
+    }
+
+    private static ReserveStockRequestDto request() {
+        ReservationItemDto item = new ReservationItemDto();
+        item.setProductId(1L);
+        item.setQuantity(1);
+        ReserveStockRequestDto request = new ReserveStockRequestDto();
+        request.setReference("order-1");
+        request.setItems(List.of(item));
+        return request;
+    }
+}
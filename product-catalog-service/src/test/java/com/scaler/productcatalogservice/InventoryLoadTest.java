@@ -0,0 +1,172 @@
+package com.scaler.productcatalogservice;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scaler.productcatalogservice.cache.ProductResponseBytesCache;
+import com.scaler.productcatalogservice.cache.ProductResponseCache;
+import com.scaler.productcatalogservice.dto.ReservationItemDto;
+import com.scaler.productcatalogservice.dto.ReserveStockRequestDto;
+import com.scaler.productcatalogservice.exception.InsufficientStockException;
+import com.scaler.productcatalogservice.kafka.ProductEventPublisher;
+import com.scaler.productcatalogservice.model.Category;
+import com.scaler.productcatalogservice.model.Product;
+import com.scaler.productcatalogservice.model.enums.ProductStatus;
+import com.scaler.productcatalogservice.repo.CategoryRepository;
+import com.scaler.productcatalogservice.repo.InventoryReservationRepository;
+import com.scaler.productcatalogservice.repo.ProductRepository;
+import com.scaler.productcatalogservice.repo.ProductStockShardRepository;
+import com.scaler.productcatalogservice.service.InventoryServiceImpl;
+import com.scaler.productcatalogservice.service.ShardedStockCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Reservations per second against a single SKU, with stock on the product row vs spread over shards.
+ * Disabled by default; run with {@code mvn test -Dtest=InventoryLoadTest -Dbenchmarks=true}.
+ * The number of reservations per run defaults to 4000 and can be changed with
+ * {@code -Dbenchmark.reservations=}. H2 only shows the relative effect; absolute numbers need MySQL.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:inventory-load;LOCK_TIMEOUT=30000",
+        "spring.datasource.hikari.maximum-pool-size=80"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class InventoryLoadTest {
+    private static final int[] BUYERS = {1, 8, 64};
+    private static final int SHARDS = 16;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private InventoryReservationRepository reservationRepository;
+
+    @Autowired
+    private ProductStockShardRepository productStockShardRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private ShardedStockCounter shardedStockCounter;
+    private InventoryServiceImpl inventoryService;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        shardedStockCounter = new ShardedStockCounter(productStockShardRepository);
+        inventoryService = new InventoryServiceImpl(reservationRepository, productRepository,
+                new ProductResponseCache(new SimpleMeterRegistry(), 100, 60, Optional.empty(),
+                        new ProductResponseBytesCache(new SimpleMeterRegistry(), new ObjectMapper(),
+                                1_000_000, 60, true, 1024)),
+                shardedStockCounter, mock(ProductEventPublisher.class), 900, 3600);
+        category = categoryRepository.findByNameIgnoreCase("Load").orElseGet(() -> {
+            Category created = new Category();
+            created.setName("Load");
+            return categoryRepository.save(created);
+        });
+    }
+
+    @Test
+    void reportReservationsPerSecond() throws InterruptedException {
+        int reservations = Integer.getInteger("benchmark.reservations", 4000);
+        for (int buyers : BUYERS) {
+            run("unsharded", 0, buyers, reservations);
+            run("sharded x" + SHARDS, SHARDS, buyers, reservations);
+        }
+    }
+
+    private void run(String mode, int shards, int buyers, int reservations) throws InterruptedException {
+        Product product = createProduct(mode + "-" + buyers, shards, reservations);
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(buyers);
+        for (int i = 0; i < buyers; i++) {
+            executor.submit(() -> {
+                start.await();
+                for (int n = next.getAndIncrement(); n < reservations; n = next.getAndIncrement()) {
+                    String reference = product.getSku() + "-" + n;
+                    try {
+                        transactionTemplate.executeWithoutResult(status ->
+                                inventoryService.reserve(request(reference, product.getId())));
+                        reserved.incrementAndGet();
+                    } catch (InsufficientStockException | DataAccessException e) {
+                        failed.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.MINUTES));
+        double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+
+        long remaining = transactionTemplate.execute(status -> {
+            Product current = productRepository.findById(product.getId()).orElseThrow();
+            return current.getStockQuantity() + shardedStockCounter.total(product.getId());
+        });
+        System.out.printf("%-12s %3d buyers %10.0f reservations/s %6d reserved %6d failed%n",
+                mode, buyers, reserved.get() / seconds, reserved.get(), failed.get());
+        assertEquals(reservations - reserved.get(), remaining);
+    }
+
+    private Product createProduct(String suffix, int shards, int stock) {
+        return transactionTemplate.execute(status -> {
+            Product product = new Product();
+            product.setSku("LOAD-" + suffix + "-" + System.nanoTime());
+            product.setName("Load " + suffix);
+            product.setPrice(new BigDecimal("10.00"));
+            product.setCurrency("USD");
+            product.setStockQuantity(stock);
+            product.setStatus(ProductStatus.ACTIVE);
+            product.setCategory(category);
+            Product saved = productRepository.save(product);
+            if (shards > 0) {
+                shardedStockCounter.redistribute(saved, shards, stock);
+            }
+            return saved;
+        });
+    }
+
+    private static ReserveStockRequestDto request(String reference, Long productId) {
+        ReservationItemDto item = new ReservationItemDto();
+        item.setProductId(productId);
+        item.setQuantity(1);
+        ReserveStockRequestDto request = new ReserveStockRequestDto();
+        request.setReference(reference);
+        request.setItems(List.of(item));
+        return request;
+    }
+}
@@ -0,0 +1,255 @@
+package com.scaler.productcatalogservice;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scaler.productcatalogservice.cache.ProductResponseBytesCache;
+import com.scaler.productcatalogservice.cache.ProductResponseCache;
+import com.scaler.productcatalogservice.dto.ReservationItemDto;
+import com.scaler.productcatalogservice.dto.ReserveStockRequestDto;
+import com.scaler.productcatalogservice.exception.InsufficientStockException;
+import com.scaler.productcatalogservice.exception.ReservationStateException;
+import com.scaler.productcatalogservice.kafka.ProductEventPublisher;
+import com.scaler.productcatalogservice.model.Category;
+import com.scaler.productcatalogservice.model.InventoryReservation;
+import com.scaler.productcatalogservice.model.Product;
+import com.scaler.productcatalogservice.model.enums.ProductStatus;
+import com.scaler.productcatalogservice.model.enums.ReservationStatus;
+import com.scaler.productcatalogservice.repo.CategoryRepository;
+import com.scaler.productcatalogservice.repo.InventoryReservationRepository;
+import com.scaler.productcatalogservice.repo.ProductRepository;
+import com.scaler.productcatalogservice.repo.ProductStockShardRepository;
+import com.scaler.productcatalogservice.service.InventoryServiceImpl;
+import com.scaler.productcatalogservice.service.ShardedStockCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest
+class InventoryServiceTest {
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private InventoryReservationRepository reservationRepository;
+
+    @Autowired
+    private ProductStockShardRepository productStockShardRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private ShardedStockCounter shardedStockCounter;
+    private ProductEventPublisher productEventPublisher;
+    private InventoryServiceImpl inventoryService;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        shardedStockCounter = new ShardedStockCounter(productStockShardRepository);
+        productEventPublisher = mock(ProductEventPublisher.class);
+        inventoryService = new InventoryServiceImpl(reservationRepository, productRepository,
+                new ProductResponseCache(new SimpleMeterRegistry(), 100, 60, Optional.empty(),
+                        new ProductResponseBytesCache(new SimpleMeterRegistry(), new ObjectMapper(),
+                                1_000_000, 60, true, 1024)),
+                shardedStockCounter, productEventPublisher, 900, 3600);
+        category = new Category();
+        category.setName("Inventory");
+        categoryRepository.save(category);
+    }
+
+    @Test
+    void reserveDeductsStockOncePerReference() {
+        Product product = createProduct("SKU-1", 10);
+
+        InventoryReservation first = inventoryService.reserve(request("order-1", product.getId(), 3));
+        InventoryReservation repeated = inventoryService.reserve(request("order-1", product.getId(), 3));
+
+        assertEquals(ReservationStatus.HELD, first.getStatus());
+        assertEquals(first.getId(), repeated.getId());
+        assertEquals(7, stockOf(product));
+    }
+
+    @Test
+    void stockEventsCarryTheRevisionWrittenByTheReservation() {
+        Product product = createProduct("SKU-1", 10);
+        Product sharded = createProduct("SKU-2", 0);
+        shardedStockCounter.redistribute(sharded, 2, 4);
+        entityManager.flush();
+
+        inventoryService.reserve(request("order-1", product.getId(), 3));
+        inventoryService.reserve(request("order-2", sharded.getId(), 1));
+        inventoryService.release("order-1");
+
+        verify(productEventPublisher).publishStockChanged(product.getId(), 7, 1L);
+        verify(productEventPublisher).publishStockChanged(product.getId(), 10, 2L);
+        verify(productEventPublisher, never()).publishStockChanged(eq(sharded.getId()), anyInt(), anyLong());
+    }
+
+    @Test
+    void reserveFailsWithoutEnoughStock() {
+        Product product = createProduct("SKU-1", 2);
+
+        assertThrows(InsufficientStockException.class,
+                () -> inventoryService.reserve(request("order-1", product.getId(), 3)));
+        assertEquals(2, stockOf(product));
+        assertTrue(reservationRepository.findByReference("order-1").isEmpty());
+    }
+
+    @Test
+    void shardedStockIsReservedAndReturned() {
+        Product product = createProduct("SKU-1", 0);
+        shardedStockCounter.redistribute(product, 4, 8);
+        entityManager.flush();
+
+        inventoryService.reserve(request("order-1", product.getId(), 5));
+        assertEquals(3, shardedStockCounter.total(product.getId()));
+
+        inventoryService.release("order-1");
+        assertEquals(8, shardedStockCounter.total(product.getId()));
+    }
+
+    @Test
+    void shardedStockChangesAdvanceTheProductVersion() throws InterruptedException {
+        Product product = createProduct("SKU-1", 0);
+        shardedStockCounter.redistribute(product, 4, 8);
+        entityManager.flush();
+        Instant before = shardedStockCounter.lastUpdatedAt(product.getId());
+        Thread.sleep(5);
+
+        inventoryService.reserve(request("order-1", product.getId(), 1));
+
+        assertTrue(shardedStockCounter.lastUpdatedAt(product.getId()).isAfter(before));
+    }
+
+    @Test
+    void commitKeepsTheStockDeducted() {
+        Product product = createProduct("SKU-1", 10);
+        inventoryService.reserve(request("order-1", product.getId(), 3));
+
+        assertEquals(ReservationStatus.COMMITTED, inventoryService.commit("order-1").getStatus());
+        assertEquals(ReservationStatus.COMMITTED, inventoryService.commit("order-1").getStatus());
+        assertThrows(ReservationStateException.class, () -> inventoryService.release("order-1"));
+        assertEquals(7, stockOf(product));
+    }
+
+    @Test
+    void releaseReturnsTheStockOnce() {
+        Product product = createProduct("SKU-1", 10);
+        inventoryService.reserve(request("order-1", product.getId(), 3));
+
+        assertEquals(ReservationStatus.RELEASED, inventoryService.release("order-1").getStatus());
+        assertEquals(ReservationStatus.RELEASED, inventoryService.release("order-1").getStatus());
+        assertThrows(ReservationStateException.class, () -> inventoryService.commit("order-1"));
+        assertEquals(10, stockOf(product));
+    }
+
+    @Test
+    void expireReturnsStockOnlyAfterTheDeadline() {
+        Product product = createProduct("SKU-1", 10);
+        InventoryReservation reservation = inventoryService.reserve(request("order-1", product.getId(), 3));
+
+        assertFalse(inventoryService.expire(reservation.getId()));
+        expireNow(reservation);
+        assertTrue(inventoryService.expire(reservation.getId()));
+        assertFalse(inventoryService.expire(reservation.getId()));
+
+        assertEquals(ReservationStatus.EXPIRED, reservationRepository.findByReference("order-1").orElseThrow().getStatus());
+        assertEquals(10, stockOf(product));
+    }
+
+    @Test
+    void commitAfterExpiryIsRejectedAndLeavesTheStockReturned() {
+        Product product = createProduct("SKU-1", 10);
+        InventoryReservation reservation = inventoryService.reserve(request("order-1", product.getId(), 3));
+        expireNow(reservation);
+        inventoryService.expire(reservation.getId());
+
+        assertThrows(ReservationStateException.class, () -> inventoryService.commit("order-1"));
+        assertEquals(ReservationStatus.EXPIRED, reservationRepository.findByReference("order-1").orElseThrow().getStatus());
+        assertEquals(10, stockOf(product));
+    }
+
+    @Test
+    void commitAfterExpiryDoesNotTakeStockSoldToAnotherOrder() {
+        Product product = createProduct("SKU-1", 3);
+        InventoryReservation reservation = inventoryService.reserve(request("order-1", product.getId(), 3));
+        expireNow(reservation);
+        inventoryService.expire(reservation.getId());
+        inventoryService.reserve(request("order-2", product.getId(), 1));
+
+        assertThrows(ReservationStateException.class, () -> inventoryService.commit("order-1"));
+        assertEquals(2, stockOf(product));
+    }
+
+    @Test
+    void extendPushesTheExpiryOfAHeldReservationOnly() {
+        Product product = createProduct("SKU-1", 10);
+        InventoryReservation held = inventoryService.reserve(request("order-1", product.getId(), 3));
+        held.setExpiresAt(Instant.now().plusSeconds(60));
+        entityManager.flush();
+
+        assertTrue(inventoryService.extend("order-1").getExpiresAt().isAfter(Instant.now().plusSeconds(800)));
+
+        InventoryReservation expired = inventoryService.reserve(request("order-2", product.getId(), 2));
+        expireNow(expired);
+        inventoryService.expire(expired.getId());
+
+        assertThrows(ReservationStateException.class, () -> inventoryService.extend("order-2"));
+        assertEquals(ReservationStatus.EXPIRED, reservationRepository.findByReference("order-2").orElseThrow().getStatus());
+        assertEquals(7, stockOf(product));
+    }
+
+    private void expireNow(InventoryReservation reservation) {
+        reservation.setExpiresAt(Instant.now().minusSeconds(1));
+        entityManager.flush();
+    }
+
+    private int stockOf(Product product) {
+        return productRepository.findStockQuantity(product.getId()).orElseThrow();
+    }
+
+    private Product createProduct(String sku, int stock) {
+        Product product = new Product();
+        product.setSku(sku);
+        product.setName("Product " + sku);
+        product.setPrice(new BigDecimal("10.00"));
+        product.setCurrency("USD");
+        product.setStockQuantity(stock);
+        product.setStatus(ProductStatus.ACTIVE);
+        product.setCategory(category);
+        Product saved = productRepository.save(product);
+        entityManager.flush();
+        return saved;
+    }
+
+    private static ReserveStockRequestDto request(String reference, Long productId, int quantity) {
+        ReservationItemDto item = new ReservationItemDto();
+        item.setProductId(productId);
+        item.setQuantity(quantity);
+        ReserveStockRequestDto request = new ReserveStockRequestDto();
+        request.setReference(reference);
+        request.setItems(List.of(item));
+        return request;
+    }
+}
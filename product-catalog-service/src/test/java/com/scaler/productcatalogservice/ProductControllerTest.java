@@ -1,34 +1,173 @@
 package com.scaler.productcatalogservice;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scaler.ecommerce.common.security.AuthenticatedUser;
+import com.scaler.ecommerce.common.security.RequestContext;
+import com.scaler.productcatalogservice.cache.HttpCachePolicy;
+import com.scaler.productcatalogservice.cache.ProductResponseBytesCache;
+import com.scaler.productcatalogservice.cache.ProductResponseCache;
 import com.scaler.productcatalogservice.controller.ProductController;
 import com.scaler.productcatalogservice.dto.ProductResponseDto;
+import com.scaler.productcatalogservice.exception.AccessDeniedException;
 import com.scaler.productcatalogservice.service.ProductService;
 import com.scaler.productcatalogservice.model.enums.ProductStatus;
 import com.scaler.productcatalogservice.model.Category;
 import com.scaler.productcatalogservice.model.Product;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class ProductControllerTest {
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
     @Mock
     private ProductService productService;
 
     @AfterEach
     void clearContext() {
-        com.scaler.ecommerce.common.security.RequestContext.clear();
+        RequestContext.clear();
+    }
+
+    @Test
+    void getProductReturnsMappedResponse() throws Exception {
+        when(productService.getProduct(1L)).thenReturn(product());
+
+        ProductResponseDto response = objectMapper.readValue(
+                controller().getProduct(1L, new HttpHeaders()).getBody(), ProductResponseDto.class);
+
+        assertEquals(1L, response.getId());
+        assertEquals("SKU-1", response.getSku());
+        assertEquals("Electronics", response.getCategory().getName());
+        assertEquals(ProductStatus.ACTIVE, response.getStatus());
+        verify(productService).recordProductView(1L);
+    }
+
+    @Test
+    void getProductDoesNotCountInternalReadsAsViews() {
+        when(productService.getProduct(1L)).thenReturn(product());
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Internal-Secret", "secret");
+
+        controller().getProduct(1L, headers);
+
+        verify(productService, never()).recordProductView(1L);
+    }
+
+    @Test
+    void getProductCountsReadsWithAWrongInternalSecret() {
+        when(productService.getProduct(1L)).thenReturn(product());
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Internal-Secret", "guess");
+
+        controller().getProduct(1L, headers);
+
+        verify(productService).recordProductView(1L);
     }
 
     @Test
-    void getProductReturnsMappedResponse() {
+    void exportRequiresTheInternalSecretOrTheAdminRole() {
+        ProductController controller = controller();
+
+        assertThrows(AccessDeniedException.class, () -> controller.exportProducts(null, null));
+        assertThrows(AccessDeniedException.class, () -> controller.exportProducts(null, "guess"));
+        assertEquals(HttpStatus.OK, controller.exportProducts(null, "secret").getStatusCode());
+
+        AuthenticatedUser admin = new AuthenticatedUser();
+        admin.setRoles(Set.of("ADMIN"));
+        RequestContext.setCurrentUser(admin);
+        assertEquals(HttpStatus.OK, controller.exportProducts(null, null).getStatusCode());
+    }
+
+    @Test
+    void notModifiedCarriesTheEtagOfTheMatchedRepresentation() {
+        Product product = product();
+        product.setDescription("Smartphone ".repeat(200));
+        product.setUpdatedAt(Instant.parse("2026-01-01T00:00:00Z"));
+        when(productService.getProduct(1L)).thenReturn(product);
+        ProductController controller = controller();
+        HttpHeaders gzipRequest = new HttpHeaders();
+        gzipRequest.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        String gzipEtag = controller.getProduct(1L, gzipRequest).getHeaders().getETag();
+        String identityEtag = controller.getProduct(1L, new HttpHeaders()).getHeaders().getETag();
+
+        HttpHeaders revalidateGzip = new HttpHeaders();
+        revalidateGzip.setIfNoneMatch(gzipEtag);
+        ResponseEntity<byte[]> gzipResponse = controller.getProduct(1L, revalidateGzip);
+        HttpHeaders revalidateIdentity = new HttpHeaders();
+        revalidateIdentity.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        revalidateIdentity.setIfNoneMatch(identityEtag);
+        ResponseEntity<byte[]> identityResponse = controller.getProduct(1L, revalidateIdentity);
+
+        assertNotEquals(gzipEtag, identityEtag);
+        assertEquals(HttpStatus.NOT_MODIFIED, gzipResponse.getStatusCode());
+        assertEquals(gzipEtag, gzipResponse.getHeaders().getETag());
+        assertEquals(HttpStatus.NOT_MODIFIED, identityResponse.getStatusCode());
+        assertEquals(identityEtag, identityResponse.getHeaders().getETag());
+    }
+
+    @Test
+    void listEtagFollowsThePageServed() {
+        Product phone = product();
+        Product tablet = product();
+        tablet.setId(2L);
+        when(productService.listProducts(any(), any())).thenAnswer(invocation ->
+                new PageImpl<>(List.of(phone, tablet), invocation.getArgument(1), 2));
+        ProductController controller = controller();
+        String etag = list(controller, 0, new HttpHeaders()).getHeaders().getETag();
+
+        HttpHeaders revalidate = new HttpHeaders();
+        revalidate.setIfNoneMatch(etag);
+        assertEquals(HttpStatus.NOT_MODIFIED, list(controller, 0, revalidate).getStatusCode());
+        assertNotEquals(etag, list(controller, 1, new HttpHeaders()).getHeaders().getETag());
+
+        // A delete changes the tag even though no remaining product got newer.
+        doAnswer(invocation -> new PageImpl<>(List.of(phone), invocation.getArgument(1), 1))
+                .when(productService).listProducts(any(), any());
+        assertEquals(HttpStatus.OK, list(controller, 0, revalidate).getStatusCode());
+        HttpHeaders ifModifiedSince = new HttpHeaders();
+        ifModifiedSince.setIfModifiedSince(Instant.now().toEpochMilli());
+        assertEquals(HttpStatus.OK, list(controller, 0, ifModifiedSince).getStatusCode());
+    }
+
+    private static ResponseEntity<Page<ProductResponseDto>> list(ProductController controller, int page,
+                                                                 HttpHeaders headers) {
+        return controller.listProducts(null, null, null, null, page, 20, "createdAt,desc", headers);
+    }
+
+    private ProductController controller() {
+        ProductResponseBytesCache bytesCache =
+                new ProductResponseBytesCache(new SimpleMeterRegistry(), objectMapper, 1_000_000, 60, true, 1024);
+        ProductResponseCache productResponseCache =
+                new ProductResponseCache(new SimpleMeterRegistry(), 100, 60, Optional.empty(), bytesCache);
+        return new ProductController(productService, productResponseCache, objectMapper,
+                new HttpCachePolicy(60, 30, 300), "secret");
+    }
+
+    private static Product product() {
         Category category = new Category();
         category.setId(10L);
         category.setName("Electronics");
@@ -44,15 +183,6 @@ class ProductControllerTest {
         product.setStockQuantity(10);
         product.setStatus(ProductStatus.ACTIVE);
         product.setCategory(category);
-
-        when(productService.getProduct(1L)).thenReturn(product);
-
-        ProductController controller = new ProductController(productService);
-        ProductResponseDto response = controller.getProduct(1L);
-
-        assertEquals(1L, response.getId());
-        assertEquals("SKU-1", response.getSku());
-        assertEquals("Electronics", response.getCategory().getName());
-        assertEquals(ProductStatus.ACTIVE, response.getStatus());
+        return product;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,227 @@
+package com.scaler.productcatalogservice;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scaler.productcatalogservice.cache.CategoryTreeCache;
+import com.scaler.productcatalogservice.cache.ProductResponseBytesCache;
+import com.scaler.productcatalogservice.cache.ProductResponseCache;
+import com.scaler.productcatalogservice.kafka.ProductEventPublisher;
+import com.scaler.productcatalogservice.mapper.ProductMapper;
+import com.scaler.productcatalogservice.model.Category;
+import com.scaler.productcatalogservice.model.Product;
+import com.scaler.productcatalogservice.model.ProductImage;
+import com.scaler.productcatalogservice.model.ProductSpecification;
+import com.scaler.productcatalogservice.model.enums.ProductStatus;
+import com.scaler.productcatalogservice.repo.CategoryRepository;
+import com.scaler.productcatalogservice.repo.ProductRepository;
+import com.scaler.productcatalogservice.repo.ProductStockShardRepository;
+import com.scaler.productcatalogservice.search.FacetIndex;
+import com.scaler.productcatalogservice.search.ProductSearchIndex;
+import com.scaler.productcatalogservice.search.ProductSearchIndexLoader;
+import com.scaler.productcatalogservice.search.SearchCountCache;
+import com.scaler.productcatalogservice.search.SearchIndexUpdater;
+import com.scaler.productcatalogservice.search.SuggestionIndex;
+import com.scaler.productcatalogservice.service.ProductFilter;
+import com.scaler.productcatalogservice.service.ProductServiceImpl;
+import com.scaler.productcatalogservice.service.ShardedStockCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.scaler.productcatalogservice.ProductListQueryCountTest$StatementCounter")
+class ProductListQueryCountTest {
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductStockShardRepository productStockShardRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private ProductSearchIndex productSearchIndex;
+    private ProductServiceImpl productService;
+
+    @BeforeEach
+    void setUp() {
+        productSearchIndex = new ProductSearchIndex();
+        FacetIndex facetIndex = new FacetIndex(List.of());
+        SuggestionIndex suggestionIndex = new SuggestionIndex(20, 10);
+        productService = new ProductServiceImpl(productRepository, categoryRepository,
+                productSearchIndex, facetIndex, new SearchCountCache(100, 60), suggestionIndex,
+                new SearchIndexUpdater(productSearchIndex, facetIndex, suggestionIndex),
+                new ProductResponseCache(new SimpleMeterRegistry(), 100, 60, Optional.empty(),
+                        new ProductResponseBytesCache(new SimpleMeterRegistry(), new ObjectMapper(),
+                                1_000_000, 60, true, 1024)),
+                new CategoryTreeCache(), new ShardedStockCounter(productStockShardRepository),
+                mock(ProductEventPublisher.class), entityManager);
+
+        for (int c = 0; c < 3; c++) {
+            Category category = new Category();
+            category.setName("Category " + c);
+            categoryRepository.save(category);
+
+            for (int p = 0; p < 15; p++) {
+                productRepository.save(buildProduct(category, c + "-" + p));
+            }
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    void listProductsUsesConstantStatementsPerPage() {
+        long smallPage = countStatements(5, this::listPage);
+        long largePage = countStatements(40, this::listPage);
+
+        assertEquals(smallPage, largePage);
+        assertTrue(largePage <= 4, "expected page, count, images and specifications queries but was " + largePage);
+    }
+
+    @Test
+    void shardedStockIsLoadedWithOneStatementPerPage() {
+        ShardedStockCounter counter = new ShardedStockCounter(productStockShardRepository);
+        productRepository.findAll().forEach(product -> counter.redistribute(product, 2, 4));
+        entityManager.flush();
+
+        long smallPage = countStatements(5, this::listPage);
+        long largePage = countStatements(40, this::listPage);
+
+        assertEquals(smallPage, largePage);
+        assertTrue(largePage <= 5, "expected page, count, images, specifications and shards queries but was "
+                + largePage);
+    }
+
+    @Test
+    void incrementalExportIncludesShardOnlyChangesOnce() throws InterruptedException {
+        ShardedStockCounter counter = new ShardedStockCounter(productStockShardRepository);
+        Product sharded = productRepository.findAll().get(0);
+        counter.redistribute(sharded, 2, 4);
+        entityManager.flush();
+        Thread.sleep(5);
+        Instant since = Instant.now();
+
+        productStockShardRepository.increment(sharded.getId(), 0, 1, Instant.now());
+        List<Product> exported = new ArrayList<>();
+        productService.exportProducts(since, exported::add);
+
+        assertEquals(List.of(sharded.getId()), exported.stream().map(Product::getId).toList());
+        assertEquals(5, exported.get(0).availableStock());
+    }
+
+    @Test
+    void searchIndexLoaderWalksEveryProductById() {
+        new ProductSearchIndexLoader(productRepository, categoryRepository, productSearchIndex,
+                new FacetIndex(List.of()), new SuggestionIndex(20, 10), entityManager).load();
+
+        assertTrue(productSearchIndex.isReady());
+        assertEquals(productRepository.count(), productSearchIndex.size());
+    }
+
+    @Test
+    void databaseSearchUsesConstantStatementsPerPage() {
+        long smallPage = countStatements(5, this::searchPage);
+        long largePage = countStatements(40, this::searchPage);
+
+        assertEquals(smallPage, largePage);
+        assertTrue(largePage <= 4, "expected page, count, images and specifications queries but was " + largePage);
+    }
+
+    @Test
+    void indexedSearchUsesConstantStatementsPerPage() {
+        productRepository.findAll().forEach(productSearchIndex::index);
+        productSearchIndex.markReady();
+
+        long smallPage = countStatements(5, this::searchPage);
+        long largePage = countStatements(40, this::searchPage);
+
+        assertEquals(smallPage, largePage);
+        assertTrue(largePage <= 3, "expected products, images and specifications queries but was " + largePage);
+    }
+
+    private Page<Product> listPage(int size) {
+        return productService.listProducts(new ProductFilter(),
+                PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "createdAt")));
+    }
+
+    private Page<Product> searchPage(int size) {
+        return productService.searchProducts("product", PageRequest.of(0, size));
+    }
+
+    private long countStatements(int size, IntFunction<Page<Product>> loader) {
+        entityManager.clear();
+        StatementCounter.reset();
+
+        Page<Product> page = loader.apply(size);
+        page.forEach(ProductMapper::toResponse);
+
+        assertEquals(size, page.getNumberOfElements());
+        return StatementCounter.count();
+    }
+
+    private Product buildProduct(Category category, String suffix) {
+        Product product = new Product();
+        product.setSku("SKU-" + suffix);
+        product.setName("Product " + suffix);
+        product.setDescription("Description " + suffix);
+        product.setPrice(new BigDecimal("10.00"));
+        product.setCurrency("USD");
+        product.setStockQuantity(5);
+        product.setStatus(ProductStatus.ACTIVE);
+        product.setCategory(category);
+
+        for (int i = 0; i < 2; i++) {
+            ProductImage image = new ProductImage();
+            image.setProduct(product);
+            image.setUrl("https://img.example.com/" + suffix + "/" + i);
+            image.setSortOrder(i);
+            product.getImages().add(image);
+
+            ProductSpecification specification = new ProductSpecification();
+            specification.setProduct(product);
+            specification.setSpecKey("key" + i);
+            specification.setSpecValue("value " + suffix);
+            product.getSpecifications().add(specification);
+        }
+        return product;
+    }
+
+    public static class StatementCounter implements StatementInspector {
+        private static final AtomicLong STATEMENTS = new AtomicLong();
+
+        static void reset() {
+            STATEMENTS.set(0);
+        }
+
+        static long count() {
+            return STATEMENTS.get();
+        }
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.incrementAndGet();
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.scaler.productcatalogservice;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scaler.productcatalogservice.cache.ProductRedisCache;
+import com.scaler.productcatalogservice.cache.ProductResponseBytesCache;
+import com.scaler.productcatalogservice.cache.ProductResponseCache;
+import com.scaler.productcatalogservice.dto.ProductResponseDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class ProductResponseCacheTest {
+    private ProductRedisCache redisCache;
+    private ProductResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        redisCache = mock(ProductRedisCache.class);
+        cache = new ProductResponseCache(new SimpleMeterRegistry(), 100, 60, Optional.of(redisCache),
+                new ProductResponseBytesCache(new SimpleMeterRegistry(), new ObjectMapper(), 1_000_000, 60, true,
+                        1024));
+    }
+
+    @Test
+    void loadsAreWrittenToRedis() {
+        cache.get(1L, ProductResponseCacheTest::product);
+
+        verify(redisCache).put(eq(1L), any());
+    }
+
+    @Test
+    void aLoadOverlappingAnEvictionIsNotWrittenToRedis() {
+        cache.get(1L, id -> {
+            cache.invalidateLocal(2L);
+            return product(id);
+        });
+        cache.getAll(List.of(3L), ids -> {
+            cache.evict(4L);
+            return Map.of(3L, product(3L));
+        });
+
+        verify(redisCache, never()).put(anyLong(), any());
+    }
+
+    @Test
+    void anEvictionDuringTheWriteRemovesTheEntryAgain() {
+        doAnswer(invocation -> {
+            cache.invalidateLocal(2L);
+            return null;
+        }).when(redisCache).put(anyLong(), any());
+
+        cache.get(1L, ProductResponseCacheTest::product);
+
+        verify(redisCache).remove(1L);
+    }
+
+    private static ProductResponseDto product(Long id) {
+        ProductResponseDto product = new ProductResponseDto();
+        product.setId(id);
+        return product;
+    }
+}
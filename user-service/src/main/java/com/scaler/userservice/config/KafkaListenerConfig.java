@@ -0,0 +1,27 @@
+package com.scaler.userservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scaler.ecommerce.common.kafka.KafkaPartitionFinder;
+import com.scaler.ecommerce.common.security.UserEventListener;
+import com.scaler.userservice.security.PrincipalCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.ConsumerFactory;
+
+@Configuration
+public class KafkaListenerConfig {
+    @Bean
+    public KafkaPartitionFinder kafkaPartitionFinder(ConsumerFactory<?, ?> consumerFactory) {
+        return new KafkaPartitionFinder(consumerFactory);
+    }
+
+    /**
+     * Drops principals cached by this instance when another instance revokes a session or changes a user's
+     * status; events from this instance find nothing left to drop.
+     */
+    @Bean
+    public UserEventListener userEventListener(ObjectMapper objectMapper, PrincipalCache principalCache) {
+        return new UserEventListener(objectMapper, principalCache::invalidateSessions,
+                principalCache::invalidateUser);
+    }
+}
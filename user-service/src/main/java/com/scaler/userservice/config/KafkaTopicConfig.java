@@ -0,0 +1,29 @@
+package com.scaler.userservice.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.config.TopicConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+import java.time.Duration;
+
+@Configuration
+public class KafkaTopicConfig {
+    /**
+     * Compacted so each jwtId appears once, and time-limited so entries disappear some time after their
+     * tokens expire. Subscribers replay the topic from the start to load the current denylist.
+     */
+    @Bean
+    public NewTopic tokenRevocationsTopic(@Value("${kafka.topics.token-revocations}") String topic,
+                                          @Value("${security.revocations.retention-seconds}") long retentionSeconds) {
+        long retentionMillis = Duration.ofSeconds(retentionSeconds).toMillis();
+        return TopicBuilder.name(topic)
+                .config(TopicConfig.CLEANUP_POLICY_CONFIG,
+                        TopicConfig.CLEANUP_POLICY_COMPACT + "," + TopicConfig.CLEANUP_POLICY_DELETE)
+                .config(TopicConfig.RETENTION_MS_CONFIG, String.valueOf(retentionMillis))
+                .config(TopicConfig.SEGMENT_MS_CONFIG, String.valueOf(retentionMillis / 4))
+                .build();
+    }
+}
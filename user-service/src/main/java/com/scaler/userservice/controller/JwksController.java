@@ -0,0 +1,35 @@
+package com.scaler.userservice.controller;
+
+import com.scaler.ecommerce.common.security.JwkSet;
+import com.scaler.ecommerce.common.security.Jwks;
+import com.scaler.userservice.security.SigningKeyStore;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+/**
+ * Public keys for verifying access tokens, including keys not yet signing and keys retired from signing whose
+ * tokens may still be live.
+ */
+@RestController
+public class JwksController {
+    private final SigningKeyStore signingKeyStore;
+
+    public JwksController(SigningKeyStore signingKeyStore) {
+        this.signingKeyStore = signingKeyStore;
+    }
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<JwkSet> jwks() {
+        JwkSet jwkSet = new JwkSet();
+        for (SigningKeyStore.LoadedKey key : signingKeyStore.publishedKeys()) {
+            jwkSet.getKeys().add(Jwks.toJwk(key.getKid(), key.getAlgorithm(), key.getPublicKey()));
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(1)).cachePublic())
+                .body(jwkSet);
+    }
+}
@@ -4,6 +4,7 @@ import com.scaler.ecommerce.common.security.AuthenticatedUser;
 import com.scaler.ecommerce.common.security.RequestContext;
 import com.scaler.userservice.dto.*;
 import com.scaler.userservice.mapper.UserMapper;
+import com.scaler.userservice.service.AuthorizationGuard;
 import com.scaler.userservice.service.TokenPair;
 import com.scaler.userservice.service.TokenValidationResult;
 import com.scaler.userservice.service.UserService;
@@ -68,6 +69,14 @@ public class UserController {
         return UserMapper.toProfile(user);
     }
 
+    @PutMapping("/{userId}/status")
+    public UserProfileResponseDto updateStatus(@PathVariable Long userId,
+                                               @Valid @RequestBody UserStatusUpdateRequestDto request) {
+        AuthorizationGuard.requireRole("ADMIN");
+        User user = userService.updateStatus(userId, request.getStatus());
+        return UserMapper.toProfile(user);
+    }
+
     @PostMapping("/password/reset/request")
     public ResponseEntity<Void> requestPasswordReset(@Valid @RequestBody PasswordResetRequestDto request) {
         userService.requestPasswordReset(request, request.getResetBaseUrl());
@@ -83,11 +92,7 @@ public class UserController {
     @PostMapping("/tokens/validate")
     public TokenValidationResponseDto validateToken(@Valid @RequestBody TokenValidationRequestDto request,
                                                     @RequestHeader(value = "X-Internal-Secret", required = false) String secretHeader) {
-        if (internalSecret != null && !internalSecret.isBlank()) {
-            if (secretHeader == null || !internalSecret.equals(secretHeader)) {
-                throw new com.scaler.userservice.exception.ForbiddenException("Invalid internal secret");
-            }
-        }
+        requireInternalSecret(secretHeader);
 
         TokenValidationResult result = userService.validateAccessToken(request.getToken());
         TokenValidationResponseDto response = new TokenValidationResponseDto();
@@ -95,6 +100,28 @@ public class UserController {
         response.setUserId(result.getUserId());
         response.setEmail(result.getEmail());
         response.setRoles(result.getRoles());
+        response.setJwtId(result.getJwtId());
+        response.setExpiresAt(result.getExpiresAt());
+        return response;
+    }
+
+    /**
+     * Revocation check for services that verify tokens locally: one indexed lookup, no token parsing.
+     */
+    @GetMapping("/tokens/{jwtId}/status")
+    public TokenStatusResponseDto tokenStatus(@PathVariable String jwtId,
+                                              @RequestHeader(value = "X-Internal-Secret", required = false) String secretHeader) {
+        requireInternalSecret(secretHeader);
+        TokenStatusResponseDto response = new TokenStatusResponseDto();
+        response.setActive(userService.isSessionActive(jwtId));
         return response;
     }
+
+    private void requireInternalSecret(String secretHeader) {
+        if (internalSecret != null && !internalSecret.isBlank()) {
+            if (secretHeader == null || !internalSecret.equals(secretHeader)) {
+                throw new com.scaler.userservice.exception.ForbiddenException("Invalid internal secret");
+            }
+        }
+    }
 }
@@ -0,0 +1,10 @@
+package com.scaler.userservice.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class TokenStatusResponseDto {
+    private boolean active;
+}
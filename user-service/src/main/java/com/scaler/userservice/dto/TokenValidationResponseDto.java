@@ -3,6 +3,7 @@ package com.scaler.userservice.dto;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.Instant;
 import java.util.Set;
 
 @Getter
@@ -12,4 +13,6 @@ public class TokenValidationResponseDto {
     private Long userId;
     private String email;
     private Set<String> roles;
+    private String jwtId;
+    private Instant expiresAt;
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.scaler.userservice.dto;
+
+import com.scaler.userservice.model.enums.UserStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class UserStatusUpdateRequestDto {
+    @NotNull
+    private UserStatus status;
+}
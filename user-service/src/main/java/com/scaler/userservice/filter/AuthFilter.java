@@ -3,11 +3,9 @@ package com.scaler.userservice.filter;
 import com.scaler.ecommerce.common.security.AuthenticatedUser;
 import com.scaler.ecommerce.common.security.RequestContext;
 import com.scaler.userservice.model.enums.UserStatus;
-import com.scaler.userservice.model.User;
-import com.scaler.userservice.model.UserSession;
-import com.scaler.userservice.repo.UserRepository;
-import com.scaler.userservice.repo.UserSessionRepository;
+import com.scaler.userservice.security.CachedPrincipal;
 import com.scaler.userservice.security.JwtService;
+import com.scaler.userservice.security.PrincipalCache;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
@@ -25,25 +23,20 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.time.Instant;
-import java.util.Collection;
-import java.util.Set;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Component
 public class AuthFilter extends OncePerRequestFilter {
     private static final Logger logger = LoggerFactory.getLogger(AuthFilter.class);
+    private static final Pattern TOKEN_STATUS_PATH = Pattern.compile("/api/v1/users/tokens/[^/]+/status");
 
     private final JwtService jwtService;
-    private final UserSessionRepository userSessionRepository;
-    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
-    public AuthFilter(JwtService jwtService,
-                      UserSessionRepository userSessionRepository,
-                      UserRepository userRepository) {
+    public AuthFilter(JwtService jwtService, PrincipalCache principalCache) {
         this.jwtService = jwtService;
-        this.userSessionRepository = userSessionRepository;
-        this.userRepository = userRepository;
+        this.principalCache = principalCache;
     }
 
     @Override
@@ -74,31 +67,28 @@ public class AuthFilter extends OncePerRequestFilter {
                 return;
             }
 
-            UserSession session = userSessionRepository.findByJwtId(jwtId).orElse(null);
-            if (session == null || session.getRevokedAt() != null || session.getExpiresAt().isBefore(Instant.now())) {
+            CachedPrincipal principal = principalCache.resolve(claims);
+            if (principal == null) {
                 logger.debug("Session invalid for jwtId {} path {}", jwtId, request.getRequestURI());
                 response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Session expired");
                 return;
             }
 
-            User user = userRepository.findByEmail(email).orElse(null);
-            if (user == null || user.getStatus() != UserStatus.ACTIVE) {
+            if (principal.getStatus() != UserStatus.ACTIVE) {
                 logger.debug("User not active for email {} path {}", email, request.getRequestURI());
                 response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "User not active");
                 return;
             }
 
-            Set<String> roles = extractRoles(claims, user);
-
             AuthenticatedUser authenticatedUser = new AuthenticatedUser();
-            authenticatedUser.setUserId(user.getId());
-            authenticatedUser.setEmail(user.getEmail());
-            authenticatedUser.setRoles(roles);
+            authenticatedUser.setUserId(principal.getUserId());
+            authenticatedUser.setEmail(principal.getEmail());
+            authenticatedUser.setRoles(principal.getRoles());
 
             RequestContext.setCurrentUser(authenticatedUser);
             Authentication authentication = new UsernamePasswordAuthenticationToken(
-                    user.getEmail(), null,
-                    roles.stream().map(role -> new SimpleGrantedAuthority("ROLE_" + role)).collect(Collectors.toSet()));
+                    principal.getEmail(), null,
+                    principal.getRoles().stream().map(role -> new SimpleGrantedAuthority("ROLE_" + role)).collect(Collectors.toSet()));
             SecurityContextHolder.getContext().setAuthentication(authentication);
 
             filterChain.doFilter(request, response);
@@ -110,31 +100,21 @@ public class AuthFilter extends OncePerRequestFilter {
         }
     }
 
-    private Set<String> extractRoles(Claims claims, User user) {
-        Object rolesObj = claims.get("roles");
-        if (rolesObj instanceof Collection<?> rolesCollection) {
-            return rolesCollection.stream()
-                    .map(Object::toString)
-                    .collect(Collectors.toSet());
-        }
-
-        return user.getRoles().stream().map(Enum::name).collect(Collectors.toSet());
-    }
-
     private boolean isPublicPath(HttpServletRequest request) {
         String path = request.getRequestURI();
         if (path == null) {
             return true;
         }
 
-        if (path.startsWith("/actuator")) {
+        if (path.startsWith("/actuator") || path.equals("/.well-known/jwks.json")) {
             return true;
         }
 
         return path.startsWith("/api/v1/users/register")
                 || path.startsWith("/api/v1/users/login")
                 || path.startsWith("/api/v1/users/password/reset")
-                || path.startsWith("/api/v1/users/tokens/validate")
+                || path.equals("/api/v1/users/tokens/validate")
+                || TOKEN_STATUS_PATH.matcher(path).matches()
                 || path.startsWith("/api/v1/users/token/refresh");
     }
 }
\ No newline at end of file
@@ -3,9 +3,12 @@ package com.scaler.userservice.kafka;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.scaler.ecommerce.common.events.EventEnvelope;
+import com.scaler.ecommerce.common.events.TokenRevokedEvent;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.Instant;
 import java.util.UUID;
@@ -15,16 +18,51 @@ public class KafkaEventPublisher {
     private final KafkaTemplate<String, String> kafkaTemplate;
     private final ObjectMapper objectMapper;
     private final String userEventsTopic;
+    private final String tokenRevocationsTopic;
 
     public KafkaEventPublisher(KafkaTemplate<String, String> kafkaTemplate,
                                ObjectMapper objectMapper,
-                               @Value("${kafka.topics.user-events}") String userEventsTopic) {
+                               @Value("${kafka.topics.user-events}") String userEventsTopic,
+                               @Value("${kafka.topics.token-revocations}") String tokenRevocationsTopic) {
         this.kafkaTemplate = kafkaTemplate;
         this.objectMapper = objectMapper;
         this.userEventsTopic = userEventsTopic;
+        this.tokenRevocationsTopic = tokenRevocationsTopic;
+    }
+
+    /**
+     * Publishes once the current transaction commits, so consumers never act on a change that rolls back.
+     */
+    public void publishAfterCommit(String eventType, String correlationId, Object payload) {
+        afterCommit(() -> publish(eventType, correlationId, payload));
+    }
+
+    /**
+     * Adds a token to the revocation denylist once the current transaction commits. The topic is keyed by
+     * jwtId and compacted, and its retention outlasts the tokens, so replaying it rebuilds the live denylist.
+     */
+    public void publishTokenRevoked(String correlationId, TokenRevokedEvent event) {
+        afterCommit(() -> send(tokenRevocationsTopic, event.getJwtId(), "token.revoked", correlationId, event));
     }
 
     public void publish(String eventType, String correlationId, Object payload) {
+        send(userEventsTopic, null, eventType, correlationId, payload);
+    }
+
+    private void afterCommit(Runnable publication) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publication.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publication.run();
+            }
+        });
+    }
+
+    private void send(String topic, String key, String eventType, String correlationId, Object payload) {
         EventEnvelope<Object> envelope = new EventEnvelope<>();
         envelope.setId(UUID.randomUUID().toString());
         envelope.setType(eventType);
@@ -35,7 +73,7 @@ public class KafkaEventPublisher {
 
         try {
             String message = objectMapper.writeValueAsString(envelope);
-            kafkaTemplate.send(userEventsTopic, envelope.getId(), message);
+            kafkaTemplate.send(topic, key != null ? key : envelope.getId(), message);
         } catch (JsonProcessingException e) {
             throw new IllegalStateException("Failed to serialize event", e);
         }
@@ -0,0 +1,34 @@
+package com.scaler.userservice.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "jwt_signing_keys")
+public class JwtSigningKey {
+    @Id
+    @Column(length = 64)
+    private String kid;
+
+    @Column(nullable = false, length = 16)
+    private String algorithm;
+
+    /** X.509 encoded, Base64. */
+    @Column(name = "public_key", nullable = false, length = 4096)
+    private String publicKey;
+
+    /** PKCS#8 encoded, encrypted with AES-GCM under security.jwt.secret, Base64. */
+    @Column(name = "private_key", nullable = false, length = 4096)
+    private String privateKey;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
@@ -6,6 +6,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -17,7 +18,7 @@ import java.time.Instant;
 @Getter
 @Setter
 @Entity
-@Table(name = "user_sessions")
+@Table(name = "user_sessions", indexes = @Index(name = "idx_user_sessions_jwt_id", columnList = "jwt_id"))
 public class UserSession {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
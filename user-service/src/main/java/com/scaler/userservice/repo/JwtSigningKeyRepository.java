@@ -0,0 +1,10 @@
+package com.scaler.userservice.repo;
+
+import com.scaler.userservice.model.JwtSigningKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface JwtSigningKeyRepository extends JpaRepository<JwtSigningKey, String> {
+    List<JwtSigningKey> findAllByOrderByCreatedAtDesc();
+}
@@ -1,8 +1,12 @@
 package com.scaler.userservice.repo;
 
 import com.scaler.userservice.model.UserSession;
+import com.scaler.userservice.model.enums.UserStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.Optional;
 import java.util.List;
 
@@ -12,4 +16,10 @@ public interface UserSessionRepository extends JpaRepository<UserSession, Long>
     Optional<UserSession> findByJwtId(String jwtId);
 
     List<UserSession> findByUserId(Long userId);
+
+    @Query("select count(s) > 0 from UserSession s join s.user u where s.jwtId = :jwtId "
+            + "and s.revokedAt is null and s.expiresAt > :now and u.status = :status")
+    boolean existsActiveSession(@Param("jwtId") String jwtId,
+                                @Param("now") Instant now,
+                                @Param("status") UserStatus status);
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.scaler.userservice.security;
+
+import com.scaler.userservice.model.enums.UserStatus;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.Set;
+
+@Getter
+@Setter
+public class CachedPrincipal {
+    private Long userId;
+    private String email;
+    private Set<String> roles;
+    private UserStatus status;
+    private Instant expiresAt;
+}
@@ -2,12 +2,13 @@ package com.scaler.userservice.security;
 
 import com.scaler.userservice.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
 import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
@@ -16,12 +17,14 @@ import java.util.stream.Collectors;
 
 @Service
 public class JwtService {
-    private final SecretKey secretKey;
+    private final SigningKeyStore signingKeyStore;
+    private final JwtParser parser;
     private final long accessTokenTtlSeconds;
 
-    public JwtService(SecretKey secretKey,
+    public JwtService(SigningKeyStore signingKeyStore,
                       @Value("${security.jwt.access-token-ttl-seconds}") long accessTokenTtlSeconds) {
-        this.secretKey = secretKey;
+        this.signingKeyStore = signingKeyStore;
+        this.parser = Jwts.parserBuilder().setSigningKeyResolver(signingKeyStore).build();
         this.accessTokenTtlSeconds = accessTokenTtlSeconds;
     }
 
@@ -33,21 +36,19 @@ public class JwtService {
         claims.put("userId", user.getId());
         claims.put("roles", user.getRoles().stream().map(Enum::name).collect(Collectors.toList()));
 
+        SigningKeyStore.LoadedKey signingKey = signingKeyStore.signingKey();
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, signingKey.getKid())
                 .setClaims(claims)
                 .setSubject(user.getEmail())
                 .setId(jwtId)
                 .setIssuedAt(Date.from(now))
                 .setExpiration(Date.from(expiry))
-                .signWith(secretKey, SignatureAlgorithm.HS256)
+                .signWith(signingKey.getPrivateKey(), SignatureAlgorithm.forName(signingKey.getAlgorithm()))
                 .compact();
     }
 
     public Claims parseClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
-}
\ No newline at end of file
+}
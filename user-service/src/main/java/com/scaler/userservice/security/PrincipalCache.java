@@ -0,0 +1,164 @@
+package com.scaler.userservice.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.scaler.userservice.model.User;
+import com.scaler.userservice.model.UserSession;
+import com.scaler.userservice.repo.UserRepository;
+import com.scaler.userservice.repo.UserSessionRepository;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Principals of live sessions keyed by jwtId, so that an authenticated request does not reload the session and
+ * the user. Entries expire with their access token. They are invalidated when a session is revoked or a user's
+ * status changes: on this instance straight away and again after commit, on other instances through the
+ * session.revoked and user.disabled events.
+ */
+@Component
+public class PrincipalCache {
+    // A load runs findByJwtId, findByEmail and the select for the user's EAGER roles collection.
+    private static final int QUERIES_PER_LOAD = 3;
+
+    private final UserSessionRepository userSessionRepository;
+    private final UserRepository userRepository;
+    private final Cache<String, CachedPrincipal> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter queriesSaved;
+
+    public PrincipalCache(UserSessionRepository userSessionRepository,
+                          UserRepository userRepository,
+                          MeterRegistry meterRegistry,
+                          @Value("${security.principal-cache.max-size}") long maximumSize,
+                          @Value("${security.principal-cache.max-ttl-seconds}") long maximumTtlSeconds) {
+        this.userSessionRepository = userSessionRepository;
+        this.userRepository = userRepository;
+        Duration maximumTtl = Duration.ofSeconds(maximumTtlSeconds);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, CachedPrincipal>() {
+                    @Override
+                    public long expireAfterCreate(String jwtId, CachedPrincipal principal, long currentTime) {
+                        Duration untilExpiry = Duration.between(Instant.now(), principal.getExpiresAt());
+                        return Math.max(0, Math.min(untilExpiry.toNanos(), maximumTtl.toNanos()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String jwtId, CachedPrincipal principal, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(jwtId, principal, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String jwtId, CachedPrincipal principal, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        this.hits = Counter.builder("user.principal.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("user.principal.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.queriesSaved = Counter.builder("user.principal.cache.db-queries-saved").register(meterRegistry);
+        Gauge.builder("user.principal.cache.hit-ratio", this, PrincipalCache::hitRatio).register(meterRegistry);
+        Gauge.builder("user.principal.cache.size", cache, Cache::estimatedSize).register(meterRegistry);
+    }
+
+    /**
+     * Returns the principal behind verified token claims, or null if the session is unknown, revoked or expired
+     * or the user no longer exists. Callers still check the principal's status.
+     */
+    public CachedPrincipal resolve(Claims claims) {
+        String jwtId = claims.getId();
+        CachedPrincipal cached = cache.getIfPresent(jwtId);
+        if (cached != null && cached.getExpiresAt().isAfter(Instant.now())) {
+            hits.increment();
+            queriesSaved.increment(QUERIES_PER_LOAD);
+            return cached;
+        }
+
+        misses.increment();
+        long generation = invalidations.get();
+        CachedPrincipal loaded = load(claims);
+        // Skip caching if an invalidation ran during the load, as the load may have read the old state.
+        if (loaded != null && generation == invalidations.get()) {
+            cache.put(jwtId, loaded);
+        }
+        return loaded;
+    }
+
+    public void invalidateSessions(Collection<String> jwtIds) {
+        invalidate(() -> cache.invalidateAll(jwtIds));
+    }
+
+    public void invalidateUser(Long userId) {
+        invalidate(() -> cache.asMap().values().removeIf(principal -> userId.equals(principal.getUserId())));
+    }
+
+    // Once now and again after commit, so a request reading the old rows before the commit cannot re-cache them.
+    private void invalidate(Runnable eviction) {
+        invalidations.incrementAndGet();
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidations.incrementAndGet();
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    private CachedPrincipal load(Claims claims) {
+        UserSession session = userSessionRepository.findByJwtId(claims.getId()).orElse(null);
+        if (session == null || session.getRevokedAt() != null || session.getExpiresAt().isBefore(Instant.now())) {
+            return null;
+        }
+
+        User user = userRepository.findByEmail(claims.getSubject()).orElse(null);
+        if (user == null) {
+            return null;
+        }
+
+        Instant tokenExpiry = claims.getExpiration().toInstant();
+        CachedPrincipal principal = new CachedPrincipal();
+        principal.setUserId(user.getId());
+        principal.setEmail(user.getEmail());
+        principal.setRoles(extractRoles(claims, user));
+        principal.setStatus(user.getStatus());
+        principal.setExpiresAt(tokenExpiry.isBefore(session.getExpiresAt()) ? tokenExpiry : session.getExpiresAt());
+        return principal;
+    }
+
+    private static Set<String> extractRoles(Claims claims, User user) {
+        Object rolesObj = claims.get("roles");
+        if (rolesObj instanceof Collection<?> rolesCollection) {
+            return rolesCollection.stream()
+                    .map(Object::toString)
+                    .collect(Collectors.toSet());
+        }
+
+        return user.getRoles().stream().map(Enum::name).collect(Collectors.toSet());
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+}
@@ -0,0 +1,240 @@
+package com.scaler.userservice.security;
+
+import com.scaler.userservice.model.JwtSigningKey;
+import com.scaler.userservice.repo.JwtSigningKeyRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Asymmetric keys for signing access tokens, kept in the database so that every user-service instance signs
+ * and verifies with the same set. A scheduled check adds a key once the newest one is older than the rotation
+ * interval. A new key is published in the JWKS right away but only signs after the activation delay, so
+ * verifiers can pick it up first; a replaced key stays published until every token it signed has expired.
+ */
+@Component
+public class SigningKeyStore extends SigningKeyResolverAdapter {
+    private static final Logger log = LoggerFactory.getLogger(SigningKeyStore.class);
+    private static final Duration RELOAD_ON_MISS_INTERVAL = Duration.ofSeconds(5);
+    private static final int GCM_IV_BYTES = 12;
+    private static final int GCM_TAG_BITS = 128;
+
+    private final JwtSigningKeyRepository repository;
+    private final SignatureAlgorithm algorithm;
+    private final SecretKeySpec encryptionKey;
+    private final Duration rotationInterval;
+    private final Duration activationDelay;
+    private final Duration accessTokenTtl;
+    private final SecureRandom secureRandom = new SecureRandom();
+    private volatile List<LoadedKey> keys = List.of();
+    private volatile Instant loadedAt = Instant.EPOCH;
+
+    public SigningKeyStore(JwtSigningKeyRepository repository,
+                           @Value("${security.jwt.algorithm}") String algorithm,
+                           @Value("${security.jwt.secret}") String secret,
+                           @Value("${security.jwt.key-rotation-interval-seconds}") long rotationIntervalSeconds,
+                           @Value("${security.jwt.key-activation-delay-seconds}") long activationDelaySeconds,
+                           @Value("${security.jwt.access-token-ttl-seconds}") long accessTokenTtlSeconds) {
+        this.repository = repository;
+        this.algorithm = SignatureAlgorithm.forName(algorithm);
+        if (this.algorithm != SignatureAlgorithm.RS256 && this.algorithm != SignatureAlgorithm.ES256) {
+            throw new IllegalStateException("security.jwt.algorithm must be RS256 or ES256");
+        }
+        this.encryptionKey = new SecretKeySpec(sha256(secret), "AES");
+        this.rotationInterval = Duration.ofSeconds(rotationIntervalSeconds);
+        this.activationDelay = Duration.ofSeconds(activationDelaySeconds);
+        this.accessTokenTtl = Duration.ofSeconds(accessTokenTtlSeconds);
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.key-check-interval-ms}")
+    public synchronized void rotate() {
+        reload();
+        Instant now = Instant.now();
+        if (keys.isEmpty() || !keys.get(0).getCreatedAt().plus(rotationInterval).isAfter(now)) {
+            JwtSigningKey created = generate(now);
+            repository.save(created);
+            log.info("Created {} signing key {}", created.getAlgorithm(), created.getKid());
+        }
+        retire(now);
+        reload();
+    }
+
+    /**
+     * The newest key past its activation delay. Right after the first key is created no key is, and the
+     * oldest one signs.
+     */
+    public LoadedKey signingKey() {
+        List<LoadedKey> current = keys;
+        if (current.isEmpty()) {
+            rotate();
+            current = keys;
+        }
+        Instant activeBefore = Instant.now().minus(activationDelay);
+        for (LoadedKey key : current) {
+            if (!key.getCreatedAt().isAfter(activeBefore)) {
+                return key;
+            }
+        }
+        return current.get(current.size() - 1);
+    }
+
+    public List<LoadedKey> publishedKeys() {
+        return keys;
+    }
+
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        String kid = header.getKeyId();
+        LoadedKey key = find(kid);
+        if (key == null && kid != null && loadedAt.plus(RELOAD_ON_MISS_INTERVAL).isBefore(Instant.now())) {
+            // Another instance may have rotated since the last scheduled check.
+            reloadOnMiss();
+            key = find(kid);
+        }
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown signing key " + kid);
+        }
+        if (!key.getAlgorithm().equals(header.getAlgorithm())) {
+            throw new UnsupportedJwtException("Algorithm does not match signing key " + kid);
+        }
+        return key.getPublicKey();
+    }
+
+    private LoadedKey find(String kid) {
+        for (LoadedKey key : keys) {
+            if (key.getKid().equals(kid)) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    private synchronized void reloadOnMiss() {
+        if (loadedAt.plus(RELOAD_ON_MISS_INTERVAL).isBefore(Instant.now())) {
+            reload();
+        }
+    }
+
+    private void reload() {
+        List<LoadedKey> loaded = new ArrayList<>();
+        for (JwtSigningKey stored : repository.findAllByOrderByCreatedAtDesc()) {
+            loaded.add(load(stored));
+        }
+        keys = List.copyOf(loaded);
+        loadedAt = Instant.now();
+    }
+
+    /**
+     * Deletes keys whose successor has been signing for longer than an access token lives.
+     */
+    private void retire(Instant now) {
+        List<LoadedKey> current = keys;
+        for (int i = 1; i < current.size(); i++) {
+            Instant replacedAt = current.get(i - 1).getCreatedAt().plus(activationDelay);
+            if (replacedAt.plus(accessTokenTtl).plus(activationDelay).isBefore(now)) {
+                repository.deleteById(current.get(i).getKid());
+                log.info("Retired signing key {}", current.get(i).getKid());
+            }
+        }
+    }
+
+    private JwtSigningKey generate(Instant now) {
+        KeyPair keyPair = Keys.keyPairFor(algorithm);
+        JwtSigningKey key = new JwtSigningKey();
+        key.setKid(UUID.randomUUID().toString().replace("-", ""));
+        key.setAlgorithm(algorithm.getValue());
+        key.setPublicKey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+        key.setPrivateKey(Base64.getEncoder().encodeToString(encrypt(keyPair.getPrivate().getEncoded())));
+        key.setCreatedAt(now);
+        return key;
+    }
+
+    private LoadedKey load(JwtSigningKey stored) {
+        SignatureAlgorithm keyAlgorithm = SignatureAlgorithm.forName(stored.getAlgorithm());
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance(keyAlgorithm.isRsa() ? "RSA" : "EC");
+            PublicKey publicKey = keyFactory.generatePublic(
+                    new X509EncodedKeySpec(Base64.getDecoder().decode(stored.getPublicKey())));
+            PrivateKey privateKey = keyFactory.generatePrivate(
+                    new PKCS8EncodedKeySpec(decrypt(Base64.getDecoder().decode(stored.getPrivateKey()))));
+            return new LoadedKey(stored.getKid(), stored.getAlgorithm(), publicKey, privateKey, stored.getCreatedAt());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot load signing key " + stored.getKid(), e);
+        }
+    }
+
+    private byte[] encrypt(byte[] plain) {
+        try {
+            byte[] iv = new byte[GCM_IV_BYTES];
+            secureRandom.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, encryptionKey, new GCMParameterSpec(GCM_TAG_BITS, iv));
+            byte[] encrypted = cipher.doFinal(plain);
+            return ByteBuffer.allocate(iv.length + encrypted.length).put(iv).put(encrypted).array();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot encrypt signing key", e);
+        }
+    }
+
+    private byte[] decrypt(byte[] stored) throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, encryptionKey, new GCMParameterSpec(GCM_TAG_BITS, stored, 0, GCM_IV_BYTES));
+        return cipher.doFinal(stored, GCM_IV_BYTES, stored.length - GCM_IV_BYTES);
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @Getter
+    public static class LoadedKey {
+        private final String kid;
+        private final String algorithm;
+        private final PublicKey publicKey;
+        private final PrivateKey privateKey;
+        private final Instant createdAt;
+
+        private LoadedKey(String kid, String algorithm, PublicKey publicKey, PrivateKey privateKey, Instant createdAt) {
+            this.kid = kid;
+            this.algorithm = algorithm;
+            this.publicKey = publicKey;
+            this.privateKey = privateKey;
+            this.createdAt = createdAt;
+        }
+    }
+}
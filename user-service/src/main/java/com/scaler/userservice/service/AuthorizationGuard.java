@@ -0,0 +1,14 @@
+package com.scaler.userservice.service;
+
+import com.scaler.ecommerce.common.security.AuthenticatedUser;
+import com.scaler.ecommerce.common.security.RequestContext;
+import com.scaler.userservice.exception.ForbiddenException;
+
+public class AuthorizationGuard {
+    public static void requireRole(String role) {
+        AuthenticatedUser user = RequestContext.getCurrentUser();
+        if (user == null || user.getRoles() == null || !user.getRoles().contains(role)) {
+            throw new ForbiddenException("Access denied");
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.scaler.userservice.service;
 
 import com.scaler.userservice.dto.*;
 import com.scaler.userservice.model.User;
+import com.scaler.userservice.model.enums.UserStatus;
 
 public interface UserService {
     User registerLocal(UserRegistrationRequestDto request);
@@ -16,9 +17,13 @@ public interface UserService {
 
     User updateProfile(Long userId, UpdateProfileRequestDto request);
 
+    User updateStatus(Long userId, UserStatus status);
+
     void requestPasswordReset(PasswordResetRequestDto request, String resetBaseUrl);
 
     void confirmPasswordReset(PasswordResetConfirmRequestDto request);
 
     TokenValidationResult validateAccessToken(String token);
+
+    boolean isSessionActive(String jwtId);
 }
@@ -1,6 +1,9 @@
 package com.scaler.userservice.service;
 
 import com.scaler.ecommerce.common.events.PasswordResetRequestedEvent;
+import com.scaler.ecommerce.common.events.SessionRevokedEvent;
+import com.scaler.ecommerce.common.events.TokenRevokedEvent;
+import com.scaler.ecommerce.common.events.UserDisabledEvent;
 import com.scaler.ecommerce.common.events.UserRegisteredEvent;
 import com.scaler.userservice.dto.*;
 import com.scaler.userservice.exception.ForbiddenException;
@@ -18,7 +21,9 @@ import com.scaler.userservice.kafka.KafkaEventPublisher;
 import com.scaler.userservice.repo.PasswordResetTokenRepository;
 import com.scaler.userservice.repo.UserRepository;
 import com.scaler.userservice.repo.UserSessionRepository;
+import com.scaler.userservice.security.CachedPrincipal;
 import com.scaler.userservice.security.JwtService;
+import com.scaler.userservice.security.PrincipalCache;
 import com.scaler.userservice.security.RefreshTokenDetails;
 import com.scaler.userservice.security.RefreshTokenGenerator;
 import io.jsonwebtoken.Claims;
@@ -32,10 +37,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.security.SecureRandom;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Base64;
-import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -43,6 +50,8 @@ import java.util.stream.Collectors;
 @Service
 public class UserServiceImpl implements UserService {
     private static final Logger logger = LoggerFactory.getLogger(UserServiceImpl.class);
+    // Keeps denylist entries past token expiry by more than any verifier's allowed clock skew.
+    private static final Duration REVOCATION_EXPIRY_MARGIN = Duration.ofMinutes(1);
 
     private final UserRepository userRepository;
     private final UserSessionRepository userSessionRepository;
@@ -51,6 +60,7 @@ public class UserServiceImpl implements UserService {
     private final JwtService jwtService;
     private final RefreshTokenGenerator refreshTokenGenerator;
     private final KafkaEventPublisher kafkaEventPublisher;
+    private final PrincipalCache principalCache;
     private final long refreshTokenTtlSeconds;
     private final long accessTokenTtlSeconds;
     private final long passwordResetTtlSeconds;
@@ -64,6 +74,7 @@ public class UserServiceImpl implements UserService {
                            JwtService jwtService,
                            RefreshTokenGenerator refreshTokenGenerator,
                            KafkaEventPublisher kafkaEventPublisher,
+                           PrincipalCache principalCache,
                            @Value("${security.jwt.access-token-ttl-seconds}") long accessTokenTtlSeconds,
                            @Value("${security.jwt.refresh-token-ttl-seconds}") long refreshTokenTtlSeconds,
                            @Value("${security.password-reset.token-ttl-seconds}") long passwordResetTtlSeconds,
@@ -75,6 +86,7 @@ public class UserServiceImpl implements UserService {
         this.jwtService = jwtService;
         this.refreshTokenGenerator = refreshTokenGenerator;
         this.kafkaEventPublisher = kafkaEventPublisher;
+        this.principalCache = principalCache;
         this.accessTokenTtlSeconds = accessTokenTtlSeconds;
         this.refreshTokenTtlSeconds = refreshTokenTtlSeconds;
         this.passwordResetTtlSeconds = passwordResetTtlSeconds;
@@ -140,7 +152,11 @@ public class UserServiceImpl implements UserService {
             throw new InvalidTokenException("Invalid refresh token");
         }
 
-        return issueTokenPair(session.getUser(), session);
+        // The session moves to a new jwtId, which ends the access token issued with the old one.
+        Map<String, Instant> previousToken = Map.of(session.getJwtId(), session.getIssuedAt());
+        TokenPair tokenPair = issueTokenPair(session.getUser(), session);
+        publishSessionsRevoked(session.getUser().getId(), previousToken);
+        return tokenPair;
     }
 
     @Override
@@ -166,6 +182,7 @@ public class UserServiceImpl implements UserService {
         if (session != null) {
             session.setRevokedAt(Instant.now());
             userSessionRepository.save(session);
+            publishSessionsRevoked(session.getUser().getId(), Map.of(session.getJwtId(), session.getIssuedAt()));
         }
     }
 
@@ -186,6 +203,28 @@ public class UserServiceImpl implements UserService {
         return userRepository.save(user);
     }
 
+    @Override
+    @Transactional
+    public User updateStatus(Long userId, UserStatus status) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
+
+        UserStatus previous = user.getStatus();
+        user.setStatus(status);
+        User saved = userRepository.save(user);
+
+        if (previous != status) {
+            principalCache.invalidateUser(userId);
+        }
+        if (previous == UserStatus.ACTIVE && status != UserStatus.ACTIVE) {
+            revokeAllSessions(userId);
+            UserDisabledEvent event = new UserDisabledEvent();
+            event.setUserId(userId);
+            kafkaEventPublisher.publishAfterCommit("user.disabled", getCorrelationId(), event);
+        }
+        return saved;
+    }
+
     @Override
     @Transactional
     public void requestPasswordReset(PasswordResetRequestDto request, String resetBaseUrl) {
@@ -263,26 +302,25 @@ public class UserServiceImpl implements UserService {
                 return result;
             }
 
-            UserSession session = userSessionRepository.findByJwtId(jwtId).orElse(null);
-            if (session == null || session.getRevokedAt() != null || session.getExpiresAt().isBefore(Instant.now())) {
+            CachedPrincipal principal = principalCache.resolve(claims);
+            if (principal == null) {
                 logger.debug("Token validation failed: session invalid for jwtId {}", jwtId);
                 result.setValid(false);
                 return result;
             }
 
-            User user = userRepository.findByEmail(email).orElse(null);
-            if (user == null || user.getStatus() != UserStatus.ACTIVE) {
+            if (principal.getStatus() != UserStatus.ACTIVE) {
                 logger.debug("Token validation failed: user not active for email {}", email);
                 result.setValid(false);
                 return result;
             }
 
-            Set<String> roles = extractRoles(claims, user);
-
             result.setValid(true);
-            result.setUserId(user.getId());
-            result.setEmail(user.getEmail());
-            result.setRoles(roles);
+            result.setUserId(principal.getUserId());
+            result.setEmail(principal.getEmail());
+            result.setRoles(principal.getRoles());
+            result.setJwtId(jwtId);
+            result.setExpiresAt(claims.getExpiration().toInstant());
             return result;
         } catch (JwtException e) {
             logger.debug("Token validation failed: {}", e.getMessage());
@@ -291,6 +329,11 @@ public class UserServiceImpl implements UserService {
         }
     }
 
+    @Override
+    public boolean isSessionActive(String jwtId) {
+        return userSessionRepository.existsActiveSession(jwtId, Instant.now(), UserStatus.ACTIVE);
+    }
+
     private TokenPair issueTokenPair(User user, UserSession existingSession) {
         if (user.getStatus() != UserStatus.ACTIVE) {
             throw new ForbiddenException("User is disabled");
@@ -323,24 +366,49 @@ public class UserServiceImpl implements UserService {
         return tokenPair;
     }
 
-    private Set<String> extractRoles(Claims claims, User user) {
-        Object rolesObj = claims.get("roles");
-        if (rolesObj instanceof Collection<?> rolesCollection) {
-            return rolesCollection.stream()
-                    .map(Object::toString)
-                    .collect(Collectors.toSet());
-        }
-
-        return user.getRoles().stream().map(Enum::name).collect(Collectors.toSet());
-    }
-
     private void revokeAllSessions(Long userId) {
         List<UserSession> sessions = userSessionRepository.findByUserId(userId);
         Instant now = Instant.now();
+        Map<String, Instant> revokedTokens = new LinkedHashMap<>();
         for (UserSession session : sessions) {
+            if (session.getRevokedAt() == null) {
+                revokedTokens.put(session.getJwtId(), session.getIssuedAt());
+            }
             session.setRevokedAt(now);
         }
         userSessionRepository.saveAll(sessions);
+        publishSessionsRevoked(userId, revokedTokens);
+    }
+
+    /**
+     * Announces revoked access tokens, given by jwtId and issue time: to token validation caches as a
+     * session.revoked event and to the denylist as one entry per token. Tokens that have already expired
+     * are left out of the announcement but are still dropped from this instance's principal cache.
+     */
+    private void publishSessionsRevoked(Long userId, Map<String, Instant> issuedAtByJwtId) {
+        principalCache.invalidateSessions(issuedAtByJwtId.keySet());
+        Instant now = Instant.now();
+        List<TokenRevokedEvent> revocations = issuedAtByJwtId.entrySet().stream()
+                .map(token -> {
+                    TokenRevokedEvent revocation = new TokenRevokedEvent();
+                    revocation.setJwtId(token.getKey());
+                    revocation.setUserId(userId);
+                    revocation.setExpiresAt(token.getValue().plusSeconds(accessTokenTtlSeconds)
+                            .plus(REVOCATION_EXPIRY_MARGIN));
+                    return revocation;
+                })
+                .filter(revocation -> revocation.getExpiresAt().isAfter(now))
+                .collect(Collectors.toList());
+        if (revocations.isEmpty()) {
+            return;
+        }
+
+        String correlationId = getCorrelationId();
+        SessionRevokedEvent event = new SessionRevokedEvent();
+        event.setUserId(userId);
+        event.setJwtIds(revocations.stream().map(TokenRevokedEvent::getJwtId).collect(Collectors.toList()));
+        kafkaEventPublisher.publishAfterCommit("session.revoked", correlationId, event);
+        revocations.forEach(revocation -> kafkaEventPublisher.publishTokenRevoked(correlationId, revocation));
     }
 
     private void publishUserRegistered(User user, String method) {
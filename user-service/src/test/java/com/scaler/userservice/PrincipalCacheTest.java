@@ -0,0 +1,217 @@
+package com.scaler.userservice;
+
+import com.scaler.userservice.dto.LogoutRequestDto;
+import com.scaler.userservice.dto.PasswordResetConfirmRequestDto;
+import com.scaler.userservice.dto.TokenRefreshRequestDto;
+import com.scaler.userservice.kafka.KafkaEventPublisher;
+import com.scaler.userservice.model.PasswordResetToken;
+import com.scaler.userservice.model.User;
+import com.scaler.userservice.model.UserSession;
+import com.scaler.userservice.model.enums.UserRole;
+import com.scaler.userservice.model.enums.UserStatus;
+import com.scaler.userservice.repo.PasswordResetTokenRepository;
+import com.scaler.userservice.repo.UserRepository;
+import com.scaler.userservice.repo.UserSessionRepository;
+import com.scaler.userservice.security.CachedPrincipal;
+import com.scaler.userservice.security.JwtService;
+import com.scaler.userservice.security.PrincipalCache;
+import com.scaler.userservice.security.RefreshTokenGenerator;
+import com.scaler.userservice.service.UserServiceImpl;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class PrincipalCacheTest {
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserSessionRepository userSessionRepository;
+
+    @Mock
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private KafkaEventPublisher kafkaEventPublisher;
+
+    private PrincipalCache principalCache;
+    private UserServiceImpl userService;
+    private User user;
+    private UserSession session;
+    private Claims claims;
+
+    @BeforeEach
+    void setup() {
+        principalCache = new PrincipalCache(userSessionRepository, userRepository, new SimpleMeterRegistry(),
+                100, 900);
+        userService = new UserServiceImpl(userRepository, userSessionRepository, passwordResetTokenRepository,
+                passwordEncoder, jwtService, new RefreshTokenGenerator(), kafkaEventPublisher, principalCache,
+                900, 86400, 900, "");
+
+        user = new User();
+        user.setId(1L);
+        user.setEmail("jane@example.com");
+        user.setStatus(UserStatus.ACTIVE);
+        user.setRoles(Set.of(UserRole.CUSTOMER));
+
+        session = new UserSession();
+        session.setUser(user);
+        session.setJwtId("jti-1");
+        session.setRefreshTokenId("refresh-1");
+        session.setIssuedAt(Instant.now());
+        session.setExpiresAt(Instant.now().plusSeconds(86400));
+        claims = claims("jti-1");
+
+        // Sessions are found by their current jwtId, as in the database.
+        when(userSessionRepository.findByJwtId(anyString())).thenAnswer(invocation ->
+                Optional.of(session).filter(s -> s.getJwtId().equals(invocation.getArgument(0))));
+        when(userSessionRepository.findByRefreshTokenId("refresh-1")).thenReturn(Optional.of(session));
+        when(userSessionRepository.findByUserId(1L)).thenReturn(List.of(session));
+        when(userRepository.findByEmail("jane@example.com")).thenReturn(Optional.of(user));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(jwtService.parseClaims("access-token")).thenReturn(claims);
+        when(jwtService.generateAccessToken(any(User.class), anyString())).thenReturn("new-access-token");
+        when(passwordEncoder.matches(anyString(), any())).thenReturn(true);
+        when(passwordEncoder.encode(anyString())).thenReturn("hash");
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void principalsAreServedFromTheCache() {
+        assertNotNull(principalCache.resolve(claims));
+        assertNotNull(principalCache.resolve(claims));
+
+        verify(userSessionRepository, times(1)).findByJwtId("jti-1");
+    }
+
+    @Test
+    void logoutInvalidatesTheSession() {
+        principalCache.resolve(claims);
+
+        LogoutRequestDto request = new LogoutRequestDto();
+        request.setAccessToken("access-token");
+        userService.logout(request);
+
+        assertNull(principalCache.resolve(claims));
+    }
+
+    @Test
+    void refreshInvalidatesThePreviousAccessToken() {
+        principalCache.resolve(claims);
+
+        TokenRefreshRequestDto request = new TokenRefreshRequestDto();
+        request.setRefreshToken("refresh-1.secret");
+        userService.refresh(request);
+
+        assertNull(principalCache.resolve(claims));
+        assertNotNull(principalCache.resolve(claims(session.getJwtId())));
+    }
+
+    @Test
+    void passwordResetInvalidatesEverySession() {
+        principalCache.resolve(claims);
+        PasswordResetToken resetToken = new PasswordResetToken();
+        resetToken.setUser(user);
+        resetToken.setTokenHash("hash");
+        when(passwordResetTokenRepository.findByUserIdAndUsedAtIsNullAndExpiresAtAfter(anyLong(), any()))
+                .thenReturn(List.of(resetToken));
+
+        PasswordResetConfirmRequestDto request = new PasswordResetConfirmRequestDto();
+        request.setEmail("jane@example.com");
+        request.setToken("reset-token");
+        request.setNewPassword("NewStrongPass123");
+        userService.confirmPasswordReset(request);
+
+        assertNull(principalCache.resolve(claims));
+    }
+
+    @Test
+    void statusChangesInvalidateTheUser() {
+        principalCache.resolve(claims);
+        userService.updateStatus(1L, UserStatus.DISABLED);
+        assertNull(principalCache.resolve(claims));
+
+        // A live session sees every later status change.
+        session.setRevokedAt(null);
+        assertEquals(UserStatus.DISABLED, principalCache.resolve(claims).getStatus());
+        userService.updateStatus(1L, UserStatus.ACTIVE);
+        assertEquals(UserStatus.ACTIVE, principalCache.resolve(claims).getStatus());
+    }
+
+    @Test
+    void aLoadOverlappingAnInvalidationIsNotCached() {
+        when(userRepository.findByEmail("jane@example.com")).thenAnswer(invocation -> {
+            principalCache.invalidateUser(1L);
+            return Optional.of(user);
+        });
+
+        assertNotNull(principalCache.resolve(claims));
+        assertNotNull(principalCache.resolve(claims));
+
+        verify(userSessionRepository, times(2)).findByJwtId("jti-1");
+    }
+
+    @Test
+    void aPrincipalLoadedBeforeCommitIsInvalidatedAgainAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        principalCache.invalidateSessions(List.of("jti-1"));
+
+        // Another request reads the session before the revocation commits and caches it.
+        CachedPrincipal stale = principalCache.resolve(claims);
+        assertNotNull(stale);
+        session.setRevokedAt(Instant.now());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertNull(principalCache.resolve(claims));
+    }
+
+    private static Claims claims(String jwtId) {
+        Claims claims = mock(Claims.class);
+        when(claims.getId()).thenReturn(jwtId);
+        when(claims.getSubject()).thenReturn("jane@example.com");
+        when(claims.getExpiration()).thenReturn(Date.from(Instant.now().plusSeconds(900)));
+        return claims;
+    }
+}